@@ -0,0 +1,159 @@
+package io.bunting.cli4j.benchmarks;
+
+import com.beust.jcommander.Parameter;
+import io.bunting.cli4j.Cli4J;
+import io.bunting.cli4j.CliAdapter;
+import io.bunting.cli4j.Command;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.PrintWriter;
+import java.io.Reader;
+import java.io.StringReader;
+import java.io.Writer;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures a full {@link Cli4J#execute(String...)}: command lookup, parsing into a fresh arg object, resource
+ * creation and dispatch.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class ExecuteBenchmark {
+  private Cli4J cli4J;
+
+  @Setup
+  public void setUp() {
+    cli4J = new Cli4J(new DiscardingCliAdapter());
+    cli4J.addResource(GreetCommand.class);
+    cli4J.addResource(CountCommand.class);
+  }
+
+  @TearDown
+  public void tearDown() {
+    cli4J.close();
+  }
+
+  @Benchmark
+  public void execute() {
+    cli4J.execute("greet", "--name", "world", "--count", "3");
+  }
+
+  @Benchmark
+  public void executeAlias() {
+    cli4J.execute("hi", "--name", "world");
+  }
+
+  /**
+   * {@link #execute()} on one thread per core, all sharing the same {@link Cli4J}. As long as dispatch does not
+   * serialize the threads, the average time stays close to that of {@link #execute()}.
+   */
+  @Benchmark
+  @Threads(Threads.MAX)
+  public void executeConcurrently() {
+    cli4J.execute("greet", "--name", "world", "--count", "3");
+  }
+
+  public static class GreetCommand {
+    public static class GreetArgs {
+      @Parameter(names = "--count", description = "Number of greetings.")
+      int count = 1;
+
+      @Parameter(names = "--name", required = true, description = "The person to greet.")
+      String name;
+    }
+
+    @Command(name = "greet", aliases = "hi", description = "Greets NAME COUNT times.")
+    public void greet(final CliAdapter cliAdapter, final GreetArgs args) {
+      PrintWriter writer = cliAdapter.writer();
+      for (int i = 0; i < args.count; i++) {
+        writer.print(args.name);
+      }
+    }
+  }
+
+  public static class CountCommand {
+    public static class CountArgs {
+      @Parameter(names = "--to", description = "The number to count to.")
+      int to = 10;
+    }
+
+    @Command(name = "count", description = "Counts to TO.")
+    public void count(final CliAdapter cliAdapter, final CountArgs args) {
+      PrintWriter writer = cliAdapter.writer();
+      for (int i = 0; i < args.to; i++) {
+        writer.print(i);
+      }
+    }
+  }
+
+  static class DiscardingCliAdapter implements CliAdapter {
+    private final PrintWriter writer = new PrintWriter(new Writer() {
+      @Override
+      public void write(char[] cbuf, int off, int len) {
+      }
+
+      @Override
+      public void flush() {
+      }
+
+      @Override
+      public void close() {
+      }
+    });
+
+    @Override
+    public PrintWriter writer() {
+      return writer;
+    }
+
+    @Override
+    public String readLine(String fmt, Object... args) {
+      return null;
+    }
+
+    @Override
+    public char[] readPassword() {
+      return null;
+    }
+
+    @Override
+    public CliAdapter printf(String format, Object... args) {
+      writer.printf(format, args);
+      return this;
+    }
+
+    @Override
+    public char[] readPassword(String fmt, Object... args) {
+      return null;
+    }
+
+    @Override
+    public void flush() {
+    }
+
+    @Override
+    public Reader reader() {
+      return new StringReader("");
+    }
+
+    @Override
+    public String readLine() {
+      return null;
+    }
+  }
+}
@@ -0,0 +1,102 @@
+package io.bunting.cli4j.benchmarks;
+
+import io.bunting.cli4j.benchmarks.fixtures.Spec;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares the in-tree parser with the com.beust jcommander release it was forked from. Each benchmark exists once
+ * per parser, prefixed {@code cli4j} or {@code jcommander}, and runs against every {@link Spec}.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class ParserBenchmark {
+  @Param({ Spec.ARGS1, Spec.COMMAND_LINE_ARGS, Spec.ARGS_LIST, "Synthetic10", "Synthetic100", "Synthetic1000" })
+  public String spec;
+
+  private Spec fixture;
+  private String[] argv;
+
+  private io.bunting.cli4j.parser.JCommander cli4jUsage;
+  private com.beust.jcommander.JCommander jcommanderUsage;
+
+  private io.bunting.cli4j.parser.JCommander cli4jConverter;
+  private io.bunting.cli4j.parser.ParameterDescription cli4jDescription;
+  private com.beust.jcommander.JCommander jcommanderConverter;
+  private com.beust.jcommander.ParameterDescription jcommanderDescription;
+
+  @Setup
+  public void setUp() {
+    fixture = Spec.forName(spec);
+    argv = fixture.getArgv();
+
+    cli4jUsage = new io.bunting.cli4j.parser.JCommander(fixture.newCli4jArgs());
+    jcommanderUsage = new com.beust.jcommander.JCommander(fixture.newJCommanderArgs());
+
+    cli4jConverter = new io.bunting.cli4j.parser.JCommander(fixture.newCli4jArgs());
+    for (io.bunting.cli4j.parser.ParameterDescription pd : cli4jConverter.getParameters()) {
+      if (pd.getParameterized().getName().equals(fixture.getConvertField())) {
+        cli4jDescription = pd;
+      }
+    }
+    jcommanderConverter = new com.beust.jcommander.JCommander(fixture.newJCommanderArgs());
+    for (com.beust.jcommander.ParameterDescription pd : jcommanderConverter.getParameters()) {
+      if (pd.getParameterized().getName().equals(fixture.getConvertField())) {
+        jcommanderDescription = pd;
+      }
+    }
+  }
+
+  @Benchmark
+  public Object cli4jParse() {
+    Object args = fixture.newCli4jArgs();
+    new io.bunting.cli4j.parser.JCommander(args).parse(argv);
+    return args;
+  }
+
+  @Benchmark
+  public Object jcommanderParse() {
+    Object args = fixture.newJCommanderArgs();
+    new com.beust.jcommander.JCommander(args).parse(argv);
+    return args;
+  }
+
+  @Benchmark
+  public StringBuilder cli4jUsage() {
+    StringBuilder out = new StringBuilder();
+    cli4jUsage.usage(out);
+    return out;
+  }
+
+  @Benchmark
+  public StringBuilder jcommanderUsage() {
+    StringBuilder out = new StringBuilder();
+    jcommanderUsage.usage(out);
+    return out;
+  }
+
+  @Benchmark
+  public Object cli4jConvertValue() {
+    return cli4jConverter.convertValue(cli4jDescription, fixture.getConvertValue());
+  }
+
+  @Benchmark
+  public Object jcommanderConvertValue() {
+    return jcommanderConverter.convertValue(jcommanderDescription, fixture.getConvertValue());
+  }
+}
@@ -0,0 +1,226 @@
+package io.bunting.cli4j.benchmarks.coldstart;
+
+import com.beust.jcommander.JCommander;
+import com.beust.jcommander.Parameter;
+import com.beust.jcommander.ParametersDelegate;
+import io.bunting.cli4j.Cli4J;
+import io.bunting.cli4j.CliAdapter;
+import io.bunting.cli4j.Command;
+import io.bunting.cli4j.ResourceScope;
+import io.bunting.cli4j.Scope;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * A Cli4J tool shaped like a small admin CLI: a dozen commands over three resources, with shared options, lists and
+ * enums. Each command handles {@code --help} itself by printing its usage, since Cli4J has no built-in help.
+ */
+public class AdminTool {
+  public enum Format {
+    TEXT, JSON, CSV
+  }
+
+  public static class CommonArgs {
+    @Parameter(names = "--help", help = true, description = "Prints the usage of the command.")
+    private boolean help;
+
+    @Parameter(names = { "-v", "--verbose" }, description = "Prints more detail.")
+    private boolean verbose;
+
+    @Parameter(names = "--format", description = "The output format.")
+    private Format format = Format.TEXT;
+
+    @Parameter(names = "--server", description = "The server to connect to.")
+    private String server = "localhost:8080";
+  }
+
+  public static class NameArgs {
+    @ParametersDelegate
+    private CommonArgs common = new CommonArgs();
+
+    @Parameter(names = "--name", description = "The name of the entity.")
+    private String name = "";
+  }
+
+  public static class ListArgs {
+    @ParametersDelegate
+    private CommonArgs common = new CommonArgs();
+
+    @Parameter(names = "--filter", description = "Only lists entities matching a filter.")
+    private List<String> filters = new ArrayList<>();
+
+    @Parameter(names = "--limit", description = "The maximum number of entities to list.")
+    private int limit = 100;
+  }
+
+  public static class UserArgs {
+    @ParametersDelegate
+    private CommonArgs common = new CommonArgs();
+
+    @Parameter(names = "--name", description = "The user name.")
+    private String name = "";
+
+    @Parameter(names = "--group", description = "A group to add the user to.")
+    private List<String> groups = new ArrayList<>();
+
+    @Parameter(names = "--email", description = "The email address of the user.")
+    private String email;
+
+    @Parameter(names = "--admin", description = "Grants administrative rights.")
+    private boolean admin;
+  }
+
+  public static class JobArgs {
+    @ParametersDelegate
+    private CommonArgs common = new CommonArgs();
+
+    @Parameter(description = "The command line of the job.")
+    private List<String> commandLine = new ArrayList<>();
+
+    @Parameter(names = "--priority", description = "The priority of the job.")
+    private int priority = 5;
+
+    @Parameter(names = "--retries", description = "How often to retry the job.")
+    private int retries;
+
+    @Parameter(names = "--timeout", description = "The timeout of the job in seconds.")
+    private long timeout = 3600;
+
+    @Parameter(names = "--env", description = "An environment variable for the job, as NAME=VALUE.")
+    private List<String> environment = new ArrayList<>();
+  }
+
+  /**
+   * Prints the usage of {@code args} if it asked for help.
+   *
+   * @return whether usage was printed
+   */
+  static boolean usage(final CliAdapter cliAdapter, final String command, final CommonArgs common,
+                       final Object args) {
+    if (!common.help) {
+      return false;
+    }
+    JCommander jCommander = new JCommander(args);
+    jCommander.setProgramName(command);
+    StringBuilder sb = new StringBuilder();
+    jCommander.usage(sb);
+    cliAdapter.printf("%s", sb);
+    return true;
+  }
+
+  static void print(final CliAdapter cliAdapter, final CommonArgs common, final String action, final Object subject) {
+    switch (common.format) {
+      case JSON:
+        cliAdapter.printf("{\"action\":\"%s\",\"subject\":\"%s\",\"server\":\"%s\"}%n", action, subject,
+            common.server);
+        break;
+      case CSV:
+        cliAdapter.printf("%s,%s,%s%n", action, subject, common.server);
+        break;
+      default:
+        cliAdapter.printf("%s %s on %s%n", action, subject, common.server);
+    }
+  }
+
+  @ResourceScope(Scope.SINGLETON)
+  public static class Users {
+    @Command(name = "user-list", aliases = "users", description = "Lists users.")
+    public void list(final CliAdapter cliAdapter, final ListArgs args) {
+      if (!usage(cliAdapter, "user-list", args.common, args)) {
+        print(cliAdapter, args.common, "list users", args.filters);
+      }
+    }
+
+    @Command(name = "user-add", description = "Adds a user.")
+    public void add(final CliAdapter cliAdapter, final UserArgs args) {
+      if (!usage(cliAdapter, "user-add", args.common, args)) {
+        print(cliAdapter, args.common, "add user", args.name + " " + args.groups);
+      }
+    }
+
+    @Command(name = "user-update", description = "Updates a user.")
+    public void update(final CliAdapter cliAdapter, final UserArgs args) {
+      if (!usage(cliAdapter, "user-update", args.common, args)) {
+        print(cliAdapter, args.common, "update user", args.name);
+      }
+    }
+
+    @Command(name = "user-remove", aliases = "user-rm", description = "Removes a user.")
+    public void remove(final CliAdapter cliAdapter, final NameArgs args) {
+      if (!usage(cliAdapter, "user-remove", args.common, args)) {
+        print(cliAdapter, args.common, "remove user", args.name);
+      }
+    }
+  }
+
+  @ResourceScope(Scope.SINGLETON)
+  public static class Groups {
+    @Command(name = "group-list", aliases = "groups", description = "Lists groups.")
+    public void list(final CliAdapter cliAdapter, final ListArgs args) {
+      if (!usage(cliAdapter, "group-list", args.common, args)) {
+        print(cliAdapter, args.common, "list groups", args.filters);
+      }
+    }
+
+    @Command(name = "group-add", description = "Adds a group.")
+    public void add(final CliAdapter cliAdapter, final NameArgs args) {
+      if (!usage(cliAdapter, "group-add", args.common, args)) {
+        print(cliAdapter, args.common, "add group", args.name);
+      }
+    }
+
+    @Command(name = "group-remove", aliases = "group-rm", description = "Removes a group.")
+    public void remove(final CliAdapter cliAdapter, final NameArgs args) {
+      if (!usage(cliAdapter, "group-remove", args.common, args)) {
+        print(cliAdapter, args.common, "remove group", args.name);
+      }
+    }
+
+    @Command(name = "group-members", description = "Lists the members of a group.")
+    public void members(final CliAdapter cliAdapter, final NameArgs args) {
+      if (!usage(cliAdapter, "group-members", args.common, args)) {
+        print(cliAdapter, args.common, "list members of", args.name);
+      }
+    }
+  }
+
+  public static class Jobs {
+    @Command(name = "job-submit", aliases = "submit", description = "Submits a job.")
+    public void submit(final CliAdapter cliAdapter, final JobArgs args) {
+      if (!usage(cliAdapter, "job-submit", args.common, args)) {
+        print(cliAdapter, args.common, "submit job", args.commandLine);
+      }
+    }
+
+    @Command(name = "job-status", description = "Prints the status of a job.")
+    public void status(final CliAdapter cliAdapter, final NameArgs args) {
+      if (!usage(cliAdapter, "job-status", args.common, args)) {
+        print(cliAdapter, args.common, "status of job", args.name);
+      }
+    }
+
+    @Command(name = "job-cancel", description = "Cancels a job.")
+    public void cancel(final CliAdapter cliAdapter, final NameArgs args) {
+      if (!usage(cliAdapter, "job-cancel", args.common, args)) {
+        print(cliAdapter, args.common, "cancel job", args.name);
+      }
+    }
+
+    @Command(name = "job-logs", description = "Prints the logs of a job.")
+    public void logs(final CliAdapter cliAdapter, final NameArgs args) {
+      if (!usage(cliAdapter, "job-logs", args.common, args)) {
+        print(cliAdapter, args.common, "logs of job", args.name);
+      }
+    }
+  }
+
+  public static void main(final String... args) {
+    Cli4J cli = new Cli4J();
+    cli.addResource(Users.class);
+    cli.addResource(Groups.class);
+    cli.addResource(Jobs.class);
+
+    cli.execute(args);
+  }
+}
@@ -0,0 +1,144 @@
+package io.bunting.cli4j.benchmarks.coldstart;
+
+import io.bunting.cli4j.parser.DynamicParameter;
+import io.bunting.cli4j.parser.JCommander;
+import io.bunting.cli4j.parser.Parameter;
+import io.bunting.cli4j.parser.Parameters;
+import io.bunting.cli4j.parser.ParametersDelegate;
+import io.bunting.cli4j.parser.converters.FileConverter;
+import io.bunting.cli4j.parser.validators.PositiveInteger;
+
+import java.io.File;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * A tool built directly on the in-tree {@link JCommander}, shaped like an archiver: global options and three
+ * commands with converters, validators, lists and dynamic parameters. {@code --help} prints the usage.
+ */
+public class ArchiveTool {
+  public static class GlobalArgs {
+    @Parameter(names = { "-h", "--help" }, help = true, description = "Prints the usage.")
+    private boolean help;
+
+    @Parameter(names = { "-v", "--verbose" }, description = "Prints every file processed.")
+    private boolean verbose;
+
+    @Parameter(names = { "-q", "--quiet" }, description = "Prints nothing but errors.")
+    private boolean quiet;
+
+    @Parameter(names = { "-C", "--directory" }, converter = FileConverter.class,
+        description = "Changes to a directory before doing anything.")
+    private File directory;
+
+    @Parameter(names = "--threads", validateWith = PositiveInteger.class, description = "The number of threads.")
+    private int threads = 1;
+  }
+
+  public static class FilterArgs {
+    @Parameter(names = "--include", description = "Only processes files matching a pattern.")
+    private List<String> includes = new ArrayList<>();
+
+    @Parameter(names = "--exclude", description = "Skips files matching a pattern.")
+    private List<String> excludes = new ArrayList<>();
+
+    @Parameter(names = "--newer-than", description = "Only processes files modified after a date, as yyyy-MM-dd.")
+    private String newerThan;
+
+    @Parameter(names = "--follow-links", description = "Follows symbolic links.")
+    private boolean followLinks;
+  }
+
+  @Parameters(commandDescription = "Creates an archive.")
+  public static class CreateArgs {
+    @Parameter(description = "The files to archive.")
+    private List<String> files = new ArrayList<>();
+
+    @Parameter(names = { "-f", "--file" }, converter = FileConverter.class, required = true,
+        description = "The archive to create.")
+    private File archive;
+
+    @Parameter(names = { "-z", "--gzip" }, description = "Compresses the archive with gzip.")
+    private boolean gzip;
+
+    @Parameter(names = "--level", validateWith = PositiveInteger.class, description = "The compression level.")
+    private int level = 6;
+
+    @Parameter(names = "--block-size", description = "The block size in bytes.")
+    private long blockSize = 10240;
+
+    @Parameter(names = "--owner", description = "Stores files with this owner.")
+    private String owner;
+
+    @DynamicParameter(names = "-D", description = "Metadata stored in the archive.")
+    private Map<String, String> metadata = new HashMap<>();
+
+    @ParametersDelegate
+    private FilterArgs filter = new FilterArgs();
+  }
+
+  @Parameters(commandDescription = "Extracts an archive.")
+  public static class ExtractArgs {
+    @Parameter(description = "The files to extract, or nothing for all of them.")
+    private List<String> files = new ArrayList<>();
+
+    @Parameter(names = { "-f", "--file" }, converter = FileConverter.class, required = true,
+        description = "The archive to extract.")
+    private File archive;
+
+    @Parameter(names = "--overwrite", description = "Overwrites existing files.")
+    private boolean overwrite;
+
+    @Parameter(names = "--strip-components", description = "Strips leading path components.")
+    private int stripComponents;
+
+    @Parameter(names = "--preserve-permissions", description = "Keeps the stored permissions.")
+    private boolean preservePermissions;
+
+    @ParametersDelegate
+    private FilterArgs filter = new FilterArgs();
+  }
+
+  @Parameters(commandDescription = "Lists the contents of an archive.")
+  public static class ListArgs {
+    @Parameter(names = { "-f", "--file" }, converter = FileConverter.class, required = true,
+        description = "The archive to list.")
+    private File archive;
+
+    @Parameter(names = { "-l", "--long" }, description = "Prints sizes, owners and dates.")
+    private boolean longFormat;
+
+    @Parameter(names = "--sort", description = "Sorts by name, size or date.")
+    private String sort = "name";
+
+    @ParametersDelegate
+    private FilterArgs filter = new FilterArgs();
+  }
+
+  public static void main(final String... args) {
+    GlobalArgs global = new GlobalArgs();
+    CreateArgs create = new CreateArgs();
+    ExtractArgs extract = new ExtractArgs();
+    ListArgs list = new ListArgs();
+
+    JCommander jCommander = new JCommander(global);
+    jCommander.setProgramName("archive");
+    jCommander.addCommand("create", create, "c");
+    jCommander.addCommand("extract", extract, "x");
+    jCommander.addCommand("list", list, "t");
+    jCommander.parse(args);
+
+    String command = jCommander.getParsedCommand();
+    if (global.help || command == null) {
+      jCommander.usage();
+    } else if (command.equals("create")) {
+      System.out.printf("create %s from %s%n", create.archive, create.files);
+    } else if (command.equals("extract")) {
+      System.out.printf("extract %s to %s%n", extract.archive, global.directory);
+    } else {
+      System.out.printf("list %s sorted by %s%n", list.archive, list.sort);
+    }
+  }
+}
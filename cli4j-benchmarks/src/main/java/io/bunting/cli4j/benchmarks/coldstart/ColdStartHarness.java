@@ -0,0 +1,272 @@
+package io.bunting.cli4j.benchmarks.coldstart;
+
+import java.io.BufferedReader;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.OutputStreamWriter;
+import java.io.PrintWriter;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Date;
+import java.util.List;
+import java.util.Properties;
+
+/**
+ * Measures how the sample tools start: every scenario is launched in a number of fresh JVMs, recording the wall time
+ * until the JVM exits, the number of classes it loaded and its peak resident set size. The medians are compared
+ * against budgets, and the harness exits with status 1 if any is exceeded, which fails the {@code cold-start} build
+ * profile.
+ *
+ * <p>It is configured with system properties:</p>
+ * <ul>
+ *   <li>{@code cold-start.runs}: the number of measured launches per scenario, after one that is discarded to warm
+ *   the file system cache. Defaults to 5.</li>
+ *   <li>{@code cold-start.scenarios}: a comma separated list of the scenarios to run. Defaults to all of them.</li>
+ *   <li>{@code cold-start.budgets}: a properties file replacing the built-in {@code budgets.properties}.</li>
+ *   <li>{@code cold-start.<scenario>.<metric>}: overrides a single budget, e.g.
+ *   {@code -Dcold-start.hello.classes=1500}.</li>
+ *   <li>{@code cold-start.jvm-args}: space separated options for the launched JVMs, e.g. {@code -Xshare:off}.</li>
+ *   <li>{@code cold-start.report}: a CSV file the results are appended to, to track them over time.</li>
+ * </ul>
+ * The {@code cold-start} profile passes on the Maven properties of the same names, except for single budgets.
+ */
+public final class ColdStartHarness {
+  static final String WALL_MS = "wall-ms";
+  static final String CLASSES = "classes";
+  static final String PEAK_RSS_KB = "peak-rss-kb";
+
+  private static final String PREFIX = "cold-start.";
+  private static final String HELLO = "io.bunting.cli4j.example.HelloCommand";
+  private static final String ADMIN = AdminTool.class.getName();
+  private static final String ARCHIVE = ArchiveTool.class.getName();
+
+  static final List<Scenario> SCENARIOS = Arrays.asList(
+      new Scenario("hello", HELLO, 0, "hello", "--name", "World"),
+      // Cli4J has no built-in help, so this measures rejecting the unknown option
+      new Scenario("hello-help", HELLO, 1, "hello", "--help"),
+      new Scenario("admin", ADMIN, 0, "user-add", "--name", "alice", "--group", "dev", "--group", "ops",
+          "--format", "JSON"),
+      new Scenario("admin-help", ADMIN, 0, "user-add", "--help"),
+      new Scenario("archive", ARCHIVE, 0, "-v", "create", "-f", "out.tar", "-z", "--include", "*.java",
+          "-Dversion=1", "src", "docs"),
+      new Scenario("archive-help", ARCHIVE, 0, "--help"));
+
+  private ColdStartHarness() {
+  }
+
+  /**
+   * A command line to launch.
+   */
+  static final class Scenario {
+    final String name;
+    final String mainClass;
+    final int expectedExitCode;
+    final String[] args;
+
+    Scenario(String name, String mainClass, int expectedExitCode, String... args) {
+      this.name = name;
+      this.mainClass = mainClass;
+      this.expectedExitCode = expectedExitCode;
+      this.args = args;
+    }
+  }
+
+  /**
+   * What a single launch cost. The peak RSS is -1 where it cannot be measured.
+   */
+  static final class Measurement {
+    final long wallMillis;
+    final long classes;
+    final long peakRssKb;
+
+    Measurement(long wallMillis, long classes, long peakRssKb) {
+      this.wallMillis = wallMillis;
+      this.classes = classes;
+      this.peakRssKb = peakRssKb;
+    }
+  }
+
+  public static void main(final String... args) throws Exception {
+    int runs = Integer.getInteger(PREFIX + "runs", 5);
+    Properties budgets = loadBudgets();
+    List<String> selected = selectedScenarios();
+
+    List<String> violations = new ArrayList<>();
+    List<String> report = new ArrayList<>();
+    System.out.printf("%-16s %10s %10s %14s%n", "scenario", WALL_MS, CLASSES, PEAK_RSS_KB);
+    for (Scenario scenario : SCENARIOS) {
+      if (selected != null && !selected.contains(scenario.name)) {
+        continue;
+      }
+      launch(scenario);
+      List<Measurement> measurements = new ArrayList<>();
+      for (int i = 0; i < runs; i++) {
+        measurements.add(launch(scenario));
+      }
+      long[] medians = medians(measurements);
+      System.out.printf("%-16s %10d %10d %14d%n", scenario.name, medians[0], medians[1], medians[2]);
+      report.add(scenario.name + "," + medians[0] + "," + medians[1] + "," + medians[2]);
+
+      check(violations, budgets, scenario.name, WALL_MS, medians[0]);
+      check(violations, budgets, scenario.name, CLASSES, medians[1]);
+      if (medians[2] >= 0) {
+        check(violations, budgets, scenario.name, PEAK_RSS_KB, medians[2]);
+      }
+    }
+
+    String reportFile = System.getProperty(PREFIX + "report");
+    if (reportFile != null) {
+      appendReport(new File(reportFile), report);
+    }
+    if (!violations.isEmpty()) {
+      for (String violation : violations) {
+        System.out.println("Budget exceeded: " + violation);
+      }
+      System.exit(1);
+    }
+  }
+
+  private static List<String> selectedScenarios() {
+    String scenarios = System.getProperty(PREFIX + "scenarios");
+    if (scenarios == null || scenarios.trim().isEmpty()) {
+      return null;
+    }
+    return Arrays.asList(scenarios.trim().split("\\s*,\\s*"));
+  }
+
+  private static Properties loadBudgets() throws IOException {
+    Properties budgets = new Properties();
+    String file = System.getProperty(PREFIX + "budgets");
+    try (InputStream in = file != null
+        ? new FileInputStream(file)
+        : ColdStartHarness.class.getResourceAsStream("budgets.properties")) {
+      if (in != null) {
+        budgets.load(in);
+      }
+    }
+    for (String name : System.getProperties().stringPropertyNames()) {
+      if (name.startsWith(PREFIX)) {
+        budgets.setProperty(name.substring(PREFIX.length()), System.getProperty(name));
+      }
+    }
+    return budgets;
+  }
+
+  private static void check(List<String> violations, Properties budgets, String scenario, String metric,
+                            long value) {
+    String budget = budgets.getProperty(scenario + "." + metric);
+    if (budget != null && value > Long.parseLong(budget.trim())) {
+      violations.add(scenario + " " + metric + " was " + value + ", the budget is " + budget.trim());
+    }
+  }
+
+  /**
+   * @return the medians of the wall time, classes loaded and peak RSS.
+   */
+  private static long[] medians(List<Measurement> measurements) {
+    List<Long> wall = new ArrayList<>();
+    List<Long> classes = new ArrayList<>();
+    List<Long> peakRss = new ArrayList<>();
+    for (Measurement measurement : measurements) {
+      wall.add(measurement.wallMillis);
+      classes.add(measurement.classes);
+      peakRss.add(measurement.peakRssKb);
+    }
+    return new long[] { median(wall), median(classes), median(peakRss) };
+  }
+
+  private static long median(List<Long> values) {
+    Collections.sort(values);
+    return values.get(values.size() / 2);
+  }
+
+  /**
+   * Launches {@code scenario} in a JVM with the classpath of this one, counting the classes it reports loading
+   * through {@code -verbose:class}.
+   */
+  static Measurement launch(final Scenario scenario) throws IOException, InterruptedException {
+    List<String> command = new ArrayList<>();
+    command.add(System.getProperty("java.home") + File.separator + "bin" + File.separator + "java");
+    String jvmArgs = System.getProperty(PREFIX + "jvm-args");
+    if (jvmArgs != null && !jvmArgs.trim().isEmpty()) {
+      command.addAll(Arrays.asList(jvmArgs.trim().split("\\s+")));
+    }
+    command.add("-verbose:class");
+    command.add("-classpath");
+    command.add(System.getProperty("java.class.path"));
+    command.add(ColdStartProbe.class.getName());
+    command.add(scenario.mainClass);
+    command.addAll(Arrays.asList(scenario.args));
+
+    long start = System.nanoTime();
+    final Process process = new ProcessBuilder(command).start();
+    process.getOutputStream().close();
+    final List<String> errors = new ArrayList<>();
+    Thread stderr = new Thread("cold-start-stderr") {
+      @Override
+      public void run() {
+        try {
+          errors.addAll(readLines(process.getErrorStream()));
+        } catch (IOException e) {
+          errors.add(e.toString());
+        }
+      }
+    };
+    stderr.start();
+    long classes = 0;
+    List<String> output = new ArrayList<>();
+    for (String line : readLines(process.getInputStream())) {
+      if (line.startsWith("[Loaded ") || line.contains("[class,load]")) {
+        classes++;
+      } else {
+        output.add(line);
+      }
+    }
+    int exitCode = process.waitFor();
+    long wallMillis = (System.nanoTime() - start) / 1000000;
+    stderr.join();
+
+    long peakRssKb = -1;
+    for (String line : errors) {
+      if (line.startsWith(ColdStartProbe.PEAK_RSS_PREFIX)) {
+        peakRssKb = Long.parseLong(line.substring(ColdStartProbe.PEAK_RSS_PREFIX.length()));
+      }
+    }
+    if (exitCode != scenario.expectedExitCode) {
+      throw new IllegalStateException("Scenario " + scenario.name + " exited with " + exitCode + " instead of "
+          + scenario.expectedExitCode + "\nstdout: " + output + "\nstderr: " + errors);
+    }
+    return new Measurement(wallMillis, classes, peakRssKb);
+  }
+
+  private static List<String> readLines(InputStream in) throws IOException {
+    List<String> lines = new ArrayList<>();
+    try (BufferedReader reader = new BufferedReader(new InputStreamReader(in))) {
+      String line;
+      while ((line = reader.readLine()) != null) {
+        lines.add(line);
+      }
+    }
+    return lines;
+  }
+
+  private static void appendReport(File file, List<String> lines) throws IOException {
+    boolean header = !file.exists();
+    try (PrintWriter out = new PrintWriter(new OutputStreamWriter(new FileOutputStream(file, true),
+        StandardCharsets.UTF_8))) {
+      if (header) {
+        out.println("date,java.version,scenario," + WALL_MS + "," + CLASSES + "," + PEAK_RSS_KB);
+      }
+      String prefix = String.format("%tFT%<tT,%s,", new Date(), System.getProperty("java.version"));
+      for (String line : lines) {
+        out.println(prefix + line);
+      }
+    }
+  }
+}
@@ -0,0 +1,60 @@
+package io.bunting.cli4j.benchmarks.coldstart;
+
+import java.io.BufferedReader;
+import java.io.FileInputStream;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+
+/**
+ * The main class of the JVMs launched by {@link ColdStartHarness}. It runs the main method of the class named by its
+ * first argument with the remaining arguments, and reports the peak resident set size on stderr when the JVM exits.
+ * The peak is read from {@code /proc/self/status}, so it is only reported on Linux.
+ */
+public final class ColdStartProbe {
+  static final String PEAK_RSS_PREFIX = "cold-start.peak-rss-kb=";
+
+  private ColdStartProbe() {
+  }
+
+  public static void main(final String... args) throws Throwable {
+    Runtime.getRuntime().addShutdownHook(new Thread() {
+      @Override
+      public void run() {
+        long peakRss = readPeakRss();
+        if (peakRss >= 0) {
+          System.err.println(PEAK_RSS_PREFIX + peakRss);
+        }
+      }
+    });
+
+    Method main = Class.forName(args[0]).getMethod("main", String[].class);
+    try {
+      main.invoke(null, (Object) Arrays.copyOfRange(args, 1, args.length));
+    } catch (InvocationTargetException e) {
+      // fail like the tool itself would
+      throw e.getCause();
+    }
+  }
+
+  /**
+   * @return the VmHWM of this process in kilobytes, or -1 if it is not available.
+   */
+  private static long readPeakRss() {
+    try (BufferedReader reader = new BufferedReader(
+        new InputStreamReader(new FileInputStream("/proc/self/status"), StandardCharsets.US_ASCII))) {
+      String line;
+      while ((line = reader.readLine()) != null) {
+        if (line.startsWith("VmHWM:")) {
+          return Long.parseLong(line.substring("VmHWM:".length()).replace("kB", "").trim());
+        }
+      }
+    } catch (IOException | NumberFormatException e) {
+      // not Linux
+    }
+    return -1;
+  }
+}
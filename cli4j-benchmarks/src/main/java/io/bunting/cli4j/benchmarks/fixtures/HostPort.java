@@ -0,0 +1,14 @@
+package io.bunting.cli4j.benchmarks.fixtures;
+
+public class HostPort {
+  public String host;
+  public int port;
+
+  static HostPort parse(String value) {
+    HostPort result = new HostPort();
+    int colon = value.indexOf(':');
+    result.host = value.substring(0, colon);
+    result.port = Integer.parseInt(value.substring(colon + 1));
+    return result;
+  }
+}
@@ -0,0 +1,179 @@
+package io.bunting.cli4j.benchmarks.fixtures;
+
+import com.beust.jcommander.IStringConverter;
+import com.beust.jcommander.Parameter;
+import com.beust.jcommander.converters.IParameterSplitter;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Date;
+import java.util.List;
+
+/**
+ * Copies of the parser test fixtures annotated for the com.beust jcommander baseline.
+ */
+public final class JCommanderFixtures {
+  private JCommanderFixtures() {
+  }
+
+  public static class Args1 {
+    @Parameter
+    public List<String> parameters = new ArrayList<>();
+
+    @Parameter(names = { "-log", "-verbose" }, description = "Level of verbosity", required = true)
+    public Integer verbose = 1;
+
+    @Parameter(names = "-groups", description = "Comma-separated list of group names to be run")
+    public String groups;
+
+    @Parameter(names = "-debug", description = "Debug mode")
+    public boolean debug = false;
+
+    @Parameter(names = "-long", description = "A long number")
+    public long l;
+
+    @Parameter(names = "-double", description = "A double number")
+    public double doub;
+
+    @Parameter(names = "-float", description = "A float number")
+    public float floa;
+
+    @Parameter(names = "-bigdecimal", description = "A BigDecimal number")
+    public BigDecimal bigd;
+
+    @Parameter(names = "-date", description = "An ISO 8601 formatted date.")
+    public Date date;
+  }
+
+  public static class CommandLineArgs {
+    @Parameter(description = "The XML suite files to run")
+    public List<String> suiteFiles = new ArrayList<>();
+
+    @Parameter(names = { "-log", "-verbose" }, description = "Level of verbosity")
+    public Integer verbose;
+
+    @Parameter(names = "-groups", description = "Comma-separated list of group names to be run")
+    public String groups;
+
+    @Parameter(names = "-excludedgroups", description = "Comma-separated list of group names to be run")
+    public String excludedGroups;
+
+    @Parameter(names = "-d", description = "Output directory")
+    public String outputDirectory;
+
+    @Parameter(names = "-junit", description = "JUnit mode")
+    public Boolean junit = Boolean.FALSE;
+
+    @Parameter(names = "-listener", description = "List of .class files or list of class names"
+        + " implementing ITestListener or ISuiteListener")
+    public String listener;
+
+    @Parameter(names = "-methodselectors", description = "List of .class files or list of class "
+        + "names implementing IMethodSelector")
+    public String methodSelectors;
+
+    @Parameter(names = "-objectfactory", description = "List of .class files or list of class "
+        + "names implementing ITestRunnerFactory")
+    public String objectFactory;
+
+    @Parameter(names = "-parallel", description = "Parallel mode (methods, tests or classes)")
+    public String parallelMode;
+
+    @Parameter(names = "-configfailurepolicy", description = "Configuration failure policy (skip or continue)")
+    public String configFailurePolicy;
+
+    @Parameter(names = "-threadcount", description = "Number of threads to use when running tests in parallel")
+    public Integer threadCount;
+
+    @Parameter(names = "-dataproviderthreadcount", description = "Number of threads to use when running data "
+        + "providers")
+    public Integer dataProviderThreadCount;
+
+    @Parameter(names = "-suitename", description = "Default name of test suite, if not specified in suite "
+        + "definition file or source code")
+    public String suiteName;
+
+    @Parameter(names = "-testname", description = "Default name of test, if not specified in suite definition "
+        + "file or source code")
+    public String testName;
+
+    @Parameter(names = "-reporter", description = "Extended configuration for custom report listener")
+    public String reporter;
+
+    @Parameter(names = "-reporterslist")
+    public String reportersList;
+
+    @Parameter(names = "-usedefaultlisteners", description = "Whether to use the default listeners")
+    public String useDefaultListeners = "true";
+
+    @Parameter(names = "-skipfailedinvocationcounts")
+    public Boolean skipFailedInvocationCounts;
+
+    @Parameter(names = "-testclass", description = "The list of test classes")
+    public String testClass;
+
+    @Parameter(names = "-testnames", description = "The list of test names to run")
+    public String testNames;
+
+    @Parameter(names = "-testjar", description = "")
+    public String testJar;
+
+    @Parameter(names = "-testRunFactory", description = "")
+    public String testRunFactory;
+
+    @Parameter(names = "-port", description = "The port")
+    public Integer port;
+
+    @Parameter(names = "-host", description = "The host")
+    public String host;
+
+    @Parameter(names = "-master", description = "Host where the master is")
+    public String master;
+
+    @Parameter(names = "-slave", description = "Host where the slave is")
+    public String slave;
+  }
+
+  public static class ArgsList {
+    @Parameter(names = "-groups", description = "Comma-separated list of group names to be run")
+    public List<String> groups;
+
+    @Parameter(names = "-ints")
+    public List<Integer> ints;
+
+    @Parameter(names = "-hp", converter = HostPortConverter.class, splitter = SemiColonSplitter.class)
+    public List<HostPort> hostPorts;
+
+    @Parameter(names = "-hp2", converter = HostPortConverter.class)
+    public List<HostPort> hp2;
+
+    @Parameter(names = "-uppercase", listConverter = UppercaseConverter.class)
+    public List<String> uppercase;
+  }
+
+  public static class HostPortConverter implements IStringConverter<HostPort> {
+    @Override
+    public HostPort convert(String value) {
+      return HostPort.parse(value);
+    }
+  }
+
+  public static class UppercaseConverter implements IStringConverter<List<String>> {
+    @Override
+    public List<String> convert(String value) {
+      List<String> result = new ArrayList<>();
+      for (String p : value.split(",")) {
+        result.add(p.toUpperCase());
+      }
+      return result;
+    }
+  }
+
+  public static class SemiColonSplitter implements IParameterSplitter {
+    @Override
+    public List<String> split(String value) {
+      return Arrays.asList(value.split(";"));
+    }
+  }
+}
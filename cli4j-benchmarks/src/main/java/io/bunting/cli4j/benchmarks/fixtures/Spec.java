@@ -0,0 +1,84 @@
+package io.bunting.cli4j.benchmarks.fixtures;
+
+/**
+ * An arg class declared once for each parser, together with a command line to parse and a value to convert.
+ */
+public final class Spec {
+  public static final String ARGS1 = "Args1";
+  public static final String COMMAND_LINE_ARGS = "CommandLineArgs";
+  public static final String ARGS_LIST = "ArgsList";
+  public static final String SYNTHETIC_PREFIX = "Synthetic";
+
+  private final Class<?> cli4jClass;
+  private final Class<?> jcommanderClass;
+  private final String[] argv;
+  private final String convertField;
+  private final String convertValue;
+
+  Spec(Class<?> cli4jClass, Class<?> jcommanderClass, String[] argv, String convertField, String convertValue) {
+    this.cli4jClass = cli4jClass;
+    this.jcommanderClass = jcommanderClass;
+    this.argv = argv;
+    this.convertField = convertField;
+    this.convertValue = convertValue;
+  }
+
+  /**
+   * @param name one of the fixture names, or {@code Synthetic<n>} for a generated arg class with n options
+   */
+  public static Spec forName(String name) {
+    switch (name) {
+      case ARGS1:
+        return new Spec(Cli4jFixtures.Args1.class, JCommanderFixtures.Args1.class, new String[] {
+            "-log", "2", "-groups", "unit,functional", "-debug", "-long", "1234567890", "-double", "3.14",
+            "-float", "1.5", "-bigdecimal", "12.34", "-date", "2011-10-26", "a", "b", "c"
+        }, "verbose", "42");
+      case COMMAND_LINE_ARGS:
+        return new Spec(Cli4jFixtures.CommandLineArgs.class, JCommanderFixtures.CommandLineArgs.class, new String[] {
+            "-log", "2", "-groups", "unit", "-d", "out", "-junit", "-parallel", "methods", "-threadcount", "4",
+            "-suitename", "suite", "-port", "5555", "-host", "localhost", "suite1.xml", "suite2.xml"
+        }, "threadCount", "4");
+      case ARGS_LIST:
+        return new Spec(Cli4jFixtures.ArgsList.class, JCommanderFixtures.ArgsList.class, new String[] {
+            "-groups", "a,b,c", "-ints", "1,2,3", "-hp", "localhost:80;example.com:443", "-hp2", "a:1,b:2",
+            "-uppercase", "x,y"
+        }, "ints", "1,2,3,4,5");
+      default:
+        if (name.startsWith(SYNTHETIC_PREFIX)) {
+          return SyntheticSpecs.compile(Integer.parseInt(name.substring(SYNTHETIC_PREFIX.length())));
+        }
+        throw new IllegalArgumentException("Unknown spec " + name);
+    }
+  }
+
+  public Object newCli4jArgs() {
+    return newInstance(cli4jClass);
+  }
+
+  public Object newJCommanderArgs() {
+    return newInstance(jcommanderClass);
+  }
+
+  private static Object newInstance(Class<?> type) {
+    try {
+      return type.newInstance();
+    } catch (ReflectiveOperationException e) {
+      throw new IllegalStateException("Cannot instantiate " + type, e);
+    }
+  }
+
+  public String[] getArgv() {
+    return argv.clone();
+  }
+
+  /**
+   * @return the name of the field whose option {@link #getConvertValue()} is converted for.
+   */
+  public String getConvertField() {
+    return convertField;
+  }
+
+  public String getConvertValue() {
+    return convertValue;
+  }
+}
@@ -0,0 +1,110 @@
+package io.bunting.cli4j.benchmarks.fixtures;
+
+import javax.tools.JavaCompiler;
+import javax.tools.ToolProvider;
+import java.io.File;
+import java.io.IOException;
+import java.net.URL;
+import java.net.URLClassLoader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Generates arg classes with a given number of options for both parsers. Option {@code i} is named
+ * {@code --option-i} and is a String, an int or a boolean in turn. The command line sets ten options spread evenly
+ * across the class, so that parse cost reflects option lookup rather than the amount of input.
+ */
+final class SyntheticSpecs {
+  private static final String PACKAGE = "io.bunting.cli4j.benchmarks.synthetic";
+
+  private SyntheticSpecs() {
+  }
+
+  static Spec compile(int options) {
+    try {
+      File dir = Files.createTempDirectory("cli4j-synthetic").toFile();
+      File packageDir = new File(dir, PACKAGE.replace('.', File.separatorChar));
+      if (!packageDir.mkdirs()) {
+        throw new IOException("Cannot create " + packageDir);
+      }
+      String cli4jName = "Cli4jOptions" + options;
+      String jcommanderName = "JCommanderOptions" + options;
+      File cli4jSource = write(packageDir, cli4jName, source(cli4jName, "io.bunting.cli4j.parser", options));
+      File jcommanderSource = write(packageDir, jcommanderName, source(jcommanderName, "com.beust.jcommander",
+          options));
+
+      JavaCompiler compiler = ToolProvider.getSystemJavaCompiler();
+      if (compiler == null) {
+        throw new IllegalStateException("Synthetic specs need a JDK to compile");
+      }
+      int status = compiler.run(null, null, null, "-proc:none", "-nowarn", "-classpath",
+          System.getProperty("java.class.path"), "-d", dir.getPath(), cli4jSource.getPath(),
+          jcommanderSource.getPath());
+      if (status != 0) {
+        throw new IllegalStateException("Failed to compile synthetic specs with " + options + " options");
+      }
+
+      ClassLoader loader = new URLClassLoader(new URL[] { dir.toURI().toURL() }, SyntheticSpecs.class.getClassLoader());
+      return new Spec(loader.loadClass(PACKAGE + "." + cli4jName), loader.loadClass(PACKAGE + "." + jcommanderName),
+          argv(options), "option1", "42");
+    } catch (IOException | ClassNotFoundException e) {
+      throw new IllegalStateException("Failed to generate synthetic specs", e);
+    }
+  }
+
+  private static File write(File packageDir, String className, String source) throws IOException {
+    File file = new File(packageDir, className + ".java");
+    Files.write(file.toPath(), source.getBytes(StandardCharsets.UTF_8));
+    return file;
+  }
+
+  private static String source(String className, String parserPackage, int options) {
+    StringBuilder sb = new StringBuilder();
+    sb.append("package ").append(PACKAGE).append(";\n\n");
+    sb.append("import ").append(parserPackage).append(".Parameter;\n\n");
+    sb.append("public class ").append(className).append(" {\n");
+    sb.append("  @Parameter(description = \"Files\")\n");
+    sb.append("  public java.util.List<String> files = new java.util.ArrayList<>();\n");
+    for (int i = 0; i < options; i++) {
+      sb.append("  @Parameter(names = \"--option-").append(i).append("\", description = \"Option ").append(i)
+          .append("\")\n");
+      sb.append("  public ").append(type(i)).append(" option").append(i).append(";\n");
+    }
+    return sb.append("}\n").toString();
+  }
+
+  private static String type(int option) {
+    switch (option % 3) {
+      case 0:
+        return "String";
+      case 1:
+        return "int";
+      default:
+        return "boolean";
+    }
+  }
+
+  private static String[] argv(int options) {
+    List<String> argv = new ArrayList<>();
+    int set = Math.min(10, options);
+    for (int k = 0; k < set; k++) {
+      int option = k * options / set;
+      argv.add("--option-" + option);
+      switch (option % 3) {
+        case 0:
+          argv.add("value" + option);
+          break;
+        case 1:
+          argv.add(Integer.toString(option));
+          break;
+        default:
+          // booleans take no value
+      }
+    }
+    argv.addAll(Arrays.asList("file1", "file2"));
+    return argv.toArray(new String[argv.size()]);
+  }
+}
@@ -0,0 +1,268 @@
+package io.bunting.cli4j.processor;
+
+import javax.annotation.processing.Filer;
+import javax.lang.model.element.AnnotationMirror;
+import javax.lang.model.element.Element;
+import javax.lang.model.element.ExecutableElement;
+import javax.lang.model.element.Modifier;
+import javax.lang.model.element.TypeElement;
+import javax.lang.model.element.VariableElement;
+import javax.lang.model.type.DeclaredType;
+import javax.lang.model.type.TypeKind;
+import javax.lang.model.type.TypeMirror;
+import javax.lang.model.util.ElementFilter;
+import javax.lang.model.util.Elements;
+import javax.lang.model.util.Types;
+import java.io.IOException;
+import java.io.PrintWriter;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Writes the {@code ParameterBinder} of an arg class. The binder lists the same members, in the same order, as
+ * {@code Parameterized.parseArg} finds reflectively: annotated fields from the class up through its superclasses,
+ * then annotated methods in the same order.
+ */
+class BinderGenerator {
+  static final String SUFFIX = "_Cli4jBinder";
+
+  static final String PARAMETER = "io.bunting.cli4j.parser.Parameter";
+  static final String DYNAMIC_PARAMETER = "io.bunting.cli4j.parser.DynamicParameter";
+  static final String PARAMETERS_DELEGATE = "io.bunting.cli4j.parser.ParametersDelegate";
+  static final String PARAMETERS = "io.bunting.cli4j.parser.Parameters";
+
+  private static final String SPECS = "io.bunting.cli4j.parser.internal.AnnotationSpecs";
+  private static final String PARAMETERIZED = "io.bunting.cli4j.parser.Parameterized";
+  private static final String WRAPPED_PARAMETER = "io.bunting.cli4j.parser.WrappedParameter";
+
+  private final Filer filer;
+  private final Elements elements;
+  private final Types types;
+  private final SourceSupport support;
+
+  BinderGenerator(Filer filer, Elements elements, Types types, SourceSupport support) {
+    this.filer = filer;
+    this.elements = elements;
+    this.types = types;
+    this.support = support;
+  }
+
+  /**
+   * Generates the binder for {@code type}.
+   *
+   * @throws UnsupportedElementException if the binder would need to reach a member generated code cannot access
+   */
+  void generate(TypeElement type) throws UnsupportedElementException, IOException {
+    String packageName = support.packageOf(type);
+    if (!support.isAccessible(type, packageName)) {
+      throw new UnsupportedElementException(type + " is not accessible from its package");
+    }
+
+    List<String> members = new ArrayList<>();
+    List<TypeElement> hierarchy = hierarchy(type);
+    for (TypeElement declaringType : hierarchy) {
+      for (VariableElement field : ElementFilter.fieldsIn(declaringType.getEnclosedElements())) {
+        String member = fieldMember(declaringType, field, packageName);
+        if (member != null) {
+          members.add(member);
+        }
+      }
+    }
+    for (TypeElement declaringType : hierarchy) {
+      for (ExecutableElement method : ElementFilter.methodsIn(declaringType.getEnclosedElements())) {
+        String member = methodMember(declaringType, method, packageName);
+        if (member != null) {
+          members.add(member);
+        }
+      }
+    }
+
+    AnnotationMirror parameters = support.findInheritedAnnotation(type, PARAMETERS);
+    String parametersExpression = parameters == null
+        ? null
+        : support.specExpression("new " + SPECS + ".ParametersSpec()", parameters, packageName);
+
+    String binderName = support.generatedSimpleName(type, SUFFIX);
+    try (PrintWriter out = new PrintWriter(filer.createSourceFile(support.generatedName(type, SUFFIX), type)
+        .openWriter())) {
+      if (!packageName.isEmpty()) {
+        out.printf("package %s;%n%n", packageName);
+      }
+      out.printf("/**%n * Generated by the cli4j annotation processor for {@link %s}.%n */%n",
+          type.getQualifiedName());
+      out.printf("@SuppressWarnings({\"unchecked\", \"rawtypes\"})%n");
+      out.printf("public final class %s extends io.bunting.cli4j.parser.ParameterBinder {%n", binderName);
+      if (parametersExpression != null) {
+        out.printf("  private static final io.bunting.cli4j.parser.Parameters PARAMETERS = %s;%n%n",
+            parametersExpression);
+      }
+      out.printf("  private static final %s[] PARAMETERIZEDS = {%n", PARAMETERIZED);
+      for (String member : members) {
+        out.printf("%s,%n", member);
+      }
+      out.printf("  };%n%n");
+      out.printf("  @Override%n");
+      out.printf("  public java.util.List<%s> getParameterizeds() {%n", PARAMETERIZED);
+      out.printf("    return new java.util.ArrayList<>(java.util.Arrays.asList(PARAMETERIZEDS));%n");
+      out.printf("  }%n");
+      if (parametersExpression != null) {
+        out.printf("%n  @Override%n");
+        out.printf("  public io.bunting.cli4j.parser.Parameters getParameters() {%n");
+        out.printf("    return PARAMETERS;%n");
+        out.printf("  }%n");
+      }
+      out.printf("}%n");
+    }
+  }
+
+  private List<TypeElement> hierarchy(TypeElement type) {
+    List<TypeElement> hierarchy = new ArrayList<>();
+    TypeElement current = type;
+    while (current != null && !current.getQualifiedName().contentEquals(Object.class.getName())) {
+      hierarchy.add(current);
+      TypeMirror superclass = current.getSuperclass();
+      current = superclass.getKind() == TypeKind.DECLARED ? support.asTypeElement(superclass) : null;
+    }
+    return hierarchy;
+  }
+
+  /**
+   * @return the first of @Parameter, @DynamicParameter and @ParametersDelegate on {@code member}, in the order
+   * reflection checks them, or null.
+   */
+  private AnnotationMirror parserAnnotation(Element member) {
+    for (String name : new String[] { PARAMETER, DYNAMIC_PARAMETER, PARAMETERS_DELEGATE }) {
+      AnnotationMirror mirror = support.findAnnotation(member, name);
+      if (mirror != null) {
+        return mirror;
+      }
+    }
+    return null;
+  }
+
+  private String fieldMember(TypeElement declaringType, VariableElement field, String packageName)
+      throws UnsupportedElementException {
+    AnnotationMirror annotation = parserAnnotation(field);
+    if (annotation == null) {
+      return null;
+    }
+    checkAccess(declaringType, field, packageName);
+    boolean delegate = isDelegate(annotation);
+    boolean assignable = !field.getModifiers().contains(Modifier.FINAL);
+    if (!assignable && !delegate && !isDynamic(annotation)) {
+      throw new UnsupportedElementException("@Parameter field " + field + " is final");
+    }
+
+    String owner = support.erasedName(declaringType.asType(), packageName);
+    String target = "((" + owner + ") o)." + field.getSimpleName();
+    String setBody = assignable
+        ? target + " = (" + support.castName(field.asType(), packageName) + ") v;"
+        : "throw new UnsupportedOperationException(\"" + field.getSimpleName() + " is final\");";
+    return member(annotation, owner, field.getSimpleName().toString(), true, field.asType(), packageName,
+        "return " + target + ";", setBody);
+  }
+
+  private String methodMember(TypeElement declaringType, ExecutableElement method, String packageName)
+      throws UnsupportedElementException {
+    AnnotationMirror annotation = parserAnnotation(method);
+    if (annotation == null) {
+      return null;
+    }
+    checkAccess(declaringType, method, packageName);
+    if (method.getParameters().size() != 1) {
+      throw new UnsupportedElementException("Annotated method " + method + " does not take exactly one argument");
+    }
+    for (TypeMirror thrown : method.getThrownTypes()) {
+      if (!types.isAssignable(thrown, elements.getTypeElement(RuntimeException.class.getName()).asType())
+          && !types.isAssignable(thrown, elements.getTypeElement(Error.class.getName()).asType())) {
+        throw new UnsupportedElementException("Annotated method " + method + " throws a checked exception");
+      }
+    }
+
+    String owner = support.erasedName(declaringType.asType(), packageName);
+    TypeMirror type = method.getParameters().get(0).asType();
+    String name = method.getSimpleName().toString();
+    String setBody = "((" + owner + ") o)." + name + "((" + support.castName(type, packageName) + ") v);";
+    return member(annotation, owner, name, false, type, packageName,
+        getterBody(declaringType, owner, name, packageName), setBody);
+  }
+
+  /**
+   * Mirrors {@code Parameterized.get} for methods: a public getter named like the setter, then a field named after
+   * the property, and otherwise null.
+   */
+  private String getterBody(TypeElement declaringType, String owner, String setterName, String packageName)
+      throws UnsupportedElementException {
+    String getterName = "g" + setterName.substring(1);
+    for (ExecutableElement candidate : ElementFilter.methodsIn(elements.getAllMembers(declaringType))) {
+      if (candidate.getSimpleName().contentEquals(getterName) && candidate.getParameters().isEmpty()
+          && candidate.getModifiers().contains(Modifier.PUBLIC)) {
+        return "return ((" + owner + ") o)." + getterName + "();";
+      }
+    }
+    if (setterName.length() > 3) {
+      String fieldName = Character.toLowerCase(setterName.charAt(3)) + setterName.substring(4);
+      for (VariableElement field : ElementFilter.fieldsIn(declaringType.getEnclosedElements())) {
+        if (field.getSimpleName().contentEquals(fieldName)) {
+          if (!support.isVisible(field, packageName)) {
+            throw new UnsupportedElementException("Field " + field + " backing " + setterName + " is not accessible");
+          }
+          return "return ((" + owner + ") o)." + fieldName + ";";
+        }
+      }
+    }
+    return "return null;";
+  }
+
+  private void checkAccess(TypeElement declaringType, Element member, String packageName)
+      throws UnsupportedElementException {
+    if (!support.isAccessible(declaringType, packageName) || !support.isVisible(member, packageName)) {
+      throw new UnsupportedElementException(declaringType + "." + member + " is not accessible from package "
+          + packageName);
+    }
+  }
+
+  private String member(AnnotationMirror annotation, String owner, String name, boolean isField, TypeMirror type,
+                        String packageName, String getBody, String setBody) throws UnsupportedElementException {
+    String wrapped;
+    String delegate;
+    if (isDelegate(annotation)) {
+      wrapped = "null";
+      delegate = "new " + SPECS + ".ParametersDelegateSpec()";
+    } else {
+      String spec = isDynamic(annotation) ? "DynamicParameterSpec" : "ParameterSpec";
+      wrapped = "new " + WRAPPED_PARAMETER + "(" + support.specExpression("new " + SPECS + "." + spec + "()",
+          annotation, packageName) + ")";
+      delegate = "null";
+    }
+    StringBuilder sb = new StringBuilder();
+    sb.append("      new ").append(PARAMETERIZED).append("(").append(wrapped).append(", ").append(delegate)
+        .append(",\n        ").append(owner).append(".class, \"").append(name).append("\", ").append(isField)
+        .append(", ").append(support.erasedName(type, packageName)).append(".class, ")
+        .append(support.genericTypeExpression(type, packageName)).append(",\n");
+    sb.append("        new ").append(PARAMETERIZED).append(".Accessor() {\n");
+    sb.append("          @Override\n");
+    sb.append("          public Object get(Object o) {\n");
+    sb.append("            ").append(getBody).append('\n');
+    sb.append("          }\n\n");
+    sb.append("          @Override\n");
+    sb.append("          public void set(Object o, Object v) {\n");
+    sb.append("            ").append(setBody).append('\n');
+    sb.append("          }\n");
+    sb.append("        })");
+    return sb.toString();
+  }
+
+  private static boolean isDelegate(AnnotationMirror annotation) {
+    return nameOf(annotation).equals(PARAMETERS_DELEGATE);
+  }
+
+  private static boolean isDynamic(AnnotationMirror annotation) {
+    return nameOf(annotation).equals(DYNAMIC_PARAMETER);
+  }
+
+  private static String nameOf(AnnotationMirror annotation) {
+    DeclaredType annotationType = annotation.getAnnotationType();
+    return ((TypeElement) annotationType.asElement()).getQualifiedName().toString();
+  }
+}
@@ -0,0 +1,173 @@
+package io.bunting.cli4j.processor;
+
+import javax.annotation.processing.AbstractProcessor;
+import javax.annotation.processing.Messager;
+import javax.annotation.processing.ProcessingEnvironment;
+import javax.annotation.processing.RoundEnvironment;
+import javax.lang.model.SourceVersion;
+import javax.lang.model.element.Element;
+import javax.lang.model.element.ElementKind;
+import javax.lang.model.element.ExecutableElement;
+import javax.lang.model.element.Modifier;
+import javax.lang.model.element.NestingKind;
+import javax.lang.model.element.TypeElement;
+import javax.lang.model.util.ElementFilter;
+import javax.tools.Diagnostic;
+import java.io.IOException;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.Set;
+
+/**
+ * Generates reflection-free glue for cli4j at compile time:
+ * <ul>
+ *   <li>a {@code <ArgClass>_Cli4jBinder} for every class using the parser annotations, which the parser uses in place
+ *   of reading the annotations reflectively, and</li>
+ *   <li>a {@code <ResourceClass>_Cli4jDispatcher} for every class declaring {@code @Command} methods, which
+ *   {@code Cli4J} calls instead of binding method handles.</li>
+ * </ul>
+ * It also lists every command in {@code META-INF/cli4j/commands.idx}, from which {@code Cli4J.discoverCommands}
+ * registers commands without loading their classes.
+ * Classes whose members the generated code cannot reach, e.g. private fields, are reported with a note and left to
+ * the reflective path at runtime.
+ */
+public class Cli4jProcessor extends AbstractProcessor {
+  private static final Set<String> ANNOTATIONS = new HashSet<>(Arrays.asList(BinderGenerator.PARAMETER,
+      BinderGenerator.DYNAMIC_PARAMETER, BinderGenerator.PARAMETERS_DELEGATE, BinderGenerator.PARAMETERS,
+      DispatcherGenerator.COMMAND));
+
+  private Messager messager;
+  private SourceSupport support;
+  private BinderGenerator binders;
+  private DispatcherGenerator dispatchers;
+  private CommandIndexGenerator commandIndex;
+  private final Set<String> generated = new HashSet<>();
+
+  @Override
+  public synchronized void init(ProcessingEnvironment processingEnv) {
+    super.init(processingEnv);
+    messager = processingEnv.getMessager();
+    support = new SourceSupport(processingEnv.getElementUtils(), processingEnv.getTypeUtils());
+    binders = new BinderGenerator(processingEnv.getFiler(), processingEnv.getElementUtils(),
+        processingEnv.getTypeUtils(), support);
+    dispatchers = new DispatcherGenerator(processingEnv.getFiler(), processingEnv.getElementUtils(), support);
+    commandIndex = new CommandIndexGenerator(processingEnv.getFiler(), processingEnv.getElementUtils(), support);
+  }
+
+  /**
+   * Every compilation is seen, even one without any of the annotations handled here, so that the index entries of a
+   * class whose last command was removed are dropped. No annotation is claimed.
+   */
+  @Override
+  public Set<String> getSupportedAnnotationTypes() {
+    return Collections.singleton("*");
+  }
+
+  @Override
+  public SourceVersion getSupportedSourceVersion() {
+    return SourceVersion.latestSupported();
+  }
+
+  @Override
+  public boolean process(Set<? extends TypeElement> annotations, RoundEnvironment roundEnv) {
+    if (roundEnv.processingOver()) {
+      writeCommandIndex();
+      return false;
+    }
+    for (TypeElement type : ElementFilter.typesIn(roundEnv.getRootElements())) {
+      commandIndex.compiled(type);
+    }
+    Set<TypeElement> argClasses = new LinkedHashSet<>();
+    Set<TypeElement> resourceClasses = new LinkedHashSet<>();
+    for (TypeElement annotation : annotations) {
+      String name = annotation.getQualifiedName().toString();
+      if (!ANNOTATIONS.contains(name)) {
+        continue;
+      }
+      for (Element element : roundEnv.getElementsAnnotatedWith(annotation)) {
+        if (name.equals(DispatcherGenerator.COMMAND)) {
+          if (checkCommand((ExecutableElement) element)) {
+            addClass(resourceClasses, element.getEnclosingElement());
+          }
+        } else if (name.equals(BinderGenerator.PARAMETERS)) {
+          addClass(argClasses, element);
+        } else {
+          addClass(argClasses, element.getEnclosingElement());
+        }
+      }
+    }
+
+    for (TypeElement type : argClasses) {
+      try {
+        if (shouldGenerate(type, BinderGenerator.SUFFIX)) {
+          binders.generate(type);
+        }
+      } catch (UnsupportedElementException e) {
+        fallBack(type, e);
+      } catch (IOException e) {
+        messager.printMessage(Diagnostic.Kind.ERROR, "Failed to write binder: " + e.getMessage(), type);
+      }
+    }
+    for (TypeElement type : resourceClasses) {
+      commandIndex.add(type);
+      try {
+        if (shouldGenerate(type, DispatcherGenerator.SUFFIX)) {
+          dispatchers.generate(type);
+        }
+      } catch (UnsupportedElementException e) {
+        fallBack(type, e);
+      } catch (IOException e) {
+        messager.printMessage(Diagnostic.Kind.ERROR, "Failed to write dispatcher: " + e.getMessage(), type);
+      }
+    }
+    return false;
+  }
+
+  private void writeCommandIndex() {
+    try {
+      commandIndex.write();
+    } catch (IOException e) {
+      messager.printMessage(Diagnostic.Kind.ERROR, "Failed to write " + CommandIndexGenerator.LOCATION + ": "
+          + e.getMessage());
+    }
+  }
+
+  /**
+   * Generates each class once per compilation. A class left on the class path by an earlier compilation is generated
+   * again, since the class it was generated for may have changed since.
+   */
+  private boolean shouldGenerate(TypeElement type, String suffix) {
+    return generated.add(support.generatedName(type, suffix));
+  }
+
+  /**
+   * Reports {@code @Command} methods that {@code Cli4J.addResource} would reject.
+   *
+   * @return whether the method can be dispatched
+   */
+  private boolean checkCommand(ExecutableElement method) {
+    if (method.getModifiers().contains(Modifier.PUBLIC) && method.getParameters().size() != 2) {
+      messager.printMessage(Diagnostic.Kind.ERROR,
+          "@Command methods must take two parameters, a CliAdapter and an arg object", method);
+      return false;
+    }
+    return true;
+  }
+
+  private static void addClass(Set<TypeElement> classes, Element element) {
+    if (element.getKind() != ElementKind.CLASS) {
+      return;
+    }
+    // local and anonymous classes have no name that generated code could refer to
+    NestingKind nesting = ((TypeElement) element).getNestingKind();
+    if (nesting == NestingKind.TOP_LEVEL || nesting == NestingKind.MEMBER) {
+      classes.add((TypeElement) element);
+    }
+  }
+
+  private void fallBack(TypeElement type, UnsupportedElementException e) {
+    messager.printMessage(Diagnostic.Kind.NOTE, type + " will be bound reflectively: " + e.getMessage(), type);
+  }
+}
@@ -0,0 +1,157 @@
+package io.bunting.cli4j.processor;
+
+import javax.annotation.processing.Filer;
+import javax.lang.model.element.AnnotationMirror;
+import javax.lang.model.element.AnnotationValue;
+import javax.lang.model.element.ExecutableElement;
+import javax.lang.model.element.Modifier;
+import javax.lang.model.element.TypeElement;
+import javax.lang.model.element.VariableElement;
+import javax.lang.model.type.TypeKind;
+import javax.lang.model.type.TypeMirror;
+import javax.lang.model.util.ElementFilter;
+import javax.lang.model.util.Elements;
+import javax.tools.FileObject;
+import javax.tools.StandardLocation;
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.OutputStreamWriter;
+import java.io.PrintWriter;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Collects the commands of every resource class in a compilation and writes them to
+ * {@code META-INF/cli4j/commands.idx}, in the format read by {@code Cli4J.discoverCommands}. Entries left by an
+ * earlier compilation are kept as long as their resource class still exists and was not compiled again, with or
+ * without commands.
+ */
+class CommandIndexGenerator {
+  static final String LOCATION = "META-INF/cli4j/commands.idx";
+
+  private static final String RESOURCE_SCOPE = "io.bunting.cli4j.ResourceScope";
+  private static final String HEADER = "# name\taliases\tresource-class\tmethod\targ-class\tscope";
+
+  private final Filer filer;
+  private final Elements elements;
+  private final SourceSupport support;
+  private final Set<String> resourceClasses = new HashSet<>();
+  /** Every class of the compilation, whose previous entries are replaced by those added now, if any */
+  private final Set<String> compiledClasses = new HashSet<>();
+  private final List<String> entries = new ArrayList<>();
+
+  CommandIndexGenerator(Filer filer, Elements elements, SourceSupport support) {
+    this.filer = filer;
+    this.elements = elements;
+    this.support = support;
+  }
+
+  /**
+   * Records that {@code type} and its member classes are compiled, so that the entries an earlier compilation wrote
+   * for them are dropped.
+   */
+  void compiled(TypeElement type) {
+    compiledClasses.add(elements.getBinaryName(type).toString());
+    for (TypeElement member : ElementFilter.typesIn(type.getEnclosedElements())) {
+      compiled(member);
+    }
+  }
+
+  /**
+   * Adds the public {@code @Command} methods {@code type} declares or inherits, as {@code Cli4J.addResource} would
+   * register them.
+   */
+  void add(TypeElement type) {
+    String resourceClass = elements.getBinaryName(type).toString();
+    if (!resourceClasses.add(resourceClass)) {
+      return;
+    }
+    AnnotationMirror typeScope = support.findAnnotation(type, RESOURCE_SCOPE);
+    for (ExecutableElement method : ElementFilter.methodsIn(elements.getAllMembers(type))) {
+      AnnotationMirror command = support.findAnnotation(method, DispatcherGenerator.COMMAND);
+      if (command == null || !method.getModifiers().contains(Modifier.PUBLIC)
+          || method.getParameters().size() != 2) {
+        continue;
+      }
+      TypeMirror argType = method.getParameters().get(1).asType();
+      if (argType.getKind() != TypeKind.DECLARED) {
+        continue;
+      }
+      Object name = support.explicitValue(command, "name");
+      AnnotationMirror scope = support.findAnnotation(method, RESOURCE_SCOPE);
+      if (scope == null) {
+        scope = typeScope;
+      }
+      entries.add((name != null ? name : "") + "\t" + aliases(command) + "\t" + resourceClass + "\t"
+          + method.getSimpleName() + "\t" + elements.getBinaryName(support.asTypeElement(argType)) + "\t"
+          + (scope != null ? ((VariableElement) support.explicitValue(scope, "value")).getSimpleName() : "INVOCATION"));
+    }
+  }
+
+  private String aliases(AnnotationMirror command) {
+    StringBuilder sb = new StringBuilder();
+    Object aliases = support.explicitValue(command, "aliases");
+    if (aliases != null) {
+      for (Object alias : (List<?>) aliases) {
+        if (sb.length() > 0) {
+          sb.append(',');
+        }
+        sb.append(((AnnotationValue) alias).getValue());
+      }
+    }
+    return sb.toString();
+  }
+
+  /**
+   * Writes the index, merged with the entries of a previous compilation that are still valid. Nothing is written if
+   * the previous index is still accurate.
+   */
+  void write() throws IOException {
+    List<String> lines = new ArrayList<>();
+    boolean dropped = false;
+    for (String entry : readPrevious()) {
+      String[] fields = entry.split("\t", -1);
+      if (fields.length > 2 && !resourceClasses.contains(fields[2]) && !compiledClasses.contains(fields[2])
+          && elements.getTypeElement(fields[2].replace('$', '.')) != null) {
+        lines.add(entry);
+      } else {
+        dropped = true;
+      }
+    }
+    if (entries.isEmpty() && !dropped) {
+      return;
+    }
+    lines.addAll(entries);
+
+    FileObject index = filer.createResource(StandardLocation.CLASS_OUTPUT, "", LOCATION);
+    try (PrintWriter out = new PrintWriter(new OutputStreamWriter(index.openOutputStream(), StandardCharsets.UTF_8))) {
+      out.print(HEADER + "\n");
+      for (String line : lines) {
+        out.print(line + "\n");
+      }
+    }
+  }
+
+  private List<String> readPrevious() {
+    List<String> previous = new ArrayList<>();
+    try {
+      FileObject index = filer.getResource(StandardLocation.CLASS_OUTPUT, "", LOCATION);
+      try (BufferedReader reader = new BufferedReader(
+          new InputStreamReader(index.openInputStream(), StandardCharsets.UTF_8))) {
+        String line;
+        while ((line = reader.readLine()) != null) {
+          if (!line.isEmpty() && line.charAt(0) != '#') {
+            previous.add(line);
+          }
+        }
+      }
+    } catch (IOException | IllegalArgumentException e) {
+      // no previous index
+    }
+    return previous;
+  }
+}
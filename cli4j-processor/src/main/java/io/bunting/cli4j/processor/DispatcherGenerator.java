@@ -0,0 +1,131 @@
+package io.bunting.cli4j.processor;
+
+import javax.annotation.processing.Filer;
+import javax.lang.model.element.AnnotationMirror;
+import javax.lang.model.element.ExecutableElement;
+import javax.lang.model.element.Modifier;
+import javax.lang.model.element.TypeElement;
+import javax.lang.model.type.TypeMirror;
+import javax.lang.model.util.ElementFilter;
+import javax.lang.model.util.Elements;
+import java.io.IOException;
+import java.io.PrintWriter;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Writes the {@code CommandDispatcher} of a resource class. It covers the public {@code @Command} methods the class
+ * declares or inherits, which are the ones {@code Cli4J.addResource} registers.
+ */
+class DispatcherGenerator {
+  static final String SUFFIX = "_Cli4jDispatcher";
+
+  static final String COMMAND = "io.bunting.cli4j.Command";
+
+  private final Filer filer;
+  private final Elements elements;
+  private final SourceSupport support;
+
+  DispatcherGenerator(Filer filer, Elements elements, SourceSupport support) {
+    this.filer = filer;
+    this.elements = elements;
+    this.support = support;
+  }
+
+  /**
+   * Generates the dispatcher for {@code type}.
+   *
+   * @throws UnsupportedElementException if a command, its arg class or the resource constructor cannot be reached
+   * from generated code
+   */
+  void generate(TypeElement type) throws UnsupportedElementException, IOException {
+    String packageName = support.packageOf(type);
+    if (!support.isAccessible(type, packageName)) {
+      throw new UnsupportedElementException(type + " is not accessible from its package");
+    }
+    String owner = support.erasedName(type.asType(), packageName);
+
+    String newResource = "null";
+    ExecutableElement constructor = support.findNoArgConstructor(type);
+    if (constructor != null && support.isConcreteTopLevelOrStatic(type)) {
+      if (!support.isVisible(constructor, packageName)) {
+        throw new UnsupportedElementException("The no-argument constructor of " + type + " is not accessible");
+      }
+      newResource = "new " + owner + "()";
+    }
+
+    // command name -> { new args expression, invocation statement }
+    Map<String, String[]> commands = new LinkedHashMap<>();
+    for (ExecutableElement method : ElementFilter.methodsIn(elements.getAllMembers(type))) {
+      AnnotationMirror command = support.findAnnotation(method, COMMAND);
+      if (command == null || !method.getModifiers().contains(Modifier.PUBLIC)) {
+        continue;
+      }
+      if (method.getParameters().size() != 2) {
+        throw new UnsupportedElementException("Command method " + method + " does not take two parameters");
+      }
+      Object explicitName = support.explicitValue(command, "name");
+      String name = explicitName != null ? explicitName.toString() : "";
+      if (commands.containsKey(name)) {
+        throw new UnsupportedElementException("Command " + name + " is declared more than once in " + type);
+      }
+
+      TypeMirror argType = method.getParameters().get(1).asType();
+      TypeElement argClass = support.asTypeElement(argType);
+      String argName = support.erasedName(argType, packageName);
+      ExecutableElement argConstructor = argClass == null ? null : support.findNoArgConstructor(argClass);
+      if (argConstructor == null || !support.isConcreteTopLevelOrStatic(argClass)
+          || !support.isVisible(argConstructor, packageName)) {
+        throw new UnsupportedElementException("Arg class " + argType + " of command " + name
+            + " cannot be instantiated from package " + packageName);
+      }
+      String adapterName = support.erasedName(method.getParameters().get(0).asType(), packageName);
+      commands.put(name, new String[] {
+          "new " + argName + "()",
+          "((" + owner + ") resource)." + method.getSimpleName() + "((" + adapterName + ") cliAdapter, (" + argName
+              + ") args);"
+      });
+    }
+
+    String dispatcherName = support.generatedSimpleName(type, SUFFIX);
+    try (PrintWriter out = new PrintWriter(filer.createSourceFile(support.generatedName(type, SUFFIX), type)
+        .openWriter())) {
+      if (!packageName.isEmpty()) {
+        out.printf("package %s;%n%n", packageName);
+      }
+      out.printf("/**%n * Generated by the cli4j annotation processor for {@link %s}.%n */%n",
+          type.getQualifiedName());
+      out.printf("@SuppressWarnings({\"unchecked\", \"rawtypes\"})%n");
+      out.printf("public final class %s implements io.bunting.cli4j.CommandDispatcher {%n", dispatcherName);
+      out.printf("  @Override%n");
+      out.printf("  public Object newArgs(String command) {%n");
+      out.printf("    switch (command) {%n");
+      for (Map.Entry<String, String[]> entry : commands.entrySet()) {
+        out.printf("      case %s:%n", elements.getConstantExpression(entry.getKey()));
+        out.printf("        return %s;%n", entry.getValue()[0]);
+      }
+      out.printf("      default:%n");
+      out.printf("        throw new IllegalArgumentException(\"Unknown command: \" + command);%n");
+      out.printf("    }%n");
+      out.printf("  }%n%n");
+      out.printf("  @Override%n");
+      out.printf("  public Object newResource() {%n");
+      out.printf("    return %s;%n", newResource);
+      out.printf("  }%n%n");
+      out.printf("  @Override%n");
+      out.printf("  public void invoke(String command, Object resource, io.bunting.cli4j.CliAdapter cliAdapter,"
+          + " Object args)%n      throws Throwable {%n");
+      out.printf("    switch (command) {%n");
+      for (Map.Entry<String, String[]> entry : commands.entrySet()) {
+        out.printf("      case %s:%n", elements.getConstantExpression(entry.getKey()));
+        out.printf("        %s%n", entry.getValue()[1]);
+        out.printf("        return;%n");
+      }
+      out.printf("      default:%n");
+      out.printf("        throw new IllegalArgumentException(\"Unknown command: \" + command);%n");
+      out.printf("    }%n");
+      out.printf("  }%n");
+      out.printf("}%n");
+    }
+  }
+}
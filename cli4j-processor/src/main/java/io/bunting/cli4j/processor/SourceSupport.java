@@ -0,0 +1,277 @@
+package io.bunting.cli4j.processor;
+
+import javax.lang.model.element.AnnotationMirror;
+import javax.lang.model.element.AnnotationValue;
+import javax.lang.model.element.Element;
+import javax.lang.model.element.ElementKind;
+import javax.lang.model.element.ExecutableElement;
+import javax.lang.model.element.Modifier;
+import javax.lang.model.element.PackageElement;
+import javax.lang.model.element.TypeElement;
+import javax.lang.model.element.VariableElement;
+import javax.lang.model.type.ArrayType;
+import javax.lang.model.type.DeclaredType;
+import javax.lang.model.type.TypeKind;
+import javax.lang.model.type.TypeMirror;
+import javax.lang.model.util.ElementFilter;
+import javax.lang.model.util.Elements;
+import javax.lang.model.util.SimpleAnnotationValueVisitor7;
+import javax.lang.model.util.Types;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Renders types and annotation values as Java source, and decides what generated code placed in a given package is
+ * allowed to reference.
+ */
+class SourceSupport {
+  private final Elements elements;
+  private final Types types;
+
+  SourceSupport(Elements elements, Types types) {
+    this.elements = elements;
+    this.types = types;
+  }
+
+  String packageOf(Element element) {
+    return elements.getPackageOf(element).getQualifiedName().toString();
+  }
+
+  /**
+   * @return the simple name of the class generated for {@code type}, e.g. {@code Outer$Inner_Cli4jBinder}, so that
+   * the runtime finds it by appending {@code suffix} to {@link Class#getName()}.
+   */
+  String generatedSimpleName(TypeElement type, String suffix) {
+    String binaryName = elements.getBinaryName(type).toString();
+    String packageName = packageOf(type);
+    return (packageName.isEmpty() ? binaryName : binaryName.substring(packageName.length() + 1)) + suffix;
+  }
+
+  String generatedName(TypeElement type, String suffix) {
+    String packageName = packageOf(type);
+    String simpleName = generatedSimpleName(type, suffix);
+    return packageName.isEmpty() ? simpleName : packageName + "." + simpleName;
+  }
+
+  /**
+   * @return whether {@code type} and every type enclosing it is visible from {@code packageName}.
+   */
+  boolean isAccessible(TypeElement type, String packageName) {
+    for (Element e = type; e != null && !(e instanceof PackageElement); e = e.getEnclosingElement()) {
+      if (!(e instanceof TypeElement)) {
+        // local and anonymous classes cannot be named from another class
+        return false;
+      }
+      if (!isVisible(e, packageName)) {
+        return false;
+      }
+    }
+    return true;
+  }
+
+  /**
+   * @return whether the member {@code element}, declared in an accessible type, is visible from {@code packageName}.
+   */
+  boolean isVisible(Element element, String packageName) {
+    Modifier visibility = null;
+    for (Modifier modifier : element.getModifiers()) {
+      if (modifier == Modifier.PUBLIC || modifier == Modifier.PROTECTED || modifier == Modifier.PRIVATE) {
+        visibility = modifier;
+      }
+    }
+    if (visibility == Modifier.PUBLIC) {
+      return true;
+    }
+    return visibility != Modifier.PRIVATE && packageOf(element).equals(packageName);
+  }
+
+  boolean isStatic(Element element) {
+    return element.getModifiers().contains(Modifier.STATIC);
+  }
+
+  /**
+   * @return whether {@code new T()} compiles for a class {@code T} that has a no-argument constructor.
+   */
+  boolean isConcreteTopLevelOrStatic(TypeElement type) {
+    return type.getKind() == ElementKind.CLASS && !type.getModifiers().contains(Modifier.ABSTRACT)
+        && (!type.getNestingKind().isNested() || isStatic(type));
+  }
+
+  /**
+   * @return the no-argument constructor of {@code type}, which may be the implicit default constructor, or null.
+   */
+  ExecutableElement findNoArgConstructor(TypeElement type) {
+    for (ExecutableElement constructor : ElementFilter.constructorsIn(type.getEnclosedElements())) {
+      if (constructor.getParameters().isEmpty()) {
+        return constructor;
+      }
+    }
+    return null;
+  }
+
+  TypeElement asTypeElement(TypeMirror type) {
+    return (TypeElement) types.asElement(type);
+  }
+
+  /**
+   * @return the source name of the erasure of {@code type}, suitable for casts and class literals.
+   */
+  String erasedName(TypeMirror type, String packageName) throws UnsupportedElementException {
+    TypeMirror erasure = types.erasure(type);
+    switch (erasure.getKind()) {
+      case BOOLEAN:
+      case BYTE:
+      case SHORT:
+      case INT:
+      case LONG:
+      case CHAR:
+      case FLOAT:
+      case DOUBLE:
+      case VOID:
+        return erasure.toString();
+      case ARRAY:
+        return erasedName(((ArrayType) erasure).getComponentType(), packageName) + "[]";
+      case DECLARED:
+        TypeElement element = asTypeElement(erasure);
+        if (!isAccessible(element, packageName)) {
+          throw new UnsupportedElementException(element + " is not accessible from package " + packageName);
+        }
+        return element.getQualifiedName().toString();
+      default:
+        throw new UnsupportedElementException("Cannot name type " + type);
+    }
+  }
+
+  /**
+   * @return the type to cast an {@code Object} to before assigning it to a location of {@code type}.
+   */
+  String castName(TypeMirror type, String packageName) throws UnsupportedElementException {
+    if (type.getKind().isPrimitive()) {
+      return types.boxedClass(types.getPrimitiveType(type.getKind())).getQualifiedName().toString();
+    }
+    return erasedName(type, packageName);
+  }
+
+  /**
+   * @return an expression evaluating to the {@link java.lang.reflect.Type} that reflection reports for
+   * {@code type}, using {@code ParameterBinder.parameterizedType} for parameterized types.
+   */
+  String genericTypeExpression(TypeMirror type, String packageName) throws UnsupportedElementException {
+    switch (type.getKind()) {
+      case DECLARED:
+        List<? extends TypeMirror> arguments = ((DeclaredType) type).getTypeArguments();
+        String raw = erasedName(type, packageName) + ".class";
+        if (arguments.isEmpty()) {
+          return raw;
+        }
+        StringBuilder sb = new StringBuilder("parameterizedType(").append(raw);
+        for (TypeMirror argument : arguments) {
+          sb.append(", ").append(genericTypeExpression(argument, packageName));
+        }
+        return sb.append(')').toString();
+      case ARRAY:
+        TypeMirror component = ((ArrayType) type).getComponentType();
+        if (component.getKind() == TypeKind.DECLARED && !((DeclaredType) component).getTypeArguments().isEmpty()) {
+          throw new UnsupportedElementException("Generic array type " + type + " is not supported");
+        }
+        return erasedName(type, packageName) + ".class";
+      default:
+        if (type.getKind().isPrimitive()) {
+          return type.toString() + ".class";
+        }
+        throw new UnsupportedElementException("Type " + type + " cannot be expressed without reflection");
+    }
+  }
+
+  /**
+   * @return the annotation of type {@code annotationName} directly present on {@code element}, or null.
+   */
+  AnnotationMirror findAnnotation(Element element, String annotationName) {
+    return find(element.getAnnotationMirrors(), annotationName);
+  }
+
+  /**
+   * @return the annotation of type {@code annotationName} present on or inherited by {@code type}, or null.
+   */
+  AnnotationMirror findInheritedAnnotation(TypeElement type, String annotationName) {
+    return find(elements.getAllAnnotationMirrors(type), annotationName);
+  }
+
+  private static AnnotationMirror find(List<? extends AnnotationMirror> mirrors, String annotationName) {
+    for (AnnotationMirror mirror : mirrors) {
+      TypeElement annotationType = (TypeElement) mirror.getAnnotationType().asElement();
+      if (annotationType.getQualifiedName().contentEquals(annotationName)) {
+        return mirror;
+      }
+    }
+    return null;
+  }
+
+  /**
+   * @return the explicitly given value of {@code name} in {@code mirror}, or null if it was left at its default.
+   */
+  Object explicitValue(AnnotationMirror mirror, String name) {
+    for (Map.Entry<? extends ExecutableElement, ? extends AnnotationValue> entry
+        : mirror.getElementValues().entrySet()) {
+      if (entry.getKey().getSimpleName().contentEquals(name)) {
+        return entry.getValue().getValue();
+      }
+    }
+    return null;
+  }
+
+  /**
+   * Renders {@code mirror} as a chain of setter calls on {@code specExpression}, one per explicitly given value.
+   */
+  String specExpression(String specExpression, AnnotationMirror mirror, final String packageName)
+      throws UnsupportedElementException {
+    StringBuilder sb = new StringBuilder(specExpression);
+    for (Map.Entry<? extends ExecutableElement, ? extends AnnotationValue> entry
+        : mirror.getElementValues().entrySet()) {
+      sb.append("\n          .").append(entry.getKey().getSimpleName()).append('(')
+          .append(literal(entry.getValue(), packageName)).append(')');
+    }
+    return sb.toString();
+  }
+
+  private String literal(AnnotationValue value, final String packageName) throws UnsupportedElementException {
+    final UnsupportedElementException[] failure = new UnsupportedElementException[1];
+    String result = value.accept(new SimpleAnnotationValueVisitor7<String, Void>() {
+      @Override
+      protected String defaultAction(Object o, Void unused) {
+        return elements.getConstantExpression(o);
+      }
+
+      @Override
+      public String visitType(TypeMirror t, Void unused) {
+        try {
+          return erasedName(t, packageName) + ".class";
+        } catch (UnsupportedElementException e) {
+          failure[0] = e;
+          return null;
+        }
+      }
+
+      @Override
+      public String visitEnumConstant(VariableElement c, Void unused) {
+        return ((TypeElement) c.getEnclosingElement()).getQualifiedName() + "." + c.getSimpleName();
+      }
+
+      @Override
+      public String visitArray(List<? extends AnnotationValue> values, Void unused) {
+        StringBuilder sb = new StringBuilder();
+        for (AnnotationValue v : values) {
+          if (sb.length() > 0) {
+            sb.append(", ");
+          }
+          sb.append(v.accept(this, null));
+        }
+        return sb.toString();
+      }
+    }, null);
+    if (failure[0] != null) {
+      throw failure[0];
+    }
+    return result;
+  }
+}
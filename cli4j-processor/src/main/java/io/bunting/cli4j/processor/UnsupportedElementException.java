@@ -0,0 +1,10 @@
+package io.bunting.cli4j.processor;
+
+/**
+ * Thrown when an element cannot be bound by generated code, so that the runtime has to fall back to reflection.
+ */
+class UnsupportedElementException extends Exception {
+  UnsupportedElementException(String message) {
+    super(message);
+  }
+}
@@ -0,0 +1,41 @@
+package io.bunting.cli4j.processor;
+
+import io.bunting.cli4j.parser.DynamicParameter;
+import io.bunting.cli4j.parser.Parameter;
+import io.bunting.cli4j.parser.Parameters;
+import io.bunting.cli4j.parser.ParametersDelegate;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+@Parameters(separators = "=")
+public class BoundArgs {
+  @Parameter
+  List<String> files = new ArrayList<>();
+
+  @Parameter(names = { "-v", "--verbose" }, description = "Level of verbosity")
+  int verbose = 1;
+
+  @Parameter(names = "-groups", description = "Comma-separated list of group names")
+  String groups;
+
+  @DynamicParameter(names = "-D", description = "Dynamic parameters")
+  Map<String, String> properties = new HashMap<>();
+
+  @ParametersDelegate
+  final DelegateArgs delegate = new DelegateArgs();
+
+  String host;
+
+  @Parameter(names = "--host")
+  public void setHost(String host) {
+    this.host = host;
+  }
+
+  public static class DelegateArgs {
+    @Parameter(names = "--debug", arity = 1)
+    boolean debug;
+  }
+}
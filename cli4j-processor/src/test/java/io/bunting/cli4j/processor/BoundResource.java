@@ -0,0 +1,24 @@
+package io.bunting.cli4j.processor;
+
+import com.beust.jcommander.Parameter;
+import io.bunting.cli4j.CliAdapter;
+import io.bunting.cli4j.Command;
+
+import java.io.IOException;
+
+public class BoundResource {
+  public static class EchoArgs {
+    @Parameter(names = "--text")
+    String text;
+  }
+
+  @Command(name = "echo", aliases = "say")
+  public void echo(final CliAdapter cliAdapter, final EchoArgs args) {
+    cliAdapter.printf("%s%n", args.text);
+  }
+
+  @Command(name = "broken")
+  public void broken(final CliAdapter cliAdapter, final EchoArgs args) throws IOException {
+    throw new IOException("broken");
+  }
+}
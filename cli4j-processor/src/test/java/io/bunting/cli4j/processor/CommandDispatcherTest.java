@@ -0,0 +1,95 @@
+package io.bunting.cli4j.processor;
+
+import io.bunting.cli4j.Cli4J;
+import io.bunting.cli4j.CliAdapter;
+import io.bunting.cli4j.CommandDispatcher;
+import io.bunting.cli4j.CommandException;
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.io.IOException;
+import java.io.PrintWriter;
+import java.io.Reader;
+import java.io.StringReader;
+import java.io.StringWriter;
+
+/**
+ * Tests for the dispatchers generated for resource classes.
+ */
+public class CommandDispatcherTest {
+  @Test
+  public void dispatcherIsGenerated() throws Exception {
+    Class<?> dispatcher = Class.forName("io.bunting.cli4j.processor.BoundResource_Cli4jDispatcher");
+    Assert.assertTrue(CommandDispatcher.class.isAssignableFrom(dispatcher));
+  }
+
+  @Test
+  public void executeThroughDispatcher() {
+    StringCliAdapter cliAdapter = new StringCliAdapter();
+    Cli4J cli4J = new Cli4J(cliAdapter);
+    cli4J.addResource(BoundResource.class);
+
+    cli4J.execute("echo", "--text", "hello");
+    cli4J.execute("say", "--text", "again");
+
+    Assert.assertEquals(String.format("hello%nagain%n"), cliAdapter.output.toString());
+  }
+
+  @Test
+  public void checkedExceptionsAreWrapped() {
+    Cli4J cli4J = new Cli4J(new StringCliAdapter());
+    cli4J.addResource(BoundResource.class);
+    try {
+      cli4J.execute("broken");
+      Assert.fail("Expected a CommandException");
+    } catch (CommandException e) {
+      Assert.assertTrue(e.getCause() instanceof IOException);
+    }
+  }
+
+  static class StringCliAdapter implements CliAdapter {
+    final StringWriter output = new StringWriter();
+    private final PrintWriter writer = new PrintWriter(output, true);
+
+    @Override
+    public PrintWriter writer() {
+      return writer;
+    }
+
+    @Override
+    public String readLine(String fmt, Object... args) {
+      return null;
+    }
+
+    @Override
+    public char[] readPassword() {
+      return null;
+    }
+
+    @Override
+    public CliAdapter printf(String format, Object... args) {
+      writer.printf(format, args);
+      return this;
+    }
+
+    @Override
+    public char[] readPassword(String fmt, Object... args) {
+      return null;
+    }
+
+    @Override
+    public void flush() {
+      writer.flush();
+    }
+
+    @Override
+    public Reader reader() {
+      return new StringReader("");
+    }
+
+    @Override
+    public String readLine() {
+      return null;
+    }
+  }
+}
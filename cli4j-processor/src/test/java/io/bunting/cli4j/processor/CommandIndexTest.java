@@ -0,0 +1,59 @@
+package io.bunting.cli4j.processor;
+
+import io.bunting.cli4j.Cli4J;
+import io.bunting.cli4j.Session;
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Tests for the command index and discovery through it.
+ */
+public class CommandIndexTest {
+  static volatile boolean lazyResourceInitialized;
+
+  @Test
+  public void indexListsCommands() throws IOException {
+    String index = readIndex();
+    Assert.assertTrue(index, index.contains(
+        "lazy\tidle,sleepy\tio.bunting.cli4j.processor.LazyResource\tlazy\t"
+            + "io.bunting.cli4j.processor.LazyResource$LazyArgs\tSESSION\n"));
+    Assert.assertTrue(index, index.contains(
+        "echo\tsay\tio.bunting.cli4j.processor.BoundResource\techo\t"
+            + "io.bunting.cli4j.processor.BoundResource$EchoArgs\tINVOCATION\n"));
+  }
+
+  @Test
+  public void discoveredCommandsAreLoadedOnDispatch() {
+    CommandDispatcherTest.StringCliAdapter cliAdapter = new CommandDispatcherTest.StringCliAdapter();
+    Cli4J cli4J = new Cli4J(cliAdapter);
+    cli4J.discoverCommands();
+    Assert.assertFalse(lazyResourceInitialized);
+
+    Session session = cli4J.openSession();
+    session.execute("lazy");
+    session.execute("sleepy", "--times", "2");
+    session.close();
+    cli4J.execute("echo", "--text", "indexed");
+
+    Assert.assertTrue(lazyResourceInitialized);
+    Assert.assertEquals(String.format("lazy 1%nlazy 3%nindexed%n"), cliAdapter.output.toString());
+  }
+
+  private static String readIndex() throws IOException {
+    StringBuilder sb = new StringBuilder();
+    try (InputStream in = CommandIndexTest.class.getClassLoader().getResourceAsStream("META-INF/cli4j/commands.idx");
+         BufferedReader reader = new BufferedReader(new InputStreamReader(in, StandardCharsets.UTF_8))) {
+      String line;
+      while ((line = reader.readLine()) != null) {
+        sb.append(line).append('\n');
+      }
+    }
+    return sb.toString();
+  }
+}
@@ -0,0 +1,108 @@
+package io.bunting.cli4j.processor;
+
+import org.junit.Assert;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import javax.tools.JavaCompiler;
+import javax.tools.ToolProvider;
+import java.io.ByteArrayOutputStream;
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+
+/**
+ * Tests that an edited arg class gets a new binder, and the command index forgets an edited resource class's old
+ * commands, when the output of an earlier compilation is on the class path.
+ */
+public class IncrementalBuildTest {
+  @Rule
+  public TemporaryFolder folder = new TemporaryFolder();
+
+  @Test
+  public void binderIsRegeneratedForAnEditedClass() throws IOException {
+    File sources = folder.newFolder("src");
+    File first = folder.newFolder("first");
+    File second = folder.newFolder("second");
+    File generated = folder.newFolder("generated");
+
+    File source = new File(sources, "EditedArgs.java");
+    write(source, "public class EditedArgs {\n"
+        + "  @io.bunting.cli4j.parser.Parameter(names = \"--before\") public String before;\n"
+        + "}\n");
+    compile(first, null, source);
+    Assert.assertTrue(new File(first, "EditedArgs_Cli4jBinder.class").isFile());
+
+    write(source, "public class EditedArgs {\n"
+        + "  @io.bunting.cli4j.parser.Parameter(names = \"--before\") public String before;\n"
+        + "  @io.bunting.cli4j.parser.Parameter(names = \"--after\") public String after;\n"
+        + "}\n");
+    compile(second, generated, source, first);
+
+    File binder = new File(generated, "EditedArgs_Cli4jBinder.java");
+    Assert.assertTrue(binder.isFile());
+    Assert.assertTrue(new String(Files.readAllBytes(binder.toPath()), StandardCharsets.UTF_8).contains("after"));
+  }
+
+  @Test
+  public void indexDropsCommandsRemovedFromARecompiledClass() throws IOException {
+    File sources = folder.newFolder("src");
+    File classes = folder.newFolder("classes");
+    File kept = new File(sources, "KeptResource.java");
+    write(kept, resource("KeptResource", "kept", true));
+    File edited = new File(sources, "EditedResource.java");
+    write(edited, resource("EditedResource", "edited", true));
+    compile(classes, null, kept);
+    compile(classes, null, edited);
+    File index = new File(classes, "META-INF/cli4j/commands.idx");
+    Assert.assertTrue(read(index).contains("\nedited\t"));
+
+    write(edited, resource("EditedResource", "edited", false));
+    compile(classes, null, edited);
+
+    String entries = read(index);
+    Assert.assertFalse(entries, entries.contains("\nedited\t"));
+    Assert.assertTrue(entries, entries.contains("\nkept\t"));
+  }
+
+  /**
+   * @return the source of a resource class with a {@code name} method, which is a command if {@code command} is set.
+   */
+  private static String resource(String className, String name, boolean command) {
+    return "public class " + className + " {\n"
+        + "  public static class Args {\n"
+        + "    @io.bunting.cli4j.parser.Parameter(names = \"--value\") public String value;\n"
+        + "  }\n"
+        + (command ? "  @io.bunting.cli4j.Command(name = \"" + name + "\", description = \"\")\n" : "")
+        + "  public void " + name + "(io.bunting.cli4j.CliAdapter cliAdapter, Args args) {\n"
+        + "  }\n"
+        + "}\n";
+  }
+
+  private static String read(File file) throws IOException {
+    return new String(Files.readAllBytes(file.toPath()), StandardCharsets.UTF_8);
+  }
+
+  private static void write(File file, String text) throws IOException {
+    Files.write(file.toPath(), text.getBytes(StandardCharsets.UTF_8));
+  }
+
+  /**
+   * Compiles {@code source} into {@code output} with the processor, with {@code output} on the class path and
+   * {@code previous} added to it if given.
+   */
+  private static void compile(File output, File generated, File source, File... previous) {
+    String classPath = output.getPath() + File.pathSeparator + System.getProperty("java.class.path");
+    for (File dir : previous) {
+      classPath = dir.getPath() + File.pathSeparator + classPath;
+    }
+    File sourceOutput = generated != null ? generated : output;
+    JavaCompiler compiler = ToolProvider.getSystemJavaCompiler();
+    ByteArrayOutputStream err = new ByteArrayOutputStream();
+    int result = compiler.run(null, null, err, "-classpath", classPath, "-d", output.getPath(),
+        "-s", sourceOutput.getPath(), "-processor", Cli4jProcessor.class.getName(), source.getPath());
+    Assert.assertEquals(new String(err.toByteArray(), StandardCharsets.UTF_8), 0, result);
+  }
+}
@@ -0,0 +1,27 @@
+package io.bunting.cli4j.processor;
+
+import com.beust.jcommander.Parameter;
+import io.bunting.cli4j.CliAdapter;
+import io.bunting.cli4j.Command;
+import io.bunting.cli4j.ResourceScope;
+import io.bunting.cli4j.Scope;
+
+@ResourceScope(Scope.SESSION)
+public class LazyResource {
+  static {
+    CommandIndexTest.lazyResourceInitialized = true;
+  }
+
+  public static class LazyArgs {
+    @Parameter(names = "--times")
+    int times = 1;
+  }
+
+  private int calls;
+
+  @Command(name = "lazy", aliases = { "idle", "sleepy" })
+  public void lazy(final CliAdapter cliAdapter, final LazyArgs args) {
+    calls += args.times;
+    cliAdapter.printf("lazy %d%n", calls);
+  }
+}
@@ -0,0 +1,73 @@
+package io.bunting.cli4j.processor;
+
+import io.bunting.cli4j.parser.JCommander;
+import io.bunting.cli4j.parser.ParameterBinder;
+import io.bunting.cli4j.parser.Parameterized;
+import io.bunting.cli4j.parser.Parameters;
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Tests for the binders generated for arg classes.
+ */
+public class ParameterBinderTest {
+  @Test
+  public void binderIsGenerated() {
+    ParameterBinder binder = ParameterBinder.forClass(BoundArgs.class);
+    Assert.assertNotNull(binder);
+    Assert.assertEquals("io.bunting.cli4j.processor.BoundArgs_Cli4jBinder", binder.getClass().getName());
+    Assert.assertNotNull(ParameterBinder.forClass(BoundArgs.DelegateArgs.class));
+  }
+
+  @Test
+  public void binderDescribesMembersInReflectiveOrder() {
+    List<Parameterized> parameterizeds = Parameterized.parseArg(new BoundArgs());
+    String[] names = new String[parameterizeds.size()];
+    for (int i = 0; i < names.length; i++) {
+      names[i] = parameterizeds.get(i).getName();
+    }
+    Assert.assertEquals(Arrays.asList("files", "verbose", "groups", "properties", "delegate", "setHost"),
+        Arrays.asList(names));
+    Assert.assertEquals(String.class, parameterizeds.get(0).findFieldGenericType());
+    Assert.assertTrue(parameterizeds.get(3).isDynamicParameter());
+    Assert.assertNotNull(parameterizeds.get(4).getDelegateAnnotation());
+  }
+
+  @Test
+  public void binderSuppliesParametersAnnotation() {
+    Parameters parameters = ParameterBinder.parametersOf(BoundArgs.class);
+    Assert.assertEquals("=", parameters.separators());
+    Assert.assertEquals(Parameters.DEFAULT_OPTION_PREFIXES, parameters.optionPrefixes());
+    Assert.assertNull(ParameterBinder.parametersOf(BoundArgs.DelegateArgs.class));
+  }
+
+  @Test
+  public void parseThroughBinder() {
+    BoundArgs args = new BoundArgs();
+    new JCommander(args, "-v=3", "-groups=unit", "-Dkey=value", "--host=example.com", "--debug", "true", "a", "b");
+    Assert.assertEquals(3, args.verbose);
+    Assert.assertEquals("unit", args.groups);
+    Assert.assertEquals("value", args.properties.get("key"));
+    Assert.assertTrue(args.delegate.debug);
+    Assert.assertEquals("example.com", args.host);
+    Assert.assertEquals(Arrays.asList("a", "b"), args.files);
+  }
+
+  @Test
+  public void usageThroughBinder() {
+    StringBuilder sb = new StringBuilder();
+    new JCommander(new BoundArgs()).usage(sb);
+    Assert.assertTrue(sb.toString().contains("Level of verbosity"));
+  }
+
+  @Test
+  public void privateFieldsFallBackToReflection() {
+    Assert.assertNull(ParameterBinder.forClass(PrivateArgs.class));
+    PrivateArgs args = new PrivateArgs();
+    new JCommander(args, "--name", "cli4j");
+    Assert.assertEquals("cli4j", args.getName());
+  }
+}
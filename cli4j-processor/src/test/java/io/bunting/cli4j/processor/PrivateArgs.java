@@ -0,0 +1,12 @@
+package io.bunting.cli4j.processor;
+
+import io.bunting.cli4j.parser.Parameter;
+
+public class PrivateArgs {
+  @Parameter(names = "--name")
+  private String name;
+
+  public String getName() {
+    return name;
+  }
+}
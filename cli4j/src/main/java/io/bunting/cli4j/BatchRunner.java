@@ -0,0 +1,78 @@
+package io.bunting.cli4j;
+
+import com.beust.jcommander.Parameter;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.Reader;
+
+/**
+ * Executes a stream of command lines in a single {@link Session}. Records are read one at a time, so the input is
+ * never held in memory as a whole. Blank records and records starting with {@code #} are skipped.
+ */
+class BatchRunner {
+  /**
+   * The options of the {@code --batch} switch accepted by {@link Cli4J#execute(String...)}.
+   */
+  static class BatchArgs {
+    @Parameter(names = "--batch", required = true, description = "Read command lines from FILE, or from stdin if -.")
+    String source;
+
+    @Parameter(names = {"-0", "--null"}, description = "Command lines are separated by NUL instead of newline.")
+    boolean nulDelimited;
+
+    @Parameter(names = "--keep-going", description = "Keep executing after a command fails.")
+    boolean keepGoing;
+  }
+
+  private final Session session;
+  private final char delimiter;
+  private final boolean keepGoing;
+  private int failed;
+
+  BatchRunner(Session session, char delimiter, boolean keepGoing) {
+    this.session = session;
+    this.delimiter = delimiter;
+    this.keepGoing = keepGoing;
+  }
+
+  /**
+   * @return the number of commands that failed. Without keep going, the first failure is thrown instead.
+   */
+  int run(Reader reader) throws IOException {
+    BufferedReader in = reader instanceof BufferedReader ? (BufferedReader) reader : new BufferedReader(reader);
+    StringBuilder record = new StringBuilder();
+    int c;
+    while ((c = in.read()) != -1) {
+      if (c == delimiter) {
+        execute(record);
+        record.setLength(0);
+      } else {
+        record.append((char) c);
+      }
+    }
+    execute(record);
+    return failed;
+  }
+
+  private void execute(StringBuilder record) {
+    int end = record.length();
+    if (delimiter == '\n' && end > 0 && record.charAt(end - 1) == '\r') {
+      end--;
+    }
+    String line = record.substring(0, end);
+    String trimmed = line.trim();
+    if (trimmed.isEmpty() || trimmed.startsWith("#")) {
+      return;
+    }
+    try {
+      session.execute(CommandLineTokenizer.tokenize(line));
+    } catch (RuntimeException e) {
+      if (!keepGoing) {
+        throw e;
+      }
+      failed++;
+      session.getCliAdapter().printf("Error: %s: %s%n", line, e.getMessage() != null ? e.getMessage() : e.toString());
+    }
+  }
+}
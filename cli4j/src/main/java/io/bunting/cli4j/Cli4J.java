@@ -0,0 +1,477 @@
+package io.bunting.cli4j;
+
+import com.beust.jcommander.JCommander;
+import com.beust.jcommander.MissingCommandException;
+import jline.UnsupportedTerminal;
+import jline.console.ConsoleReader;
+
+import java.io.Closeable;
+import java.io.Console;
+import java.io.FileInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.OutputStream;
+import java.io.Reader;
+import java.nio.charset.StandardCharsets;
+import java.lang.reflect.Method;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * Dispatches command lines to the {@link Command} methods of registered resource classes.
+ *
+ * Once its resources have been added, an instance may execute commands from many threads at once. Each call to
+ * {@link #execute(String...)} parses into its own arg object, and the compiled command tree is shared read-only.
+ */
+public class Cli4J implements Closeable {
+  public static final char LINE_DELIMITER = '\n';
+  public static final char NUL_DELIMITER = '\0';
+  private static final String BATCH_SWITCH = "--batch";
+
+  private final CliAdapter cliAdapter;
+  private final List<Class<?>> resources = new ArrayList<>();
+  private final Map<String, Mapping> mappings = new LinkedHashMap<>();
+  private final ConcurrentMap<Class<?>, Object> singletons = new ConcurrentHashMap<>();
+  // immutable snapshot read by every execute, replaced under the lock when resources are added
+  private volatile CommandTree commandTree;
+  private volatile ResourceFactory resourceFactory;
+
+  public Cli4J(CliAdapter cliAdapter) {
+    this.cliAdapter = cliAdapter;
+  }
+
+  /**
+   * Creates an instance that interacts with the console, or with stdin and stdout if the JVM has no console.
+   */
+  public Cli4J() {
+    this(defaultCliAdapter());
+  }
+
+  private static CliAdapter defaultCliAdapter() {
+    Console console = System.console();
+    return console != null ? new ConsoleCliAdapter(console) : new StreamCliAdapter(System.in, System.out);
+  }
+
+  public synchronized void addResource(final Class<?> commandClass) {
+    this.resources.add(commandClass);
+    register(extractMappings(commandClass));
+  }
+
+  /**
+   * Registers every command listed in the indexes generated by the cli4j annotation processor that are visible to
+   * the context class loader. Resource and arg classes are not loaded until one of their commands is dispatched.
+   */
+  public void discoverCommands() {
+    ClassLoader classLoader = Thread.currentThread().getContextClassLoader();
+    discoverCommands(classLoader != null ? classLoader : Cli4J.class.getClassLoader());
+  }
+
+  /**
+   * Registers every command listed in the indexes generated by the cli4j annotation processor that are visible to
+   * the given class loader.
+   */
+  public synchronized void discoverCommands(final ClassLoader classLoader) {
+    List<Mapping> indexed;
+    try {
+      indexed = CommandIndex.read(classLoader);
+    } catch (IOException e) {
+      throw new CommandException("Failed to read " + CommandIndex.LOCATION, e);
+    }
+    register(indexed);
+  }
+
+  /**
+   * Adds commands, replacing those registered under the same names. Nothing is added if a name or alias of one
+   * command would be the name or alias of another.
+   */
+  private void register(final List<Mapping> added) {
+    Map<String, Mapping> mappings = new LinkedHashMap<>(this.mappings);
+    for (Mapping mapping: added) {
+      mappings.put(mapping.name, mapping);
+    }
+    CommandTree tree = new CommandTree(new ArrayList<>(mappings.values()));
+    this.mappings.clear();
+    this.mappings.putAll(mappings);
+    this.commandTree = tree;
+  }
+
+  /**
+   * Sets the factory used to create resource instances. By default resources are created with their no-argument
+   * constructor and closed at the end of their scope if they are {@link AutoCloseable}.
+   */
+  public void setResourceFactory(final ResourceFactory resourceFactory) {
+    this.resourceFactory = resourceFactory;
+  }
+
+  private List<Mapping> extractMappings(Class<?> commandClass) {
+    final List<Mapping> mappings = new ArrayList<>();
+    for (Method method: commandClass.getMethods()) {
+      if (method.isAnnotationPresent(Command.class)) {
+        Command command = method.getAnnotation(Command.class);
+        Class<?>[] parameterTypes = method.getParameterTypes();
+        if (parameterTypes.length != 2) {
+          throw new IllegalStateException("Right now, command methods MUST take two parameters -- a Console and a Args object.");
+        }
+        Mapping mapping = new Mapping(commandClass, command.name(), command.aliases(), findScope(commandClass, method),
+            method, parameterTypes[1]);
+        mappings.add(mapping);
+      }
+    }
+    return mappings;
+  }
+
+  private static Scope findScope(Class<?> commandClass, Method method) {
+    ResourceScope scope = method.getAnnotation(ResourceScope.class);
+    if (scope == null) {
+      scope = commandClass.getAnnotation(ResourceScope.class);
+    }
+    return scope != null ? scope.value() : Scope.INVOCATION;
+  }
+
+  /**
+   * @return the command tree, which is compiled whenever commands are registered, or an empty one if none were.
+   */
+  private CommandTree commandTree() {
+    CommandTree tree = this.commandTree;
+    if (tree == null) {
+      synchronized (this) {
+        tree = this.commandTree;
+        if (tree == null) {
+          tree = new CommandTree(new ArrayList<>(this.mappings.values()));
+          this.commandTree = tree;
+        }
+      }
+    }
+    return tree;
+  }
+
+  /**
+   * Opens a session in which {@link Scope#SESSION} resources are shared until it is closed.
+   */
+  public Session openSession() {
+    return openSession(this.cliAdapter);
+  }
+
+  /**
+   * Opens a session whose commands interact with the given adapter instead of the default one.
+   */
+  public Session openSession(final CliAdapter cliAdapter) {
+    return new Session(this, cliAdapter);
+  }
+
+  /**
+   * Runs an interactive shell on the terminal, reading command lines with JLine until end of input or {@code exit}.
+   */
+  public void runShell() throws IOException {
+    new Shell(this, new ConsoleReader()).run();
+  }
+
+  /**
+   * Runs an interactive shell that reads command lines from the given input and writes to the given output.
+   */
+  public void runShell(final InputStream in, final OutputStream out) throws IOException {
+    new Shell(this, new ConsoleReader(in, out, new UnsupportedTerminal())).run();
+  }
+
+  /**
+   * Executes a single command line in its own session. A command line of the form
+   * {@code --batch FILE|- [-0] [--keep-going]} instead executes every command line in the file, or on stdin for
+   * {@code -}, as with {@link #executeBatch(Reader, char, boolean)}.
+   */
+  public void execute(final String... args) {
+    if (args.length > 0 && BATCH_SWITCH.equals(args[0])) {
+      executeBatch(args);
+      return;
+    }
+    Session session = openSession();
+    try {
+      session.execute(args);
+    } finally {
+      session.close();
+    }
+  }
+
+  private void executeBatch(final String... args) {
+    BatchRunner.BatchArgs batchArgs = new BatchRunner.BatchArgs();
+    new JCommander(batchArgs).parse(args);
+    char delimiter = batchArgs.nulDelimited ? NUL_DELIMITER : LINE_DELIMITER;
+    int failed;
+    try {
+      if ("-".equals(batchArgs.source)) {
+        // stdin is left open for the caller
+        failed = executeBatch(new InputStreamReader(System.in, StandardCharsets.UTF_8), delimiter, batchArgs.keepGoing);
+      } else {
+        try (Reader reader = new InputStreamReader(new FileInputStream(batchArgs.source), StandardCharsets.UTF_8)) {
+          failed = executeBatch(reader, delimiter, batchArgs.keepGoing);
+        }
+      }
+    } catch (IOException e) {
+      throw new CommandException("Failed to read batch " + batchArgs.source, e);
+    }
+    if (failed > 0) {
+      throw new CommandException(failed + " batch " + (failed == 1 ? "command" : "commands") + " failed", null);
+    }
+  }
+
+  /**
+   * Executes every newline separated command line read from the reader, stopping at the first failure.
+   */
+  public int executeBatch(final Reader reader) throws IOException {
+    return executeBatch(reader, LINE_DELIMITER, false);
+  }
+
+  /**
+   * Executes every command line read from the reader in a single session. Command lines are separated by
+   * {@code delimiter}, normally {@link #LINE_DELIMITER} or {@link #NUL_DELIMITER}, and are tokenized with
+   * {@link CommandLineTokenizer}.
+   *
+   * @param continueOnError if true, failures are reported to the cli adapter and execution continues; otherwise the
+   *                        first failure is thrown.
+   * @return the number of command lines that failed.
+   */
+  public int executeBatch(final Reader reader, final char delimiter, final boolean continueOnError) throws IOException {
+    Session session = openSession();
+    try {
+      return new BatchRunner(session, delimiter, continueOnError).run(reader);
+    } finally {
+      session.close();
+    }
+  }
+
+  void execute(final Session session, final String... args) {
+    CommandTree tree = commandTree();
+    if (args.length > 0 && args[0].startsWith("@")) {
+      executeWithAllCommands(session, tree, args);
+      return;
+    }
+    // resolve the command first so that only its classes are reflected and instantiated
+    Mapping mapping = args.length > 0 ? tree.find(args[0]) : null;
+    if (mapping == null) {
+      throw new MissingCommandException(args.length > 0 ? "Expected a command, got " + args[0] : "Expected a command");
+    }
+    JCommander jCommander = new JCommander();
+    Object argsObject = mapping.newArgClass();
+    jCommander.addCommand(mapping.name, argsObject, mapping.aliases);
+    jCommander.parse(args);
+    invoke(session, mapping, argsObject);
+  }
+
+  /**
+   * Slow path for command lines that start with an @-file, where the command name is not known until the parser has
+   * expanded the file. Every command is registered so that the parser can find it.
+   */
+  private void executeWithAllCommands(final Session session, final CommandTree tree, final String... args) {
+    JCommander jCommander = new JCommander();
+    Map<String, Object> mappingObjects = new HashMap<>();
+    for (Mapping mapping: tree.mappings()) {
+      Object object = mapping.newArgClass();
+      jCommander.addCommand(mapping.name, object, mapping.aliases);
+      mappingObjects.put(mapping.name, object);
+    }
+    jCommander.parse(args);
+    String commandName = jCommander.getParsedCommand();
+    Mapping mapping = tree.find(commandName);
+    if (mapping == null) {
+      throw new MissingCommandException("Expected a command");
+    }
+    Object argsObject = mappingObjects.get(commandName);
+    invoke(session, mapping, argsObject);
+  }
+
+  private void invoke(final Session session, final Mapping mapping, final Object argsObject) {
+    switch (mapping.scope) {
+      case SINGLETON:
+        mapping.invoke(singleton(mapping), session.getCliAdapter(), argsObject);
+        break;
+      case SESSION:
+        Object resource = session.getResource(mapping.resourceClass());
+        if (resource == null) {
+          resource = newResource(mapping);
+          session.putResource(mapping.resourceClass(), resource);
+        }
+        mapping.invoke(resource, session.getCliAdapter(), argsObject);
+        break;
+      default:
+        Object instance = newResource(mapping);
+        try {
+          mapping.invoke(instance, session.getCliAdapter(), argsObject);
+        } finally {
+          releaseResource(instance);
+        }
+    }
+  }
+
+  private Object singleton(final Mapping mapping) {
+    Object singleton = this.singletons.get(mapping.resourceClass());
+    if (singleton == null) {
+      // only the first invocation takes the lock, so that each singleton is created exactly once
+      synchronized (this.singletons) {
+        singleton = this.singletons.get(mapping.resourceClass());
+        if (singleton == null) {
+          singleton = newResource(mapping);
+          this.singletons.put(mapping.resourceClass(), singleton);
+        }
+      }
+    }
+    return singleton;
+  }
+
+  private Object newResource(final Mapping mapping) {
+    if (this.resourceFactory != null) {
+      return this.resourceFactory.create(mapping.resourceClass());
+    }
+    return mapping.newResource();
+  }
+
+  void releaseResource(final Object resource) {
+    if (this.resourceFactory != null) {
+      this.resourceFactory.release(resource);
+    } else if (resource instanceof AutoCloseable) {
+      try {
+        ((AutoCloseable) resource).close();
+      } catch (Exception e) {
+        throw new CommandException("Failed to release resource " + resource, e);
+      }
+    }
+  }
+
+  /**
+   * Releases all of {@code resources}, even if some fail to be released. The first failure is thrown once they have
+   * all been tried, with the later ones attached as suppressed exceptions.
+   */
+  void releaseResources(final Iterable<Object> resources) {
+    RuntimeException failure = null;
+    for (Object resource: resources) {
+      try {
+        releaseResource(resource);
+      } catch (RuntimeException e) {
+        if (failure == null) {
+          failure = e;
+        } else {
+          failure.addSuppressed(e);
+        }
+      }
+    }
+    if (failure != null) {
+      throw failure;
+    }
+  }
+
+  /**
+   * Releases the {@link Scope#SINGLETON} resources created by this instance.
+   */
+  @Override
+  public void close() {
+    synchronized (this.singletons) {
+      try {
+        releaseResources(this.singletons.values());
+      } finally {
+        this.singletons.clear();
+      }
+    }
+  }
+
+  /**
+   * Binds a command name to its resource method. The method is linked into a {@link CommandInvoker} the first time
+   * the command is dispatched, so that commands which never run cost nothing beyond the method scan. Mappings read
+   * from a {@link CommandIndex} only hold class and method names until then, so their classes are not even loaded.
+   */
+  static class Mapping {
+    private final String name;
+    private final String[] aliases;
+    private final Scope scope;
+    private final ClassLoader classLoader;
+    private final String resourceClassName;
+    private final String methodName;
+    private final String argClassName;
+    // known up front when registered through addResource
+    private final Method method;
+    private final Class<?> argClass;
+    // resolved at most a few times under contention; every resolution is equivalent
+    private volatile Class<?> resourceClass;
+    private volatile CommandInvoker invoker;
+
+    public Mapping(Class<?> resourceClass, String name, String[] aliases, Scope scope, Method method,
+                   Class<?> argClass) {
+      this.resourceClass = resourceClass;
+      this.name = name;
+      this.aliases = aliases;
+      this.scope = scope;
+      this.classLoader = resourceClass.getClassLoader();
+      this.resourceClassName = resourceClass.getName();
+      this.methodName = method.getName();
+      this.argClassName = argClass.getName();
+      this.method = method;
+      this.argClass = argClass;
+    }
+
+    public Mapping(ClassLoader classLoader, String name, String[] aliases, Scope scope, String resourceClassName,
+                   String methodName, String argClassName) {
+      this.name = name;
+      this.aliases = aliases;
+      this.scope = scope;
+      this.classLoader = classLoader;
+      this.resourceClassName = resourceClassName;
+      this.methodName = methodName;
+      this.argClassName = argClassName;
+      this.method = null;
+      this.argClass = null;
+    }
+
+    public String getName() {
+      return name;
+    }
+
+    public String[] getAliases() {
+      return aliases;
+    }
+
+    Class<?> resourceClass() {
+      Class<?> resourceClass = this.resourceClass;
+      if (resourceClass == null) {
+        resourceClass = loadClass(resourceClassName);
+        this.resourceClass = resourceClass;
+      }
+      return resourceClass;
+    }
+
+    private Class<?> loadClass(String className) {
+      try {
+        return Class.forName(className, false, classLoader);
+      } catch (ClassNotFoundException e) {
+        throw new CommandException("Failed to load class " + className + " for command " + name, e);
+      }
+    }
+
+    private CommandInvoker invoker() {
+      CommandInvoker invoker = this.invoker;
+      if (invoker == null) {
+        if (method != null) {
+          invoker = CommandInvoker.bind(name, resourceClass(), method, argClass);
+        } else {
+          invoker = CommandInvoker.bind(name, resourceClass(), methodName, argClassName);
+        }
+        this.invoker = invoker;
+      }
+      return invoker;
+    }
+
+    public Object newArgClass() {
+      return invoker().newArgs();
+    }
+
+    public Object newResource() {
+      return invoker().newResource();
+    }
+
+    public void invoke(Object resource, CliAdapter cliAdapter, Object args) {
+      invoker().invoke(resource, cliAdapter, args);
+    }
+  }
+}
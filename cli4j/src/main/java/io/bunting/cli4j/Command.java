@@ -15,5 +15,6 @@ import static java.lang.annotation.RetentionPolicy.*;
 @Inherited
 public @interface Command {
   String name() default "";
+  String[] aliases() default {};
   String description() default "";
 }
@@ -0,0 +1,23 @@
+package io.bunting.cli4j;
+
+/**
+ * Invokes the {@link Command} methods of one resource class with direct calls. Implementations are generated by the
+ * cli4j annotation processor as {@code <ResourceClass>_Cli4jDispatcher}; resource classes without one are invoked
+ * through method handles instead.
+ */
+public interface CommandDispatcher {
+  /**
+   * @return a new arg object for the named command.
+   */
+  Object newArgs(String command);
+
+  /**
+   * @return a new resource instance, or null if the resource class has no accessible no-argument constructor.
+   */
+  Object newResource();
+
+  /**
+   * Calls the named command on {@code resource}.
+   */
+  void invoke(String command, Object resource, CliAdapter cliAdapter, Object args) throws Throwable;
+}
@@ -0,0 +1,11 @@
+package io.bunting.cli4j;
+
+/**
+ * Thrown when a command cannot be dispatched, or when the command method fails with a checked exception. Unchecked
+ * exceptions thrown by a command method are propagated unchanged.
+ */
+public class CommandException extends RuntimeException {
+  public CommandException(String message, Throwable cause) {
+    super(message, cause);
+  }
+}
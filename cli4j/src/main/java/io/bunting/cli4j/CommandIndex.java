@@ -0,0 +1,65 @@
+package io.bunting.cli4j;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.net.URL;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Enumeration;
+import java.util.List;
+
+/**
+ * Reads the command indexes written by the cli4j annotation processor. Each line of an index describes one command as
+ * tab separated fields:
+ *
+ * <pre>name  aliases  resource-class  method  arg-class  scope</pre>
+ *
+ * where aliases are comma separated, classes are binary names and scope is a {@link Scope} constant. Blank lines and
+ * lines starting with {@code #} are ignored.
+ */
+final class CommandIndex {
+  static final String LOCATION = "META-INF/cli4j/commands.idx";
+
+  private static final String[] NO_ALIASES = new String[0];
+
+  private CommandIndex() {
+  }
+
+  /**
+   * @return a mapping for every command in every index visible to the class loader, in class path order.
+   */
+  static List<Cli4J.Mapping> read(final ClassLoader classLoader) throws IOException {
+    List<Cli4J.Mapping> mappings = new ArrayList<>();
+    Enumeration<URL> indexes = classLoader.getResources(LOCATION);
+    while (indexes.hasMoreElements()) {
+      URL index = indexes.nextElement();
+      try (BufferedReader reader = new BufferedReader(
+          new InputStreamReader(index.openStream(), StandardCharsets.UTF_8))) {
+        String line;
+        while ((line = reader.readLine()) != null) {
+          if (!line.isEmpty() && line.charAt(0) != '#') {
+            mappings.add(parse(classLoader, index, line));
+          }
+        }
+      }
+    }
+    return mappings;
+  }
+
+  private static Cli4J.Mapping parse(final ClassLoader classLoader, final URL index, final String line)
+      throws IOException {
+    String[] fields = line.split("\t", -1);
+    if (fields.length != 6) {
+      throw new IOException("Malformed entry in " + index + ": " + line);
+    }
+    String[] aliases = fields[1].isEmpty() ? NO_ALIASES : fields[1].split(",");
+    Scope scope;
+    try {
+      scope = Scope.valueOf(fields[5]);
+    } catch (IllegalArgumentException e) {
+      throw new IOException("Unknown scope in " + index + ": " + line);
+    }
+    return new Cli4J.Mapping(classLoader, fields[0], aliases, scope, fields[2], fields[3], fields[4]);
+  }
+}
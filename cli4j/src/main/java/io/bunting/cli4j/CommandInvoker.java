@@ -0,0 +1,190 @@
+package io.bunting.cli4j;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.Constructor;
+import java.lang.reflect.Method;
+
+/**
+ * The pre-linked call path for a single command. When the annotation processor generated a {@link CommandDispatcher}
+ * for the resource class, the command is invoked through it. Otherwise the arg constructor, resource constructor and
+ * command method are each resolved to a {@link MethodHandle} once and adapted to a fixed erased signature, so that
+ * every dispatch of the command goes through the same exact invocations.
+ */
+abstract class CommandInvoker {
+  static final String DISPATCHER_SUFFIX = "_Cli4jDispatcher";
+
+  private static final MethodType FACTORY_TYPE = MethodType.methodType(Object.class);
+  private static final MethodType COMMAND_TYPE =
+      MethodType.methodType(void.class, Object.class, CliAdapter.class, Object.class);
+
+  private static final ClassValue<CommandDispatcher> DISPATCHERS = new ClassValue<CommandDispatcher>() {
+    @Override
+    protected CommandDispatcher computeValue(Class<?> type) {
+      try {
+        Class<?> dispatcherClass = Class.forName(type.getName() + DISPATCHER_SUFFIX, true, type.getClassLoader());
+        return (CommandDispatcher) dispatcherClass.newInstance();
+      } catch (ReflectiveOperationException | ClassCastException | LinkageError e) {
+        // No usable generated dispatcher; bind method handles instead
+        return null;
+      }
+    }
+  };
+
+  protected final String name;
+
+  private CommandInvoker(String name) {
+    this.name = name;
+  }
+
+  static CommandInvoker bind(String name, Class<?> resourceClass, Method method, Class<?> argClass) {
+    CommandDispatcher dispatcher = DISPATCHERS.get(resourceClass);
+    if (dispatcher != null) {
+      return new DispatcherInvoker(name, dispatcher);
+    }
+    MethodHandles.Lookup lookup = MethodHandles.lookup();
+    MethodHandle argFactory;
+    try {
+      argFactory = lookup.unreflectConstructor(findConstructor(argClass)).asType(FACTORY_TYPE);
+    } catch (NoSuchMethodException | IllegalAccessException e) {
+      throw new CommandException("Failed to bind arg class " + argClass + " for command " + name, e);
+    }
+    MethodHandle resourceFactory;
+    try {
+      resourceFactory = lookup.unreflectConstructor(findConstructor(resourceClass)).asType(FACTORY_TYPE);
+    } catch (NoSuchMethodException e) {
+      // only a problem if no ResourceFactory supplies the instances
+      resourceFactory = null;
+    } catch (IllegalAccessException e) {
+      throw new CommandException("Failed to bind resource class " + resourceClass + " for command " + name, e);
+    }
+    MethodHandle command;
+    try {
+      method.setAccessible(true);
+      command = lookup.unreflect(method).asType(COMMAND_TYPE);
+    } catch (IllegalAccessException e) {
+      throw new CommandException("Failed to bind command " + name + " on resource class " + resourceClass, e);
+    }
+    return new HandleInvoker(name, argFactory, resourceFactory, command);
+  }
+
+  /**
+   * Binds a command known only by name, as read from a {@link CommandIndex}. A generated dispatcher needs neither the
+   * method nor the arg class, so they are only looked up when falling back to method handles.
+   */
+  static CommandInvoker bind(String name, Class<?> resourceClass, String methodName, String argClassName) {
+    CommandDispatcher dispatcher = DISPATCHERS.get(resourceClass);
+    if (dispatcher != null) {
+      return new DispatcherInvoker(name, dispatcher);
+    }
+    for (Method method : resourceClass.getMethods()) {
+      Class<?>[] parameterTypes = method.getParameterTypes();
+      if (method.getName().equals(methodName) && parameterTypes.length == 2
+          && parameterTypes[1].getName().equals(argClassName)) {
+        return bind(name, resourceClass, method, parameterTypes[1]);
+      }
+    }
+    throw new CommandException("Command " + name + " refers to missing method " + resourceClass.getName() + "."
+        + methodName, null);
+  }
+
+  private static Constructor<?> findConstructor(Class<?> type) throws NoSuchMethodException {
+    Constructor<?> constructor = type.getDeclaredConstructor();
+    constructor.setAccessible(true);
+    return constructor;
+  }
+
+  abstract Object newArgs();
+
+  abstract Object newResource();
+
+  abstract void invoke(Object resource, CliAdapter cliAdapter, Object args);
+
+  protected CommandException noResourceConstructor() {
+    return new CommandException("Resource class for command " + name + " has no no-argument constructor", null);
+  }
+
+  private static final class HandleInvoker extends CommandInvoker {
+    private final MethodHandle argFactory;
+    private final MethodHandle resourceFactory;
+    private final MethodHandle command;
+
+    HandleInvoker(String name, MethodHandle argFactory, MethodHandle resourceFactory, MethodHandle command) {
+      super(name);
+      this.argFactory = argFactory;
+      this.resourceFactory = resourceFactory;
+      this.command = command;
+    }
+
+    @Override
+    Object newArgs() {
+      try {
+        return (Object) argFactory.invokeExact();
+      } catch (RuntimeException | Error e) {
+        throw e;
+      } catch (Throwable t) {
+        throw new CommandException("Failed to instantiate arg class for command " + name, t);
+      }
+    }
+
+    @Override
+    Object newResource() {
+      if (resourceFactory == null) {
+        throw noResourceConstructor();
+      }
+      try {
+        return (Object) resourceFactory.invokeExact();
+      } catch (RuntimeException | Error e) {
+        throw e;
+      } catch (Throwable t) {
+        throw new CommandException("Failed to instantiate resource class for command " + name, t);
+      }
+    }
+
+    @Override
+    void invoke(Object resource, CliAdapter cliAdapter, Object args) {
+      try {
+        command.invokeExact(resource, cliAdapter, args);
+      } catch (RuntimeException | Error e) {
+        throw e;
+      } catch (Throwable t) {
+        throw new CommandException("Command " + name + " failed", t);
+      }
+    }
+  }
+
+  private static final class DispatcherInvoker extends CommandInvoker {
+    private final CommandDispatcher dispatcher;
+
+    DispatcherInvoker(String name, CommandDispatcher dispatcher) {
+      super(name);
+      this.dispatcher = dispatcher;
+    }
+
+    @Override
+    Object newArgs() {
+      return dispatcher.newArgs(name);
+    }
+
+    @Override
+    Object newResource() {
+      Object resource = dispatcher.newResource();
+      if (resource == null) {
+        throw noResourceConstructor();
+      }
+      return resource;
+    }
+
+    @Override
+    void invoke(Object resource, CliAdapter cliAdapter, Object args) {
+      try {
+        dispatcher.invoke(name, resource, cliAdapter, args);
+      } catch (RuntimeException | Error e) {
+        throw e;
+      } catch (Throwable t) {
+        throw new CommandException("Command " + name + " failed", t);
+      }
+    }
+  }
+}
@@ -0,0 +1,70 @@
+package io.bunting.cli4j;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Splits a command line into arguments the way a POSIX shell would. Arguments are separated by unquoted whitespace.
+ * Single quotes preserve everything up to the closing quote, double quotes preserve everything except a backslash
+ * before {@code "} or {@code \}, and outside of quotes a backslash escapes the next character.
+ */
+public final class CommandLineTokenizer {
+  private CommandLineTokenizer() {
+  }
+
+  public static String[] tokenize(final String line) {
+    final List<String> tokens = new ArrayList<>();
+    final StringBuilder current = new StringBuilder();
+    // an empty quoted string is still an argument
+    boolean inToken = false;
+    int i = 0;
+    while (i < line.length()) {
+      char c = line.charAt(i);
+      if (c == '\'') {
+        int end = line.indexOf('\'', i + 1);
+        if (end < 0) {
+          throw new IllegalArgumentException("Unterminated single quote in: " + line);
+        }
+        current.append(line, i + 1, end);
+        inToken = true;
+        i = end + 1;
+      } else if (c == '"') {
+        i++;
+        while (i < line.length() && line.charAt(i) != '"') {
+          char q = line.charAt(i);
+          if (q == '\\' && i + 1 < line.length() && (line.charAt(i + 1) == '"' || line.charAt(i + 1) == '\\')) {
+            q = line.charAt(++i);
+          }
+          current.append(q);
+          i++;
+        }
+        if (i >= line.length()) {
+          throw new IllegalArgumentException("Unterminated double quote in: " + line);
+        }
+        inToken = true;
+        i++;
+      } else if (c == '\\') {
+        if (i + 1 < line.length()) {
+          current.append(line.charAt(i + 1));
+        }
+        inToken = true;
+        i += 2;
+      } else if (Character.isWhitespace(c)) {
+        if (inToken) {
+          tokens.add(current.toString());
+          current.setLength(0);
+          inToken = false;
+        }
+        i++;
+      } else {
+        current.append(c);
+        inToken = true;
+        i++;
+      }
+    }
+    if (inToken) {
+      tokens.add(current.toString());
+    }
+    return tokens.toArray(new String[tokens.size()]);
+  }
+}
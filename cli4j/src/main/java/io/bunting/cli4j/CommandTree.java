@@ -0,0 +1,50 @@
+package io.bunting.cli4j;
+
+import java.util.Collection;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * The compiled set of commands known to a {@link Cli4J} instance. It is built once from the registered resources and
+ * then shared by every invocation, so dispatching only needs to create per-invocation state.
+ */
+class CommandTree {
+  private final List<Cli4J.Mapping> mappings;
+  private final Map<String, Cli4J.Mapping> index;
+
+  /**
+   * @throws IllegalStateException if a name or alias belongs to more than one command.
+   */
+  CommandTree(final List<Cli4J.Mapping> mappings) {
+    this.mappings = Collections.unmodifiableList(mappings);
+    final Map<String, Cli4J.Mapping> index = new LinkedHashMap<>();
+    for (Cli4J.Mapping mapping: mappings) {
+      index.put(mapping.getName(), mapping);
+    }
+    for (Cli4J.Mapping mapping: mappings) {
+      for (String alias: mapping.getAliases()) {
+        Cli4J.Mapping other = index.get(alias);
+        if (other != null && other != mapping) {
+          throw new IllegalStateException("\"" + alias + "\" is an alias of command " + mapping.getName()
+              + (alias.equals(other.getName()) ? " and the name of command " : " and an alias of command ")
+              + other.getName());
+        }
+        index.put(alias, mapping);
+      }
+    }
+    this.index = Collections.unmodifiableMap(index);
+  }
+
+  /**
+   * @return the mapping registered under the given command name or alias, or null if there is none.
+   */
+  Cli4J.Mapping find(final String commandName) {
+    return this.index.get(commandName);
+  }
+
+  Collection<Cli4J.Mapping> mappings() {
+    return this.mappings;
+  }
+}
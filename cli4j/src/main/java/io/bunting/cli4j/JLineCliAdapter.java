@@ -0,0 +1,73 @@
+package io.bunting.cli4j;
+
+import jline.console.ConsoleReader;
+
+import java.io.IOError;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.PrintWriter;
+import java.io.Reader;
+
+/**
+ * A {@link CliAdapter} backed by a JLine {@link ConsoleReader}, used by the interactive shell. Like
+ * {@link java.io.Console}, I/O failures are reported as {@link IOError}.
+ */
+class JLineCliAdapter implements CliAdapter {
+  private final ConsoleReader consoleReader;
+  private final PrintWriter writer;
+
+  JLineCliAdapter(ConsoleReader consoleReader) {
+    this.consoleReader = consoleReader;
+    this.writer = new PrintWriter(consoleReader.getOutput(), true);
+  }
+
+  @Override
+  public PrintWriter writer() {
+    return writer;
+  }
+
+  @Override
+  public String readLine(String fmt, Object... args) {
+    try {
+      return consoleReader.readLine(String.format(fmt, args));
+    } catch (IOException e) {
+      throw new IOError(e);
+    }
+  }
+
+  @Override
+  public char[] readPassword() {
+    return readPassword("");
+  }
+
+  @Override
+  public CliAdapter printf(String format, Object... args) {
+    writer.printf(format, args);
+    return this;
+  }
+
+  @Override
+  public char[] readPassword(String fmt, Object... args) {
+    try {
+      String password = consoleReader.readLine(String.format(fmt, args), '\0');
+      return password != null ? password.toCharArray() : null;
+    } catch (IOException e) {
+      throw new IOError(e);
+    }
+  }
+
+  @Override
+  public void flush() {
+    writer.flush();
+  }
+
+  @Override
+  public Reader reader() {
+    return new InputStreamReader(consoleReader.getInput());
+  }
+
+  @Override
+  public String readLine() {
+    return readLine("");
+  }
+}
@@ -0,0 +1,17 @@
+package io.bunting.cli4j;
+
+/**
+ * Creates the resource instances that commands are invoked on. A factory can be installed with
+ * {@link Cli4J#setResourceFactory(ResourceFactory)} to hand out pooled or externally managed instances.
+ */
+public interface ResourceFactory {
+  /**
+   * @return an instance of the given resource class.
+   */
+  Object create(Class<?> resourceClass);
+
+  /**
+   * Called when the {@link Scope} of an instance returned by {@link #create(Class)} ends.
+   */
+  void release(Object resource);
+}
@@ -0,0 +1,17 @@
+package io.bunting.cli4j;
+
+import java.lang.annotation.Retention;
+import java.lang.annotation.Target;
+
+import static java.lang.annotation.ElementType.*;
+import static java.lang.annotation.RetentionPolicy.*;
+
+/**
+ * Sets the {@link Scope} of a resource class. When placed on a {@link Command} method it overrides the scope declared
+ * on the class for that command only.
+ */
+@Retention(RUNTIME)
+@Target({TYPE, METHOD})
+public @interface ResourceScope {
+  Scope value();
+}
@@ -0,0 +1,19 @@
+package io.bunting.cli4j;
+
+/**
+ * How long an instance of a resource class lives. See {@link ResourceScope}.
+ */
+public enum Scope {
+  /**
+   * A new instance is created for every command invocation. This is the default.
+   */
+  INVOCATION,
+  /**
+   * One instance is shared by all invocations within a {@link Session}.
+   */
+  SESSION,
+  /**
+   * One instance is shared by all invocations on the same {@link Cli4J}.
+   */
+  SINGLETON
+}
@@ -0,0 +1,48 @@
+package io.bunting.cli4j;
+
+import java.io.Closeable;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * A series of command invocations that share {@link Scope#SESSION} resources. Closing the session releases them.
+ * A session is meant to be used by one thread at a time.
+ */
+public class Session implements Closeable {
+  private final Cli4J cli4J;
+  private final CliAdapter cliAdapter;
+  private final Map<Class<?>, Object> resources = new LinkedHashMap<>();
+
+  Session(Cli4J cli4J, CliAdapter cliAdapter) {
+    this.cli4J = cli4J;
+    this.cliAdapter = cliAdapter;
+  }
+
+  /**
+   * @return the adapter that commands executed in this session interact with.
+   */
+  public CliAdapter getCliAdapter() {
+    return cliAdapter;
+  }
+
+  public void execute(final String... args) {
+    cli4J.execute(this, args);
+  }
+
+  Object getResource(Class<?> resourceClass) {
+    return resources.get(resourceClass);
+  }
+
+  void putResource(Class<?> resourceClass, Object resource) {
+    resources.put(resourceClass, resource);
+  }
+
+  @Override
+  public void close() {
+    try {
+      cli4J.releaseResources(resources.values());
+    } finally {
+      resources.clear();
+    }
+  }
+}
@@ -0,0 +1,61 @@
+package io.bunting.cli4j;
+
+import jline.console.ConsoleReader;
+
+import java.io.IOException;
+
+/**
+ * The interactive shell behind {@link Cli4J#runShell()}. Each line read from the console is tokenized with
+ * {@link CommandLineTokenizer} and executed in a single {@link Session}, so the command tree and session scoped
+ * resources stay warm for the whole run. The shell ends on end of input or on {@code exit}/{@code quit}.
+ */
+class Shell {
+  static final String DEFAULT_PROMPT = "> ";
+
+  private final Cli4J cli4J;
+  private final ConsoleReader consoleReader;
+  private final CliAdapter cliAdapter;
+
+  Shell(Cli4J cli4J, ConsoleReader consoleReader) {
+    this.cli4J = cli4J;
+    this.consoleReader = consoleReader;
+    this.cliAdapter = new JLineCliAdapter(consoleReader);
+    this.consoleReader.setPrompt(DEFAULT_PROMPT);
+  }
+
+  void run() throws IOException {
+    Session session = cli4J.openSession(cliAdapter);
+    try {
+      String line;
+      while ((line = consoleReader.readLine()) != null) {
+        String[] args;
+        try {
+          args = CommandLineTokenizer.tokenize(line);
+        } catch (IllegalArgumentException e) {
+          error(e);
+          continue;
+        }
+        if (args.length == 0) {
+          continue;
+        }
+        if (args.length == 1 && ("exit".equals(args[0]) || "quit".equals(args[0]))) {
+          break;
+        }
+        try {
+          session.execute(args);
+        } catch (RuntimeException e) {
+          // a failing command must not end the shell
+          error(e);
+        }
+        cliAdapter.flush();
+      }
+    } finally {
+      session.close();
+      consoleReader.flush();
+    }
+  }
+
+  private void error(Exception e) {
+    cliAdapter.printf("Error: %s%n", e.getMessage() != null ? e.getMessage() : e.toString());
+  }
+}
@@ -0,0 +1,73 @@
+package io.bunting.cli4j;
+
+import java.io.BufferedReader;
+import java.io.IOError;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.OutputStream;
+import java.io.PrintWriter;
+import java.io.Reader;
+
+/**
+ * A {@link CliAdapter} over plain streams, used in place of {@link ConsoleCliAdapter} when the JVM has no console,
+ * e.g. when its output is piped. Passwords are read as ordinary lines. Like {@link java.io.Console}, I/O failures are
+ * reported as {@link IOError}.
+ */
+class StreamCliAdapter implements CliAdapter {
+  private final PrintWriter writer;
+  private final BufferedReader reader;
+
+  StreamCliAdapter(InputStream in, OutputStream out) {
+    this.writer = new PrintWriter(out, true);
+    this.reader = new BufferedReader(new InputStreamReader(in));
+  }
+
+  @Override
+  public PrintWriter writer() {
+    return writer;
+  }
+
+  @Override
+  public String readLine(String fmt, Object... args) {
+    printf(fmt, args);
+    return readLine();
+  }
+
+  @Override
+  public char[] readPassword() {
+    String line = readLine();
+    return line != null ? line.toCharArray() : null;
+  }
+
+  @Override
+  public CliAdapter printf(String format, Object... args) {
+    writer.printf(format, args);
+    return this;
+  }
+
+  @Override
+  public char[] readPassword(String fmt, Object... args) {
+    printf(fmt, args);
+    return readPassword();
+  }
+
+  @Override
+  public void flush() {
+    writer.flush();
+  }
+
+  @Override
+  public Reader reader() {
+    return reader;
+  }
+
+  @Override
+  public String readLine() {
+    try {
+      return reader.readLine();
+    } catch (IOException e) {
+      throw new IOError(e);
+    }
+  }
+}
@@ -0,0 +1,38 @@
+package io.bunting.cli4j.daemon;
+
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+
+/**
+ * Forwards everything written to it as chunks of one type, for example stdout or stdin.
+ */
+class ChunkOutputStream extends OutputStream {
+  private final DataOutputStream out;
+  private final byte type;
+
+  ChunkOutputStream(DataOutputStream out, byte type) {
+    this.out = out;
+    this.type = type;
+  }
+
+  @Override
+  public void write(int b) throws IOException {
+    write(new byte[] {(byte) b}, 0, 1);
+  }
+
+  @Override
+  public void write(byte[] b, int off, int len) throws IOException {
+    while (len > 0) {
+      int n = Math.min(len, Protocol.MAX_CHUNK);
+      Protocol.write(out, type, b, off, n);
+      off += n;
+      len -= n;
+    }
+  }
+
+  @Override
+  public void flush() throws IOException {
+    out.flush();
+  }
+}
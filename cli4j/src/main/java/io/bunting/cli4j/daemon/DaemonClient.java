@@ -0,0 +1,125 @@
+package io.bunting.cli4j.daemon;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.InetAddress;
+import java.net.Socket;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.util.Map;
+
+/**
+ * A minimal client for {@link DaemonServer}. It forwards its arguments, working directory, environment and stdin to
+ * the server, copies the command's output to stdout and stderr, and exits with the command's exit code.
+ *
+ * The port is read from the {@value #PORT_PROPERTY} system property and defaults to
+ * {@link DaemonServer#DEFAULT_PORT}. The daemon's token is read from the file named by the
+ * {@value #TOKEN_FILE_PROPERTY} system property, which defaults to {@link DaemonServer#defaultTokenFile(int)}, so
+ * only the user running the daemon can use it.
+ *
+ * The working directory is forwarded, but commands run in the daemon's process: relative paths in arguments resolve
+ * against the daemon's working directory unless the command resolves them with
+ * {@link RemoteCliAdapter#getWorkingDirectory()}.
+ */
+public final class DaemonClient {
+  public static final String PORT_PROPERTY = "cli4j.daemon.port";
+  public static final String TOKEN_FILE_PROPERTY = "cli4j.daemon.tokenFile";
+
+  private DaemonClient() {
+  }
+
+  public static void main(String... args) throws IOException {
+    int port = Integer.getInteger(PORT_PROPERTY, DaemonServer.DEFAULT_PORT);
+    String tokenFile = System.getProperty(TOKEN_FILE_PROPERTY);
+    System.exit(run(port, tokenFile != null ? new File(tokenFile) : null, args, System.in, System.out, System.err));
+  }
+
+  /**
+   * Runs one command on the daemon listening on the given loopback port, with the token from its default token file.
+   *
+   * @return the exit code of the command.
+   */
+  public static int run(int port, String[] args, InputStream stdin, OutputStream stdout, OutputStream stderr)
+      throws IOException {
+    return run(port, null, args, stdin, stdout, stderr);
+  }
+
+  /**
+   * Runs one command on the daemon listening on the given loopback port.
+   *
+   * @param tokenFile the daemon's token file, or null for {@link DaemonServer#defaultTokenFile(int)}.
+   * @return the exit code of the command.
+   */
+  public static int run(int port, File tokenFile, String[] args, final InputStream stdin, OutputStream stdout,
+                        OutputStream stderr) throws IOException {
+    for (String arg: args) {
+      int length = arg.getBytes(Protocol.CHARSET).length;
+      if (length > Protocol.MAX_TEXT) {
+        throw new IOException("An argument of " + length + " bytes is longer than the " + Protocol.MAX_TEXT
+            + " bytes the daemon accepts");
+      }
+    }
+    byte[] token = readToken(tokenFile != null ? tokenFile : DaemonServer.defaultTokenFile(port));
+    try (Socket socket = new Socket(InetAddress.getLoopbackAddress(), port)) {
+      final DataOutputStream out = new DataOutputStream(new BufferedOutputStream(socket.getOutputStream()));
+      DataInputStream in = new DataInputStream(new BufferedInputStream(socket.getInputStream()));
+      Protocol.write(out, Protocol.TOKEN, token, 0, token.length);
+      for (String arg: args) {
+        Protocol.write(out, Protocol.ARGUMENT, arg);
+      }
+      Protocol.write(out, Protocol.WORKING_DIRECTORY, System.getProperty("user.dir"));
+      for (Map.Entry<String, String> entry: System.getenv().entrySet()) {
+        Protocol.write(out, Protocol.ENVIRONMENT, entry.getKey() + "=" + entry.getValue());
+      }
+      Protocol.write(out, Protocol.COMMAND, "");
+
+      Thread pump = new Thread(new Runnable() {
+        @Override
+        public void run() {
+          byte[] buffer = new byte[8192];
+          try {
+            int n;
+            while ((n = stdin.read(buffer)) != -1) {
+              Protocol.write(out, Protocol.STDIN, buffer, 0, n);
+            }
+            Protocol.write(out, Protocol.STDIN_EOF, "");
+          } catch (IOException e) {
+            // the command finished before all of stdin was sent
+          }
+        }
+      }, "cli4j-client-stdin");
+      pump.setDaemon(true);
+      pump.start();
+
+      Protocol.Chunk chunk;
+      while ((chunk = Protocol.read(in)) != null) {
+        if (chunk.type == Protocol.STDOUT) {
+          stdout.write(chunk.payload);
+          stdout.flush();
+        } else if (chunk.type == Protocol.STDERR) {
+          stderr.write(chunk.payload);
+          stderr.flush();
+        } else if (chunk.type == Protocol.EXIT) {
+          return Integer.parseInt(chunk.text());
+        } else {
+          throw new IOException("Unexpected chunk type " + (char) chunk.type);
+        }
+      }
+      throw new IOException("Connection closed before the command exited");
+    }
+  }
+
+  private static byte[] readToken(File tokenFile) throws IOException {
+    try {
+      return Files.readAllBytes(tokenFile.toPath());
+    } catch (NoSuchFileException e) {
+      throw new IOException("No daemon token in " + tokenFile + ", is the daemon running?", e);
+    }
+  }
+}
@@ -0,0 +1,324 @@
+package io.bunting.cli4j.daemon;
+
+import com.beust.jcommander.ParameterException;
+import io.bunting.cli4j.Cli4J;
+import io.bunting.cli4j.Session;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.Closeable;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.IOException;
+import java.io.PipedInputStream;
+import java.io.PipedOutputStream;
+import java.io.PrintWriter;
+import java.net.InetAddress;
+import java.net.ServerSocket;
+import java.net.Socket;
+import java.net.SocketException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.PosixFilePermissions;
+import java.security.MessageDigest;
+import java.security.SecureRandom;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Keeps a {@link Cli4J} resident and executes command lines sent by {@link DaemonClient}, so that each invocation runs
+ * on a warm JVM instead of paying for startup, class loading and reflection again. The server only listens on the
+ * loopback interface. Each connection runs one command in its own {@link Session}, on a thread of its own.
+ *
+ * Commands run with the privileges and environment of the daemon, so a client has to send the random token the
+ * server writes to its token file, which only the user running the daemon can read. The file is deleted when the
+ * server is closed.
+ *
+ * The command runs in the daemon's process, so relative paths in its arguments resolve against the daemon's working
+ * directory, not the client's. Commands that take paths should resolve them against
+ * {@link RemoteCliAdapter#getWorkingDirectory()}.
+ *
+ * Exit codes sent back to the client are 0 on success, {@link #USAGE_ERROR} when the command line could not be
+ * parsed, {@link #COMMAND_ERROR} when the command failed and {@link #AUTHENTICATION_ERROR} when the client did not
+ * send the token.
+ */
+public class DaemonServer implements Closeable {
+  public static final int DEFAULT_PORT = 2114;
+  public static final int COMMAND_ERROR = 1;
+  public static final int USAGE_ERROR = 2;
+  public static final int AUTHENTICATION_ERROR = 3;
+
+  private static final int TOKEN_BYTES = 32;
+
+  private final Cli4J cli4J;
+  private final ServerSocket serverSocket;
+  private final File tokenFile;
+  private final byte[] token;
+  private final ExecutorService executor;
+
+  /**
+   * Writes the token to {@link #defaultTokenFile(int)} for the port the server listens on.
+   *
+   * @param port the loopback port to listen on, or 0 to pick a free one.
+   */
+  public DaemonServer(Cli4J cli4J, int port) throws IOException {
+    this(cli4J, port, null);
+  }
+
+  /**
+   * @param port the loopback port to listen on, or 0 to pick a free one.
+   * @param tokenFile the file to write the token to, replacing it if it exists, or null for the default one.
+   */
+  public DaemonServer(Cli4J cli4J, int port, File tokenFile) throws IOException {
+    this.cli4J = cli4J;
+    this.serverSocket = new ServerSocket(port, 50, InetAddress.getLoopbackAddress());
+    try {
+      this.tokenFile = tokenFile != null ? tokenFile : defaultTokenFile(serverSocket.getLocalPort());
+      this.token = newToken();
+      writeToken(this.tokenFile, this.token);
+    } catch (IOException | RuntimeException e) {
+      serverSocket.close();
+      throw e;
+    }
+    this.executor = Executors.newCachedThreadPool(new DaemonThreadFactory());
+  }
+
+  /**
+   * @return the file a server listening on {@code port} writes its token to by default, in the .cli4j directory
+   * of the user's home.
+   */
+  public static File defaultTokenFile(int port) {
+    return new File(new File(System.getProperty("user.home"), ".cli4j"), "daemon-" + port + ".token");
+  }
+
+  public int getPort() {
+    return serverSocket.getLocalPort();
+  }
+
+  public File getTokenFile() {
+    return tokenFile;
+  }
+
+  /**
+   * Accepts connections on a background thread until the server is closed.
+   */
+  public void start() {
+    executor.execute(new Runnable() {
+      @Override
+      public void run() {
+        DaemonServer.this.run();
+      }
+    });
+  }
+
+  /**
+   * Accepts connections on the calling thread until the server is closed.
+   */
+  public void run() {
+    while (!serverSocket.isClosed()) {
+      final Socket socket;
+      try {
+        socket = serverSocket.accept();
+      } catch (IOException e) {
+        // closed
+        return;
+      }
+      executor.execute(new Runnable() {
+        @Override
+        public void run() {
+          handle(socket);
+        }
+      });
+    }
+  }
+
+  @Override
+  public void close() throws IOException {
+    serverSocket.close();
+    executor.shutdownNow();
+    Files.deleteIfExists(tokenFile.toPath());
+  }
+
+  private static byte[] newToken() {
+    byte[] random = new byte[TOKEN_BYTES];
+    new SecureRandom().nextBytes(random);
+    StringBuilder hex = new StringBuilder(2 * random.length);
+    for (byte b: random) {
+      hex.append(String.format("%02x", b & 0xff));
+    }
+    return hex.toString().getBytes(Protocol.CHARSET);
+  }
+
+  /**
+   * Writes the token to a new file only its owner can read, in a directory only its owner can write to if it has to
+   * be created.
+   */
+  private static void writeToken(File file, byte[] token) throws IOException {
+    Path path = file.getAbsoluteFile().toPath();
+    boolean posix = path.getFileSystem().supportedFileAttributeViews().contains("posix");
+    Path directory = path.getParent();
+    if (!Files.isDirectory(directory)) {
+      if (posix) {
+        Files.createDirectories(directory, PosixFilePermissions.asFileAttribute(
+            PosixFilePermissions.fromString("rwx------")));
+      } else {
+        Files.createDirectories(directory);
+      }
+    }
+    Files.deleteIfExists(path);
+    if (posix) {
+      Files.createFile(path, PosixFilePermissions.asFileAttribute(PosixFilePermissions.fromString("rw-------")));
+    } else {
+      Files.createFile(path);
+      File created = path.toFile();
+      if (!created.setReadable(false, false) || !created.setReadable(true, true)
+          || !created.setWritable(false, false) || !created.setWritable(true, true)) {
+        throw new IOException("Could not make " + created + " readable by its owner only");
+      }
+    }
+    Files.write(path, token);
+  }
+
+  private void handle(Socket socket) {
+    PipedInputStream stdin = null;
+    try {
+      DataInputStream in = new DataInputStream(new BufferedInputStream(socket.getInputStream()));
+      DataOutputStream out = new DataOutputStream(new BufferedOutputStream(socket.getOutputStream()));
+      // nothing is joined before the client is known
+      Protocol.Chunk chunk = Protocol.readChunk(in);
+      if (chunk == null) {
+        return;
+      }
+      if (chunk.type != Protocol.TOKEN || !MessageDigest.isEqual(token, chunk.payload)) {
+        // let the client send its command line, closing with unread data would reset the connection
+        while ((chunk = Protocol.readChunk(in)) != null && chunk.type != Protocol.COMMAND) {
+          // skip
+        }
+        Protocol.write(out, Protocol.STDERR, "Invalid daemon token" + System.lineSeparator());
+        Protocol.write(out, Protocol.EXIT, Integer.toString(AUTHENTICATION_ERROR));
+        return;
+      }
+
+      List<String> args = new ArrayList<>();
+      Map<String, String> environment = new LinkedHashMap<>();
+      String workingDirectory = null;
+      while ((chunk = Protocol.read(in)) != null && chunk.type != Protocol.COMMAND) {
+        if (chunk.type == Protocol.ARGUMENT) {
+          args.add(chunk.text());
+        } else if (chunk.type == Protocol.WORKING_DIRECTORY) {
+          workingDirectory = chunk.text();
+        } else if (chunk.type == Protocol.ENVIRONMENT) {
+          String entry = chunk.text();
+          int equals = entry.indexOf('=');
+          if (equals > 0) {
+            environment.put(entry.substring(0, equals), entry.substring(equals + 1));
+          }
+        } else {
+          throw new IOException("Unexpected chunk type " + (char) chunk.type + " before command");
+        }
+      }
+      if (chunk == null) {
+        return;
+      }
+
+      stdin = new PipedInputStream(Protocol.MAX_CHUNK);
+      final PipedOutputStream stdinPipe = new PipedOutputStream(stdin);
+      executor.execute(new StdinPump(in, stdinPipe));
+
+      RemoteCliAdapter adapter = new RemoteCliAdapter(workingDirectory, environment, stdin,
+          new ChunkOutputStream(out, Protocol.STDOUT), new ChunkOutputStream(out, Protocol.STDERR));
+      int exit = execute(adapter, args.toArray(new String[args.size()]));
+      Protocol.write(out, Protocol.EXIT, Integer.toString(exit));
+    } catch (IOException e) {
+      // the client went away, there is nobody to report to
+    } finally {
+      if (stdin != null) {
+        // a pump blocked on a full pipe, because the command did not read all of stdin, fails with "Pipe closed"
+        closeQuietly(stdin);
+      }
+      closeQuietly(socket);
+    }
+  }
+
+  private static void closeQuietly(Closeable closeable) {
+    try {
+      closeable.close();
+    } catch (IOException e) {
+      // ignore
+    }
+  }
+
+  private int execute(RemoteCliAdapter adapter, String[] args) {
+    int exit = 0;
+    Session session = cli4J.openSession(adapter);
+    try {
+      session.execute(args);
+    } catch (ParameterException e) {
+      adapter.errorWriter().println(e.getMessage());
+      exit = USAGE_ERROR;
+    } catch (RuntimeException e) {
+      PrintWriter err = adapter.errorWriter();
+      e.printStackTrace(err);
+      exit = COMMAND_ERROR;
+    } finally {
+      try {
+        session.close();
+      } finally {
+        adapter.flush();
+      }
+    }
+    return exit;
+  }
+
+  /**
+   * Copies the client's stdin chunks into the pipe the command reads from.
+   */
+  private static class StdinPump implements Runnable {
+    private final DataInputStream in;
+    private final PipedOutputStream pipe;
+
+    StdinPump(DataInputStream in, PipedOutputStream pipe) {
+      this.in = in;
+      this.pipe = pipe;
+    }
+
+    @Override
+    public void run() {
+      try {
+        Protocol.Chunk chunk;
+        while ((chunk = Protocol.read(in)) != null && chunk.type == Protocol.STDIN) {
+          pipe.write(chunk.payload);
+          pipe.flush();
+        }
+      } catch (SocketException e) {
+        // the command finished and the connection was closed
+      } catch (IOException e) {
+        // the command stopped reading
+      } finally {
+        try {
+          pipe.close();
+        } catch (IOException e) {
+          // ignore
+        }
+      }
+    }
+  }
+
+  private static class DaemonThreadFactory implements ThreadFactory {
+    private final AtomicInteger count = new AtomicInteger();
+
+    @Override
+    public Thread newThread(Runnable runnable) {
+      Thread thread = new Thread(runnable, "cli4j-daemon-" + count.incrementAndGet());
+      thread.setDaemon(true);
+      return thread;
+    }
+  }
+}
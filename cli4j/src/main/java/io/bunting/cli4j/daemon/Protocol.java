@@ -0,0 +1,134 @@
+package io.bunting.cli4j.daemon;
+
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * The wire format shared by {@link DaemonServer} and {@link DaemonClient}. Every message is a chunk made of a payload
+ * length, a one byte chunk type and the payload itself. Text payloads are UTF-8.
+ *
+ * A connection carries one command. The client first proves it may use the daemon with a {@link #TOKEN} chunk
+ * holding the contents of the daemon's token file. It then sends its arguments, working directory and environment,
+ * then {@link #COMMAND}, and then streams stdin. The server streams stdout and stderr and ends with {@link #EXIT}.
+ *
+ * A chunk holds at most {@link #MAX_CHUNK} bytes. Longer text, such as a long argument, is sent as {@link #CONTINUATION}
+ * chunks followed by a chunk of its own type holding the rest, up to {@link #MAX_TEXT} bytes in all.
+ */
+final class Protocol {
+  static final Charset CHARSET = StandardCharsets.UTF_8;
+
+  // client to server
+  static final byte TOKEN = 'T';
+  static final byte ARGUMENT = 'A';
+  static final byte WORKING_DIRECTORY = 'D';
+  static final byte ENVIRONMENT = 'E';
+  static final byte COMMAND = 'C';
+  static final byte STDIN = '0';
+  static final byte STDIN_EOF = '.';
+
+  // server to client
+  static final byte STDOUT = '1';
+  static final byte STDERR = '2';
+  static final byte EXIT = 'X';
+
+  // either way, the start of text continued by the next chunk
+  static final byte CONTINUATION = '+';
+
+  static final int MAX_CHUNK = 64 * 1024;
+  static final int MAX_TEXT = 16 * 1024 * 1024;
+
+  private Protocol() {
+  }
+
+  static final class Chunk {
+    final byte type;
+    final byte[] payload;
+
+    Chunk(byte type, byte[] payload) {
+      this.type = type;
+      this.payload = payload;
+    }
+
+    String text() {
+      return new String(payload, CHARSET);
+    }
+  }
+
+  static void write(DataOutputStream out, byte type, byte[] payload, int offset, int length) throws IOException {
+    synchronized (out) {
+      out.writeInt(length);
+      out.writeByte(type);
+      out.write(payload, offset, length);
+      out.flush();
+    }
+  }
+
+  /**
+   * Writes {@code text} as one chunk, preceded by {@link #CONTINUATION} chunks if it is longer than
+   * {@link #MAX_CHUNK}.
+   */
+  static void write(DataOutputStream out, byte type, String text) throws IOException {
+    byte[] payload = text.getBytes(CHARSET);
+    if (payload.length > MAX_TEXT) {
+      throw new IOException("Text of " + payload.length + " bytes is longer than the " + MAX_TEXT
+          + " bytes the daemon accepts");
+    }
+    synchronized (out) {
+      int offset = 0;
+      for (; payload.length - offset > MAX_CHUNK; offset += MAX_CHUNK) {
+        write(out, CONTINUATION, payload, offset, MAX_CHUNK);
+      }
+      write(out, type, payload, offset, payload.length - offset);
+    }
+  }
+
+  /**
+   * @return the next chunk, joined with the {@link #CONTINUATION} chunks before it, or null if the stream ended
+   * cleanly between chunks.
+   */
+  static Chunk read(DataInputStream in) throws IOException {
+    Chunk chunk = readChunk(in);
+    if (chunk == null || chunk.type != CONTINUATION) {
+      return chunk;
+    }
+    ByteArrayOutputStream text = new ByteArrayOutputStream();
+    while (chunk != null && chunk.type == CONTINUATION) {
+      if (text.size() + chunk.payload.length > MAX_TEXT) {
+        throw new IOException("Text longer than " + MAX_TEXT + " bytes");
+      }
+      text.write(chunk.payload);
+      chunk = readChunk(in);
+    }
+    if (chunk == null) {
+      throw new IOException("Stream ended in continued text");
+    }
+    if (text.size() + chunk.payload.length > MAX_TEXT) {
+      throw new IOException("Text longer than " + MAX_TEXT + " bytes");
+    }
+    text.write(chunk.payload);
+    return new Chunk(chunk.type, text.toByteArray());
+  }
+
+  /**
+   * @return the next chunk as it is, or null if the stream ended cleanly between chunks.
+   */
+  static Chunk readChunk(DataInputStream in) throws IOException {
+    int length;
+    try {
+      length = in.readInt();
+    } catch (java.io.EOFException e) {
+      return null;
+    }
+    if (length < 0 || length > MAX_CHUNK) {
+      throw new IOException("Invalid chunk length " + length);
+    }
+    byte type = in.readByte();
+    byte[] payload = new byte[length];
+    in.readFully(payload);
+    return new Chunk(type, payload);
+  }
+}
@@ -0,0 +1,112 @@
+package io.bunting.cli4j.daemon;
+
+import io.bunting.cli4j.CliAdapter;
+
+import java.io.BufferedReader;
+import java.io.IOError;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.PrintWriter;
+import java.io.Reader;
+import java.util.Map;
+
+/**
+ * The {@link CliAdapter} of a command run by the {@link DaemonServer}. Output goes back to the client, input comes
+ * from the client's stdin, and the client's working directory and environment are available to commands that
+ * need them. Like {@link java.io.Console}, I/O failures are reported as {@link IOError}.
+ */
+public class RemoteCliAdapter implements CliAdapter {
+  private final String workingDirectory;
+  private final Map<String, String> environment;
+  private final PrintWriter writer;
+  private final PrintWriter errorWriter;
+  private final BufferedReader reader;
+
+  RemoteCliAdapter(String workingDirectory, Map<String, String> environment, InputStream in, OutputStream out,
+                   OutputStream err) {
+    this.workingDirectory = workingDirectory;
+    this.environment = environment;
+    this.writer = new PrintWriter(new OutputStreamWriter(out, Protocol.CHARSET));
+    this.errorWriter = new PrintWriter(new OutputStreamWriter(err, Protocol.CHARSET));
+    this.reader = new BufferedReader(new InputStreamReader(in, Protocol.CHARSET));
+  }
+
+  /**
+   * The command runs in the daemon's process, whose working directory is not the client's: {@link java.io.File} and
+   * {@link java.nio.file.Path} resolve relative paths from the command line against the daemon's. Commands that take
+   * paths should resolve them against this directory instead.
+   *
+   * @return the working directory of the client that sent the command.
+   */
+  public String getWorkingDirectory() {
+    return workingDirectory;
+  }
+
+  /**
+   * @return the environment of the client that sent the command.
+   */
+  public Map<String, String> getEnvironment() {
+    return environment;
+  }
+
+  /**
+   * @return a writer for the client's stderr.
+   */
+  public PrintWriter errorWriter() {
+    return errorWriter;
+  }
+
+  @Override
+  public PrintWriter writer() {
+    return writer;
+  }
+
+  @Override
+  public String readLine(String fmt, Object... args) {
+    printf(fmt, args);
+    flush();
+    return readLine();
+  }
+
+  @Override
+  public char[] readPassword() {
+    String line = readLine();
+    return line != null ? line.toCharArray() : null;
+  }
+
+  @Override
+  public CliAdapter printf(String format, Object... args) {
+    writer.printf(format, args);
+    return this;
+  }
+
+  @Override
+  public char[] readPassword(String fmt, Object... args) {
+    printf(fmt, args);
+    flush();
+    return readPassword();
+  }
+
+  @Override
+  public void flush() {
+    writer.flush();
+    errorWriter.flush();
+  }
+
+  @Override
+  public Reader reader() {
+    return reader;
+  }
+
+  @Override
+  public String readLine() {
+    try {
+      return reader.readLine();
+    } catch (IOException e) {
+      throw new IOError(e);
+    }
+  }
+}
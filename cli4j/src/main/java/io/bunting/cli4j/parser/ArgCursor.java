@@ -0,0 +1,265 @@
+package io.bunting.cli4j.parser;
+
+import java.io.Closeable;
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.Charset;
+import java.util.AbstractList;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.Iterator;
+import java.util.List;
+import java.util.RandomAccess;
+
+/**
+ * The tokens of a command line, shared by a {@link JCommander} and the commands it hands the rest of the line to.
+ * Each raw argument is expanded into tokens (dynamic parameters, separators) when a parser first reads past it, by
+ * that parser, so a tree of nested commands parses the line in a single pass: nothing is copied for a command, and
+ * nothing is expanded twice.
+ *
+ * An argument starting with @ names a file whose lines are read as arguments, including further @ references,
+ * which are resolved against the directory of the file they appear in. Files are read line by line as tokens are
+ * needed, and tokens the parser has moved past are released, so a long @-file is never held in memory at once,
+ * unless an {@link IVariableArity2} may read them.
+ */
+final class ArgCursor implements Closeable {
+  /**
+   * Turns a raw argument into tokens, following the syntax of the parser currently reading.
+   */
+  interface Expander {
+    void expand(String arg, List<String> tokens);
+  }
+
+  /** Keeps arguments as they are, once the tokens left are main values */
+  private static final Expander RAW = new Expander() {
+    @Override
+    public void expand(String arg, List<String> tokens) {
+      tokens.add(arg);
+    }
+  };
+
+  /** Tokens are only dropped in batches, so that releasing them is cheap */
+  private static final int MIN_RELEASE = 1024;
+
+  private final String[] raw;
+  private int nextRaw;
+  private final Charset charset;
+  private final long mapThreshold;
+  /** The @-files being read, the innermost first */
+  private final Deque<AtFile> files = new ArrayDeque<>();
+  /** The tokens from index {@code base} on */
+  private final List<String> tokens;
+  private int base;
+  private int released;
+  private Expander expander;
+  private boolean handedOff;
+  private boolean pinned;
+
+  ArgCursor(String[] raw) {
+    this(raw, Charset.defaultCharset(), Long.MAX_VALUE);
+  }
+
+  /**
+   * @param charset the encoding of @-files
+   * @param mapThreshold the size from which @-files are memory-mapped
+   */
+  ArgCursor(String[] raw, Charset charset, long mapThreshold) {
+    this.raw = raw;
+    this.charset = charset;
+    this.mapThreshold = mapThreshold;
+    this.tokens = new ArrayList<>(raw.length);
+  }
+
+  /**
+   * Makes {@code expander} expand the raw arguments not read yet.
+   */
+  void setExpander(Expander expander) {
+    this.expander = expander;
+  }
+
+  Charset getCharset() {
+    return charset;
+  }
+
+  /**
+   * Tells that the tokens left will be read after parsing, by a {@link LazyMainParameter}, which
+   * closes this cursor once it has read them all. They are all main values, so the arguments not
+   * read yet are no longer split at separators or dynamic parameter names; @-files are still read.
+   */
+  void handOff() {
+    handedOff = true;
+    expander = RAW;
+  }
+
+  boolean isHandedOff() {
+    return handedOff;
+  }
+
+  /**
+   * @return whether there is a token at {@code index}, expanding raw arguments up to it.
+   */
+  boolean has(int index) {
+    while (index - base >= tokens.size()) {
+      String arg = nextArgument();
+      if (arg == null) {
+        break;
+      }
+      if (arg.startsWith("@")) {
+        open(arg.substring(1));
+      } else {
+        expander.expand(arg, tokens);
+      }
+    }
+    return index - base < tokens.size();
+  }
+
+  private String nextArgument() {
+    while (! files.isEmpty()) {
+      AtFile file = files.peek();
+      try {
+        String line = file.nextArgument();
+        if (line != null) {
+          return line;
+        }
+        files.pop().close();
+      } catch (IOException e) {
+        throw new ParameterException("Could not read file " + file.getFile() + ": " + e);
+      }
+    }
+    return nextRaw < raw.length ? raw[nextRaw++] : null;
+  }
+
+  private void open(String fileName) {
+    File file = new File(fileName);
+    if (! file.isAbsolute() && ! files.isEmpty()) {
+      file = new File(files.peek().getFile().getParentFile(), fileName);
+    }
+    AtFile atFile;
+    try {
+      atFile = AtFile.open(file, charset, mapThreshold);
+    } catch (IOException e) {
+      throw new ParameterException("Could not read file " + fileName + ": " + e);
+    }
+    for (AtFile open : files) {
+      if (open.getFile().equals(atFile.getFile())) {
+        closeQuietly(atFile);
+        StringBuilder chain = new StringBuilder(atFile.getFile().getPath());
+        for (AtFile f : files) {
+          chain.insert(0, f.getFile().getPath() + " -> ");
+          if (f == open) {
+            break;
+          }
+        }
+        throw new ParameterException("Cyclic @-file reference: " + chain);
+      }
+    }
+    files.push(atFile);
+  }
+
+  String get(int index) {
+    if (index < base) {
+      throw new IndexOutOfBoundsException("Token " + index + " was released");
+    }
+    if (!has(index)) {
+      throw new IndexOutOfBoundsException("No token at " + index + ", there are " + (base + tokens.size()));
+    }
+    return tokens.get(index - base);
+  }
+
+  void set(int index, String token) {
+    tokens.set(index - base, token);
+  }
+
+  /**
+   * Keeps every token until the cursor is discarded, for an {@link IVariableArity2}, which is
+   * given a view of the whole line.
+   */
+  void pin() {
+    pinned = true;
+  }
+
+  /**
+   * Tells that the tokens before {@code index} will not be read again, unless the cursor is pinned.
+   */
+  void release(int index) {
+    if (pinned) {
+      return;
+    }
+    released = Math.max(released, index);
+    int count = Math.min(released - base, tokens.size());
+    if (count >= MIN_RELEASE && count >= tokens.size() / 2) {
+      tokens.subList(0, count).clear();
+      base += count;
+    }
+  }
+
+  /**
+   * @return the number of tokens, which expands all the remaining raw arguments.
+   */
+  int size() {
+    has(Integer.MAX_VALUE);
+    return base + tokens.size();
+  }
+
+  /**
+   * @return a copy of the tokens from {@code index} on, which expands all the remaining raw arguments.
+   */
+  String[] toArray(int index) {
+    int size = size();
+    return tokens.subList(Math.min(Math.max(index, base), size) - base, size - base).toArray(new String[0]);
+  }
+
+  /**
+   * @return a read-only view of all the tokens. Reading a token expands the raw arguments up to it; asking for the
+   * size expands all of them.
+   */
+  List<String> view() {
+    return new View();
+  }
+
+  /**
+   * @return the tokens from {@code index} on for debugging, with the arguments not expanded yet as they are.
+   */
+  String describe(int index) {
+    StringBuilder sb = new StringBuilder();
+    for (int i = Math.max(index - base, 0); i < tokens.size(); i++) {
+      sb.append(sb.length() > 0 ? " " : "").append(tokens.get(i));
+    }
+    for (int i = nextRaw; i < raw.length; i++) {
+      sb.append(sb.length() > 0 ? " " : "").append(raw[i]);
+    }
+    return sb.toString();
+  }
+
+  /**
+   * Closes the @-files still being read, if parsing stopped before their end.
+   */
+  @Override
+  public void close() {
+    for (Iterator<AtFile> it = files.iterator(); it.hasNext(); ) {
+      closeQuietly(it.next());
+      it.remove();
+    }
+  }
+
+  private static void closeQuietly(AtFile file) {
+    try {
+      file.close();
+    } catch (IOException e) {
+      // nothing was written
+    }
+  }
+
+  private final class View extends AbstractList<String> implements RandomAccess {
+    @Override
+    public String get(int index) {
+      return ArgCursor.this.get(index);
+    }
+
+    @Override
+    public int size() {
+      return ArgCursor.this.size();
+    }
+  }
+}
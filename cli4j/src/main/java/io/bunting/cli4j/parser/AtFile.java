@@ -0,0 +1,118 @@
+package io.bunting.cli4j.parser;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedReader;
+import java.io.Closeable;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.Charset;
+import java.util.zip.GZIPInputStream;
+
+/**
+ * An @-file being read, one argument per line, skipping empty lines and lines starting with #.
+ * Lines are read as the parser needs them, so a file never has to fit in memory at once. Files at
+ * least as large as a threshold are memory-mapped rather than read through a stream, and gzip
+ * compressed files, recognized by their first bytes, are decompressed as they are read.
+ */
+final class AtFile implements Closeable {
+  private static final int GZIP_MAGIC_1 = 0x1f;
+  private static final int GZIP_MAGIC_2 = 0x8b;
+
+  private final File m_file;
+  private final BufferedReader m_reader;
+
+  private AtFile(File file, BufferedReader reader) {
+    m_file = file;
+    m_reader = reader;
+  }
+
+  /**
+   * @param mapThreshold the size from which the file is memory-mapped
+   */
+  static AtFile open(File file, Charset charset, long mapThreshold) throws IOException {
+    InputStream in;
+    long length = file.length();
+    if (length >= mapThreshold && length <= Integer.MAX_VALUE) {
+      try (FileInputStream stream = new FileInputStream(file); FileChannel channel = stream.getChannel()) {
+        // the mapping stays valid once the channel is closed
+        in = new ByteBufferInputStream(channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size()));
+      }
+    } else {
+      in = new FileInputStream(file);
+    }
+
+    try {
+      BufferedInputStream buffered = new BufferedInputStream(in);
+      buffered.mark(2);
+      boolean gzip = buffered.read() == GZIP_MAGIC_1 && buffered.read() == GZIP_MAGIC_2;
+      buffered.reset();
+      in = gzip ? new GZIPInputStream(buffered) : buffered;
+    } catch (IOException e) {
+      in.close();
+      throw e;
+    }
+    return new AtFile(file.getCanonicalFile(), new BufferedReader(new InputStreamReader(in, charset)));
+  }
+
+  /**
+   * @return the canonical file, which tells whether two references name the same file.
+   */
+  File getFile() {
+    return m_file;
+  }
+
+  /**
+   * @return the next argument, or null at the end of the file.
+   */
+  String nextArgument() throws IOException {
+    String line;
+    while ((line = m_reader.readLine()) != null) {
+      // Allow empty lines and # comments in these at files
+      if (line.length() > 0 && ! line.trim().startsWith("#")) {
+        return line;
+      }
+    }
+    return null;
+  }
+
+  @Override
+  public void close() throws IOException {
+    m_reader.close();
+  }
+
+  private static final class ByteBufferInputStream extends InputStream {
+    private final ByteBuffer m_buffer;
+
+    ByteBufferInputStream(ByteBuffer buffer) {
+      m_buffer = buffer;
+    }
+
+    @Override
+    public int read() {
+      return m_buffer.hasRemaining() ? m_buffer.get() & 0xff : -1;
+    }
+
+    @Override
+    public int read(byte[] b, int off, int len) {
+      if (len == 0) {
+        return 0;
+      }
+      if (! m_buffer.hasRemaining()) {
+        return -1;
+      }
+      int n = Math.min(len, m_buffer.remaining());
+      m_buffer.get(b, off, n);
+      return n;
+    }
+
+    @Override
+    public int available() {
+      return m_buffer.remaining();
+    }
+  }
+}
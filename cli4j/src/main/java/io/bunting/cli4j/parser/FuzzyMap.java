@@ -0,0 +1,65 @@
+package io.bunting.cli4j.parser;
+
+import io.bunting.cli4j.parser.ParameterException;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeSet;
+
+/**
+ * Helper class to perform fuzzy key look ups: looking up case insensitive or
+ * abbreviated keys. Each look up scans the map without allocating; the parser
+ * itself uses a precompiled {@link OptionIndex} instead.
+ */
+public class FuzzyMap {
+  interface IKey {
+    String getName();
+  }
+
+  public static <V> V findInMap(Map<? extends IKey, V> map, IKey name,
+      boolean caseSensitive, boolean allowAbbreviations) {
+    if (allowAbbreviations) {
+      return findAbbreviatedValue(map, name, caseSensitive);
+    } else {
+      if (caseSensitive) {
+        return map.get(name);
+      } else {
+        for (IKey c : map.keySet()) {
+          if (c.getName().equalsIgnoreCase(name.getName())) {
+            return map.get(c);
+          }
+        }
+      }
+    }
+    return null;
+  }
+
+  private static <V> V findAbbreviatedValue(Map<? extends IKey, V> map, IKey name,
+      boolean caseSensitive) {
+    String string = name.getName();
+    IKey match = null;
+    for (IKey c : map.keySet()) {
+      if (startsWith(c.getName(), string, caseSensitive)) {
+        if (match != null && !match.getName().equals(c.getName())) {
+          throw ambiguous(map, name, caseSensitive);
+        }
+        match = c;
+      }
+    }
+
+    return match != null ? map.get(match) : null;
+  }
+
+  private static boolean startsWith(String n, String prefix, boolean caseSensitive) {
+    return n.regionMatches(!caseSensitive, 0, prefix, 0, prefix.length());
+  }
+
+  private static ParameterException ambiguous(Map<? extends IKey, ?> map, IKey name, boolean caseSensitive) {
+    Set<String> matches = new TreeSet<String>();
+    for (IKey c : map.keySet()) {
+      if (startsWith(c.getName(), name.getName(), caseSensitive)) {
+        matches.add(c.getName());
+      }
+    }
+    return new ParameterException("Ambiguous option: " + name + " matches " + matches);
+  }
+}
@@ -0,0 +1,22 @@
+package io.bunting.cli4j.parser;
+
+import java.util.List;
+
+/**
+ * Like {@link IVariableArity}, but the remaining tokens are passed as a read-only view of the command line and an
+ * offset rather than copied into a new array, so that repeated variable arity options cost time proportional to the
+ * tokens they consume. Takes precedence over {@link IVariableArity} if an argument class implements both.
+ * The tokens of a line parsed with such an argument class are kept until parsing is done, rather than released as
+ * the parser moves past them.
+ */
+public interface IVariableArity2 {
+
+  /**
+   * @param optionName the name of the option to process.
+   * @param args the entire command line, which cannot be modified.
+   * @param start the index in {@code args} of the first token after the option.
+   *
+   * @return how many tokens, starting at {@code start}, belong to the option.
+   */
+  int processVariableArity(String optionName, List<String> args, int start);
+}
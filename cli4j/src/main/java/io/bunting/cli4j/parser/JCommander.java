@@ -19,23 +19,20 @@
 package io.bunting.cli4j.parser;
 
 import io.bunting.cli4j.parser.DynamicParameter;
-import io.bunting.cli4j.parser.FuzzyMap;
 import io.bunting.cli4j.parser.FuzzyMap.IKey;
 import io.bunting.cli4j.parser.IDefaultProvider;
 import io.bunting.cli4j.parser.IStringConverterFactory;
 import io.bunting.cli4j.parser.Parameters;
 import io.bunting.cli4j.parser.StringKey;
-import io.bunting.cli4j.parser.converters.IParameterSplitter;
 import io.bunting.cli4j.parser.converters.NoConverter;
 import io.bunting.cli4j.parser.converters.StringConverter;
 import io.bunting.cli4j.parser.internal.*;
 
-import java.io.BufferedReader;
-import java.io.FileReader;
-import java.io.IOException;
 import java.lang.reflect.*;
+import java.nio.charset.Charset;
 import java.util.*;
 import java.util.ResourceBundle;
+import java.util.concurrent.CopyOnWriteArrayList;
 
 /**
  * The main class for JCommander. It's responsible for parsing the object that contains
@@ -47,16 +44,38 @@ import java.util.ResourceBundle;
  * or an instance of Iterable. In the case of an array or Iterable, JCommander will collect
  * the \@Parameter annotations from all the objects passed in parameter.
  *
+ * A main parameter declared as an {@link Iterable} takes the rest of the command line, which is
+ * only read, validated and converted as the value is iterated over. That value is also
+ * {@link java.io.Closeable}: a command that stops iterating before the end must close it, to release
+ * the @-files it is reading.
+ *
  * @author Cedric Beust <cedric@beust.com>
  */
 public class JCommander {
   public static final String DEBUG_PROPERTY = "jcommander.debug";
 
+  /**
+   * Whether {@link #DEBUG_PROPERTY} is set, read once so that debug messages are only built when they are printed.
+   */
+  static final boolean DEBUG = System.getProperty(DEBUG_PROPERTY) != null;
+
   /**
    * A map to look up parameter description per option name.
    */
   private Map<IKey, ParameterDescription> m_descriptions;
 
+  /**
+   * Lookups of m_descriptions by name, compiled when first needed.
+   */
+  private OptionIndex<ParameterDescription> m_optionIndex;
+  private OptionIndex<ParameterDescription> m_caseInsensitiveOptionIndex;
+  private OptionIndex<ParameterDescription> m_dynamicOptionIndex;
+
+  /**
+   * The option prefixes of arguments that do not start with a known option.
+   */
+  private OptionSyntax m_globalOptionSyntax = OptionSyntax.DEFAULT;
+
   /**
    * The objects that contain fields annotated with @Parameter.
    */
@@ -82,6 +101,11 @@ public class JCommander {
 
   private ParameterDescription m_mainParameterDescription;
 
+  /**
+   * Converts the values of the main parameter, created when the first one is seen.
+   */
+  private ValueConverter m_mainParameterConverter;
+
   /**
    * A set of all the parameterizeds that are required. During the reflection phase,
    * this field receives all the fields that are annotated with required=true
@@ -114,6 +138,12 @@ public class JCommander {
    */
   private Map<IKey, ProgramName> aliasMap = Maps.newLinkedHashMap();
 
+  /**
+   * Lookups of aliasMap by name, compiled when first needed.
+   */
+  private OptionIndex<ProgramName> m_aliasIndex;
+  private OptionIndex<ProgramName> m_caseInsensitiveAliasIndex;
+
   /**
    * The name of the command after the parsing has run.
    */
@@ -143,15 +173,17 @@ public class JCommander {
   private boolean m_acceptUnknownOptions = false;
   private boolean m_allowParameterOverwriting = false;
 
-  private static Console m_console;
+  private static volatile Console m_console;
 
   /**
-   * The factories used to look up string converters.
+   * The factories used to look up string converters. Copy on write, since lookups
+   * happen on every parse and may run concurrently in several instances.
    */
-  private static LinkedList<IStringConverterFactory> CONVERTER_FACTORIES = Lists.newLinkedList();
+  private static final List<IStringConverterFactory> CONVERTER_FACTORIES =
+      new CopyOnWriteArrayList<IStringConverterFactory>();
 
   static {
-    CONVERTER_FACTORIES.addFirst(new DefaultConverterFactory());
+    CONVERTER_FACTORIES.add(new DefaultConverterFactory());
   };
 
   /**
@@ -198,16 +230,17 @@ public class JCommander {
   }
 
   public static Console getConsole() {
-    if (m_console == null) {
+    Console console = m_console;
+    if (console == null) {
       try {
         Method consoleMethod = System.class.getDeclaredMethod("console", new Class<?>[0]);
-        Object console = consoleMethod.invoke(null, new Object[0]);
-        m_console = new JDK6Console(console);
+        console = new JDK6Console(consoleMethod.invoke(null, new Object[0]));
       } catch (Throwable t) {
-        m_console = new DefaultConsole();
+        console = new DefaultConsole();
       }
+      m_console = console;
     }
-    return m_console;
+    return console;
   }
 
   /**
@@ -260,13 +293,50 @@ public class JCommander {
   }
 
   private void parse(boolean validate, String... args) {
-    StringBuilder sb = new StringBuilder("Parsing \"");
-    sb.append(join(args).append("\"\n  with:").append(join(m_objects.toArray())));
-    p(sb.toString());
+    ArgCursor cursor = new ArgCursor(args, m_atFileCharset, m_atFileMapThreshold);
+    if (readsWholeLine()) cursor.pin();
+    boolean parsed = false;
+    try {
+      parse(validate, cursor, 0);
+      parsed = true;
+    } finally {
+      // a lazy main parameter keeps reading the cursor after parsing
+      if (! parsed || ! cursor.isHandedOff()) cursor.close();
+    }
+  }
+
+  /**
+   * @return whether an {@link IVariableArity2} of this parser or of one of its commands may read
+   * any token of the line, which must then be kept until parsing is done.
+   */
+  private boolean readsWholeLine() {
+    if (m_descriptions == null) createDescriptions();
+    for (ParameterDescription pd : m_descriptions.values()) {
+      if (pd.getParameter().variableArity() && pd.getObject() instanceof IVariableArity2) {
+        return true;
+      }
+    }
+    for (io.bunting.cli4j.parser.JCommander jc : m_commands.values()) {
+      if (jc.readsWholeLine()) return true;
+    }
+    return false;
+  }
+
+  /**
+   * Parses the tokens of {@code args} from {@code start} on. Commands are handed the same cursor,
+   * so the tokens they parse are neither copied nor expanded twice.
+   */
+  private void parse(boolean validate, ArgCursor args, int start) {
+    if (isDebug()) {
+      StringBuilder sb = new StringBuilder("Parsing \"");
+      sb.append(args.describe(start)).append("\"\n  with:").append(join(m_objects.toArray()));
+      p(sb.toString());
+    }
 
     if (m_descriptions == null) createDescriptions();
     initializeDefaultValues();
-    parseValues(expandArgs(args), validate);
+    args.setExpander(m_expander);
+    parseValues(args, start, validate);
     if (validate) validateOptions();
   }
 
@@ -324,174 +394,116 @@ public class JCommander {
   }
 
   /**
-   * Expand the command line parameters to take @ parameters into account.
-   * When @ is encountered, the content of the file that follows is inserted
-   * in the command line.
+   * Expand the command line parameters: dynamic parameters and options with a
+   * separator other than a space are split into a name and a value. The lines of
+   * @ files are expanded the same way, see {@link ArgCursor}.
    *
-   * @param originalArgv the original command line parameters
-   * @return the new and enriched command line parameters
+   * Arguments are expanded one at a time, as the parser reaches them: the cost of
+   * each argument does not depend on how many others there are.
    */
-  private String[] expandArgs(String[] originalArgv) {
-    List<String> vResult1 = Lists.newArrayList();
-
-    //
-    // Expand @
-    //
-    for (String arg : originalArgv) {
-
-      if (arg.startsWith("@")) {
-        String fileName = arg.substring(1);
-        vResult1.addAll(readFile(fileName));
-      }
-      else {
-        List<String> expanded = expandDynamicArg(arg);
-        vResult1.addAll(expanded);
-      }
+  private final ArgCursor.Expander m_expander = new ArgCursor.Expander() {
+    @Override
+    public void expand(String arg, List<String> tokens) {
+      expandArg(arg, tokens);
     }
+  };
 
-    // Expand separators
-    //
-    List<String> vResult2 = Lists.newArrayList();
-    for (int i = 0; i < vResult1.size(); i++) {
-      String arg = vResult1.get(i);
-      String[] v1 = vResult1.toArray(new String[0]);
-      if (isOption(v1, arg)) {
-        String sep = getSeparatorFor(v1, arg);
-        if (! " ".equals(sep)) {
-          String[] sp = arg.split("[" + sep + "]", 2);
-          for (String ssp : sp) {
-            vResult2.add(ssp);
-          }
-        } else {
-          vResult2.add(arg);
-        }
-      } else {
-        vResult2.add(arg);
-      }
+  /**
+   * Adds {@code arg} to {@code result}, split into a dynamic parameter name and its value
+   * or into an option and the value following its separator.
+   */
+  private void expandArg(String arg, List<String> result) {
+    OptionIndex.Entry<ParameterDescription> dynamic =
+        getDynamicOptionIndex().findLongestPrefix(arg, arg.length() - 1);
+    if (dynamic != null) {
+      result.add(dynamic.getName());
+      addSplitAtSeparator(arg.substring(dynamic.getName().length()), result);
+    } else {
+      addSplitAtSeparator(arg, result);
     }
-
-    return vResult2.toArray(new String[vResult2.size()]);
   }
 
-  private List<String> expandDynamicArg(String arg) {
-    for (ParameterDescription pd : m_descriptions.values()) {
-      if (pd.isDynamicParameter()) {
-        for (String name : pd.getParameter().names()) {
-          if (arg.startsWith(name) && !arg.equals(name)) {
-            return Arrays.asList(name, arg.substring(name.length()));
-          }
-        }
-      }
+  private void addSplitAtSeparator(String arg, List<String> result) {
+    ParameterDescription pd = getPrefixDescriptionFor(arg);
+    // an argument that does not start with a known option is never split
+    int separator = pd != null && pd.getOptionSyntax().isOption(arg)
+        ? pd.getOptionSyntax().indexOfSeparator(arg)
+        : -1;
+    if (separator >= 0) {
+      result.add(arg.substring(0, separator));
+      result.add(arg.substring(separator + 1));
+    } else {
+      result.add(arg);
     }
-
-    return Arrays.asList(arg);
   }
 
-  private boolean isOption(String[] args, String arg) {
-    String prefixes = getOptionPrefixes(args, arg);
-    return arg.length() > 0 && prefixes.indexOf(arg.charAt(0)) >= 0;
+  private boolean isOption(String arg) {
+    ParameterDescription pd = getPrefixDescriptionFor(arg);
+
+    // Could be null if only main parameters were passed
+    return (pd != null ? pd.getOptionSyntax() : m_globalOptionSyntax).isOption(arg);
   }
 
+  /**
+   * The description of the longest option that {@code arg} starts with. A value that merely
+   * follows an option has no description of its own.
+   */
   private ParameterDescription getPrefixDescriptionFor(String arg) {
-    for (Map.Entry<IKey, ParameterDescription> es : m_descriptions.entrySet()) {
-      if (arg.startsWith(es.getKey().getName())) return es.getValue();
-    }
-
-    return null;
+    OptionIndex.Entry<ParameterDescription> entry = getOptionIndex(true).findLongestPrefix(arg, arg.length());
+    return entry != null ? entry.getValue() : null;
   }
 
   /**
-   * If arg is an option, we can look it up directly, but if it's a value,
-   * we need to find the description for the option that precedes it.
+   * The index of all the option names, compiled on first use after the descriptions were created.
    */
-  private ParameterDescription getDescriptionFor(String[] args, String arg) {
-    ParameterDescription result = getPrefixDescriptionFor(arg);
-    if (result != null) return result;
-
-    for (String a : args) {
-      ParameterDescription pd = getPrefixDescriptionFor(arg);
-      if (pd != null) result = pd;
-      if (a.equals(arg)) return result;
+  private OptionIndex<ParameterDescription> getOptionIndex(boolean caseSensitive) {
+    if (caseSensitive) {
+      if (m_optionIndex == null) m_optionIndex = new OptionIndex<>(m_descriptions, true);
+      return m_optionIndex;
     }
-
-    throw new ParameterException("Unknown parameter: " + arg);
-  }
-
-  private String getSeparatorFor(String[] args, String arg) {
-    ParameterDescription pd = getDescriptionFor(args, arg);
-
-    // Could be null if only main parameters were passed
-    if (pd != null) {
-      Parameters p = pd.getObject().getClass().getAnnotation(Parameters.class);
-      if (p != null) return p.separators();
+    if (m_caseInsensitiveOptionIndex == null) {
+      m_caseInsensitiveOptionIndex = new OptionIndex<>(m_descriptions, false);
     }
-
-    return " ";
+    return m_caseInsensitiveOptionIndex;
   }
 
-  private String getOptionPrefixes(String[] args, String arg) {
-    ParameterDescription pd = getDescriptionFor(args, arg);
-
-    // Could be null if only main parameters were passed
-    if (pd != null) {
-      Parameters p = pd.getObject().getClass()
-          .getAnnotation(Parameters.class);
-      if (p != null) return p.optionPrefixes();
+  /**
+   * The index of the dynamic parameter names, which take their key and value from the rest of the argument.
+   */
+  private OptionIndex<ParameterDescription> getDynamicOptionIndex() {
+    if (m_dynamicOptionIndex == null) {
+      Map<IKey, ParameterDescription> dynamic = Maps.newHashMap();
+      for (Map.Entry<IKey, ParameterDescription> entry : m_descriptions.entrySet()) {
+        if (entry.getValue().isDynamicParameter()) {
+          dynamic.put(entry.getKey(), entry.getValue());
+        }
+      }
+      m_dynamicOptionIndex = new OptionIndex<>(dynamic, true);
     }
-    String result = Parameters.DEFAULT_OPTION_PREFIXES;
+    return m_dynamicOptionIndex;
+  }
 
+  /**
+   * The syntax of arguments that do not start with a known option: the non-default
+   * prefixes of all the objects, or the default ones if there are none.
+   */
+  private OptionSyntax createGlobalOptionSyntax() {
     // See if any of the objects contains a @Parameters(optionPrefixes)
     StringBuilder sb = new StringBuilder();
     for (Object o : m_objects) {
-      Parameters p = o.getClass().getAnnotation(Parameters.class);
+      Parameters p = ParameterBinder.parametersOf(o.getClass());
       if (p != null && !Parameters.DEFAULT_OPTION_PREFIXES.equals(p.optionPrefixes())) {
         sb.append(p.optionPrefixes());
       }
     }
 
-    if (! Strings.isStringEmpty(sb.toString())) {
-      result = sb.toString();
-    }
-
-    return result;
-  }
-
-  /**
-   * Reads the file specified by filename and returns the file content as a string.
-   * End of lines are replaced by a space.
-   *
-   * @param fileName the command line filename
-   * @return the file content as a string.
-   */
-  private static List<String> readFile(String fileName) {
-    List<String> result = Lists.newArrayList();
-
-    try {
-      BufferedReader bufRead = new BufferedReader(new FileReader(fileName));
-
-      String line;
-
-      // Read through file one line at time. Print line # and line
-      while ((line = bufRead.readLine()) != null) {
-        // Allow empty lines and # comments in these at files
-        if (line.length() > 0 && ! line.trim().startsWith("#")) {
-            result.add(line);
-        }
-      }
-
-      bufRead.close();
-    }
-    catch (IOException e) {
-      throw new ParameterException("Could not read file " + fileName + ": " + e);
-    }
-
-    return result;
+    return sb.length() > 0 ? new OptionSyntax(sb.toString(), " ") : OptionSyntax.DEFAULT;
   }
 
   /**
    * Remove spaces at both ends and handle double quotes.
    */
-  private static String trim(String string) {
+  static String trim(String string) {
     String result = string.trim();
     if (result.startsWith("\"") && result.endsWith("\"") && result.length() > 1) {
       result = result.substring(1, result.length() - 1);
@@ -504,10 +516,27 @@ public class JCommander {
    */
   private void createDescriptions() {
     m_descriptions = Maps.newHashMap();
+    m_optionIndex = null;
+    m_caseInsensitiveOptionIndex = null;
+    m_dynamicOptionIndex = null;
 
     for (Object object : m_objects) {
       addDescription(object);
     }
+
+    // resolve @Parameters once per class rather than for every token
+    m_globalOptionSyntax = createGlobalOptionSyntax();
+    Map<Class<?>, OptionSyntax> syntaxes = Maps.newHashMap();
+    for (ParameterDescription pd : m_descriptions.values()) {
+      Class<?> cls = pd.getObject().getClass();
+      OptionSyntax syntax = syntaxes.get(cls);
+      if (syntax == null) {
+        Parameters p = ParameterBinder.parametersOf(cls);
+        syntax = p != null ? OptionSyntax.of(p) : m_globalOptionSyntax;
+        syntaxes.put(cls, syntax);
+      }
+      pd.setOptionSyntax(syntax);
+    }
   }
 
   private void addDescription(Object object) {
@@ -533,6 +562,7 @@ public class JCommander {
           m_mainParameterAnnotation = p;
           m_mainParameterDescription =
               new ParameterDescription(object, p, parameterized, m_bundle, this);
+          m_mainParameterConverter = null;
         } else {
           ParameterDescription pd =
               new ParameterDescription(object, p, parameterized, m_bundle, this);
@@ -653,6 +683,7 @@ public class JCommander {
       if (def != null) {
         p("Initializing " + optionName + " with default value:" + def);
         pd.addValue(def, true /* default */);
+        pd.flushPrimitiveValues();
         return;
       }
     }
@@ -661,22 +692,26 @@ public class JCommander {
   /**
    * Main method that parses the values and initializes the fields accordingly.
    */
-  private void parseValues(String[] args, boolean validate) {
+  private void parseValues(ArgCursor args, int start, boolean validate) {
     // This boolean becomes true if we encounter a command, which indicates we need
     // to stop parsing (the parsing of the command will be done in a sub JCommander
     // object)
     boolean commandParsed = false;
-    int i = 0;
+    int i = start;
     boolean isDashDash = false; // once we encounter --, everything goes into the main parameter
-    while (i < args.length && ! commandParsed) {
-      String arg = args[i];
+    while (args.has(i) && ! commandParsed) {
+      args.release(i);
+      String arg = args.get(i);
       String a = trim(arg);
-      args[i] = a;
-      p("Parsing arg: " + a);
+      args.set(i, a);
+      if (isDebug()) {
+        p("Parsing arg: " + a);
+      }
 
       io.bunting.cli4j.parser.JCommander jc = findCommandByAlias(arg);
       int increment = 1;
-      if (! isDashDash && ! "--".equals(a) && isOption(args, a) && jc == null) {
+      if (! isDashDash && ! "--".equals(a) && isOption(a) && jc == null
+          && ! ("-".equals(a) && isLazyMainParameter())) {
         //
         // Option
         //
@@ -721,8 +756,8 @@ public class JCommander {
           if (m_acceptUnknownOptions) {
             m_unknownArgs.add(arg);
             i++;
-            while (i < args.length && ! isOption(args, args[i])) {
-              m_unknownArgs.add(args[i++]);
+            while (args.has(i) && ! isOption(args.get(i))) {
+              m_unknownArgs.add(args.get(i++));
             }
             increment = 0;
           } else {
@@ -737,9 +772,28 @@ public class JCommander {
         if (! Strings.isStringEmpty(arg)) {
           if ("--".equals(arg)) {
               isDashDash = true;
-              a = trim(args[++i]);
+              a = trim(args.get(++i));
+          }
+          if (m_commands.isEmpty() && isLazyMainParameter()) {
+            //
+            // Lazy main parameter, which takes the rest of the command line once it's iterated over
+            //
+            m_mainParameter.set(m_mainParameterObject, new LazyMainParameter(args, a, i + 1,
+                m_mainParameterDescription, getMainParameterConverter()));
+            m_mainParameterDescription.setAssigned(true);
+            args.handOff();
+            break;
+          }
+          else if (m_commands.isEmpty() && m_mainParameterDescription != null
+              && m_mainParameterDescription.getValueConverter().getPrimitiveKind() != null) {
+            //
+            // Primitive array or list, filled without boxing
+            //
+            m_mainParameterDescription.validateParameter("Default", a);
+            m_mainParameterDescription.addPrimitiveValues("[Main class]", a, false);
+            m_mainParameterDescription.setAssigned(true);
           }
-          if (m_commands.isEmpty()) {
+          else if (m_commands.isEmpty()) {
             //
             // Regular (non-command) parsing
             //
@@ -747,17 +801,12 @@ public class JCommander {
             String value = a; // If there's a non-quoted version, prefer that one
             Object convertedValue = value;
 
-            if (m_mainParameter.getGenericType() instanceof ParameterizedType) {
-              ParameterizedType p = (ParameterizedType) m_mainParameter.getGenericType();
-              Type cls = p.getActualTypeArguments()[0];
-              if (cls instanceof Class) {
-                convertedValue = convertValue(m_mainParameter, (Class) cls, value);
-              }
+            ValueConverter converter = getMainParameterConverter();
+            if (converter != null) {
+              convertedValue = converter.convert(value);
             }
 
-            ParameterDescription.validateParameter(m_mainParameterDescription,
-                m_mainParameterAnnotation.validateWith(),
-                "Default", value);
+            m_mainParameterDescription.validateParameter("Default", value);
 
             m_mainParameterDescription.setAssigned(true);
             mp.add(convertedValue);
@@ -775,7 +824,7 @@ public class JCommander {
                 // Found a valid command, ask it to parse the remainder of the arguments.
                 // Setting the boolean commandParsed to true will force the current
                 // loop to end.
-                jc.parse(subArray(args, i + 1));
+                jc.parse(true /* validate */, args, i + 1);
                 commandParsed = true;
             }
           }
@@ -786,55 +835,69 @@ public class JCommander {
 
     // Mark the parameter descriptions held in m_fields as assigned
     for (ParameterDescription parameterDescription : m_descriptions.values()) {
+      parameterDescription.flushPrimitiveValues();
       if (parameterDescription.isAssigned()) {
         m_fields.get(parameterDescription.getParameterized()).setAssigned(true);
       }
     }
+    if (m_mainParameterDescription != null) {
+      m_mainParameterDescription.flushPrimitiveValues();
+    }
 
   }
 
-  private class DefaultVariableArity implements IVariableArity {
+  private class DefaultVariableArity implements IVariableArity2 {
 
     @Override
-    public int processVariableArity(String optionName, String[] options) {
-        int i = 0;
-        while (i < options.length && !isOption(options, options[i])) {
+    public int processVariableArity(String optionName, List<String> args, int start) {
+        int i = start;
+        while (i < args.size() && !isOption(args.get(i))) {
           i++;
         }
-        return i;
+        return i - start;
+    }
+
+    /**
+     * Same as above, without expanding the tokens past the last value.
+     */
+    int processVariableArity(ArgCursor args, int start) {
+        int i = start;
+        while (args.has(i) && !isOption(args.get(i))) {
+          i++;
+        }
+        return i - start;
     }
   }
-  private final IVariableArity DEFAULT_VARIABLE_ARITY = new DefaultVariableArity();
+  private final DefaultVariableArity DEFAULT_VARIABLE_ARITY = new DefaultVariableArity();
 
   private int m_verbose = 0;
 
   private boolean m_caseSensitiveOptions = true;
+  private Charset m_atFileCharset = Charset.defaultCharset();
+  private long m_atFileMapThreshold = Long.MAX_VALUE;
   private boolean m_allowAbbreviatedOptions = false;
 
   /**
    * @return the number of options that were processed.
    */
-  private int processVariableArity(String[] args, int index, ParameterDescription pd) {
+  private int processVariableArity(ArgCursor args, int index, ParameterDescription pd) {
     Object arg = pd.getObject();
-    IVariableArity va;
-    if (! (arg instanceof IVariableArity)) {
-        va = DEFAULT_VARIABLE_ARITY;
+    String optionName = pd.getParameter().names()[0];
+    int arity;
+    if (arg instanceof IVariableArity2) {
+      arity = ((IVariableArity2) arg).processVariableArity(optionName, args.view(), index + 1);
+    } else if (arg instanceof IVariableArity) {
+      // the original interface only sees the tokens after the option, which costs a copy
+      arity = ((IVariableArity) arg).processVariableArity(optionName, args.toArray(index + 1));
     } else {
-        va = (IVariableArity) arg;
-    }
-
-    List<String> currentArgs = Lists.newArrayList();
-    for (int j = index + 1; j < args.length; j++) {
-      currentArgs.add(args[j]);
+      arity = DEFAULT_VARIABLE_ARITY.processVariableArity(args, index + 1);
     }
-    int arity = va.processVariableArity(pd.getParameter().names()[0],
-        currentArgs.toArray(new String[0]));
 
     int result = processFixedArity(args, index, pd, List.class, arity);
     return result;
   }
 
-  private int processFixedArity(String[] args, int index, ParameterDescription pd,
+  private int processFixedArity(ArgCursor args, int index, ParameterDescription pd,
       Class<?> fieldType) {
     // Regular parameter, use the arity to tell use how many values
     // we need to consume
@@ -844,22 +907,22 @@ public class JCommander {
     return processFixedArity(args, index, pd, fieldType, n);
   }
 
-  private int processFixedArity(String[] args, int originalIndex, ParameterDescription pd,
+  private int processFixedArity(ArgCursor args, int originalIndex, ParameterDescription pd,
                                 Class<?> fieldType, int arity) {
     int index = originalIndex;
-    String arg = args[index];
+    String arg = args.get(index);
     // Special case for boolean parameters of arity 0
     if (arity == 0 &&
         (Boolean.class.isAssignableFrom(fieldType)
             || boolean.class.isAssignableFrom(fieldType))) {
       pd.addValue("true");
       m_requiredFields.remove(pd.getParameterized());
-    } else if (index < args.length - 1) {
-      int offset = "--".equals(args[index + 1]) ? 1 : 0;
+    } else if (args.has(index + 1)) {
+      int offset = "--".equals(args.get(index + 1)) ? 1 : 0;
 
-      if (index + arity < args.length) {
+      if (args.has(index + arity)) {
         for (int j = 1; j <= arity; j++) {
-          pd.addValue(trim(args[index + j + offset]));
+          pd.addValue(trim(args.get(index + j + offset)));
           m_requiredFields.remove(pd.getParameterized());
         }
         index += arity + offset;
@@ -882,12 +945,27 @@ public class JCommander {
     return getConsole().readPassword(echoInput);
   }
 
-  private String[] subArray(String[] args, int index) {
-    int l = args.length - index;
-    String[] result = new String[l];
-    System.arraycopy(args, index, result, 0, l);
+  /**
+   * @return whether the main parameter is an {@link Iterable}, see {@link LazyMainParameter}.
+   */
+  private boolean isLazyMainParameter() {
+    return m_mainParameter != null && m_mainParameter.getType() == Iterable.class;
+  }
 
-    return result;
+  /**
+   * @return the converter of the elements of the main parameter, or null if its element type is
+   * unknown and values are kept as they are.
+   */
+  private ValueConverter getMainParameterConverter() {
+    if (m_mainParameterConverter == null
+        && m_mainParameter.getGenericType() instanceof ParameterizedType) {
+      ParameterizedType p = (ParameterizedType) m_mainParameter.getGenericType();
+      Type cls = p.getActualTypeArguments()[0];
+      if (cls instanceof Class) {
+        m_mainParameterConverter = newValueConverter(m_mainParameter, (Class) cls);
+      }
+    }
+    return m_mainParameterConverter;
   }
 
   /**
@@ -991,7 +1069,7 @@ public class JCommander {
     }
 
     Object arg = jc.getObjects().get(0);
-    Parameters p = arg.getClass().getAnnotation(Parameters.class);
+    Parameters p = ParameterBinder.parametersOf(arg.getClass());
     ResourceBundle bundle = null;
     String result = null;
     if (p != null) {
@@ -1094,9 +1172,10 @@ public class JCommander {
                 + "value");
       }
       if (def != null) {
-        String displayedDef = Strings.isStringEmpty(def.toString())
+        String shownDef = toDisplayString(def);
+        String displayedDef = Strings.isStringEmpty(shownDef)
             ? "<empty string>"
-            : def.toString();
+            : shownDef;
         out.append("\n" + s(indentCount + 1))
             .append("Default: " + (parameter.password()?"********" : displayedDef));
       }
@@ -1117,7 +1196,7 @@ public class JCommander {
       // and its description
       for (Map.Entry<ProgramName, io.bunting.cli4j.parser.JCommander> commands : m_commands.entrySet()) {
         Object arg = commands.getValue().getObjects().get(0);
-        Parameters p = arg.getClass().getAnnotation(Parameters.class);
+        Parameters p = ParameterBinder.parametersOf(arg.getClass());
         if (!p.hidden()) {
           ProgramName progName = commands.getKey();
           String dispName = progName.getDisplayName();
@@ -1147,6 +1226,16 @@ public class JCommander {
     return m_columnSize;
   }
 
+  /**
+   * @return how usage() shows a default value, listing the elements of primitive arrays.
+   */
+  private static String toDisplayString(Object value) {
+    if (value instanceof int[]) return Arrays.toString((int[]) value);
+    if (value instanceof long[]) return Arrays.toString((long[]) value);
+    if (value instanceof double[]) return Arrays.toString((double[]) value);
+    return value.toString();
+  }
+
   private void wrapDescription(StringBuilder out, int indent, String description) {
     int max = getColumnSize();
     String[] words = description.split(" ");
@@ -1181,8 +1270,12 @@ public class JCommander {
     return m_mainParameterDescription;
   }
 
+  private boolean isDebug() {
+    return m_verbose > 0 || DEBUG;
+  }
+
   private void p(String string) {
-    if (m_verbose > 0 || System.getProperty(io.bunting.cli4j.parser.JCommander.DEBUG_PROPERTY) != null) {
+    if (isDebug()) {
       getConsole().println("[JCommander] " + string);
     }
   }
@@ -1199,7 +1292,7 @@ public class JCommander {
   }
 
   public void addConverterFactory(IStringConverterFactory converterFactory) {
-    CONVERTER_FACTORIES.addFirst(converterFactory);
+    CONVERTER_FACTORIES.add(0, converterFactory);
   }
 
   public <T> Class<? extends IStringConverter<T>> findConverter(Class<T> cls) {
@@ -1212,7 +1305,7 @@ public class JCommander {
   }
 
   public Object convertValue(ParameterDescription pd, String value) {
-    return convertValue(pd.getParameterized(), pd.getParameterized().getType(), value);
+    return pd.getValueConverter().convert(value);
   }
 
   /**
@@ -1221,10 +1314,30 @@ public class JCommander {
    */
   public Object convertValue(Parameterized parameterized, Class type,
       String value) {
+    return newValueConverter(parameterized, type).convert(value);
+  }
+
+  /**
+   * Resolves the converter of {@code parameterized}, from its annotation or else from the
+   * converter factories, along with its list converter and splitter if it is a list.
+   *
+   * @param type The type of the actual parameter
+   */
+  ValueConverter newValueConverter(Parameterized parameterized, Class type) {
     Parameter annotation = parameterized.getParameter();
 
     // Do nothing if it's a @DynamicParameter
-    if (annotation == null) return value;
+    if (annotation == null) return ValueConverter.IDENTITY;
+
+    String[] names = annotation.names();
+    String optionName = names.length > 0 ? names[0] : "[Main class]";
+    PrimitiveKind primitiveKind = PrimitiveKind.of(type);
+    if (primitiveKind != null) {
+      // the values of the main parameter are not split, as with lists
+      return new ValueConverter(optionName, primitiveKind,
+          annotation.converter() != NoConverter.class ? annotation.converter() : null,
+          names.length > 0 ? annotation.splitter() : null, annotation.cacheConverters());
+    }
 
     Class<? extends IStringConverter<?>> converterClass = annotation.converter();
     boolean listConverterWasSpecified = annotation.listConverter() != NoConverter.class;
@@ -1252,96 +1365,15 @@ public class JCommander {
       }
     }
 
-    IStringConverter<?> converter;
-    Object result = null;
-    try {
-      String[] names = annotation.names();
-      String optionName = names.length > 0 ? names[0] : "[Main class]";
-      if (converterClass != null && converterClass.isEnum()) {
-        try {
-          result = Enum.valueOf((Class<? extends Enum>) converterClass, value);
-        } catch (IllegalArgumentException e) {
-            try {
-                result = Enum.valueOf((Class<? extends Enum>) converterClass, value.toUpperCase());
-            } catch (IllegalArgumentException ex) {
-                throw new ParameterException("Invalid value for " + optionName + " parameter. Allowed values:" +
-                        EnumSet.allOf((Class<? extends Enum>) converterClass));
-            }
-        } catch (Exception e) {
-          throw new ParameterException("Invalid value for " + optionName + " parameter. Allowed values:" +
-                      EnumSet.allOf((Class<? extends Enum>) converterClass));
-        }
-      } else {
-        converter = instantiateConverter(optionName, converterClass);
-        if (type.isAssignableFrom(List.class)
-              && parameterized.getGenericType() instanceof ParameterizedType) {
-
-          // The field is a List
-          if (listConverterWasSpecified) {
-            // If a list converter was specified, pass the value to it
-            // for direct conversion
-            IStringConverter<?> listConverter =
-                instantiateConverter(optionName, annotation.listConverter());
-            result = listConverter.convert(value);
-          } else {
-            // No list converter: use the single value converter and pass each
-            // parsed value to it individually
-            result = convertToList(value, converter, annotation.splitter());
-          }
-        } else {
-          result = converter.convert(value);
-        }
-      }
-    } catch (InstantiationException e) {
-      throw new ParameterException(e);
-    } catch (IllegalAccessException e) {
-      throw new ParameterException(e);
-    } catch (InvocationTargetException e) {
-      throw new ParameterException(e);
-    }
-
-    return result;
-  }
-
-  /**
-   * Use the splitter to split the value into multiple values and then convert
-   * each of them individually.
-   */
-  private Object convertToList(String value, IStringConverter<?> converter,
-      Class<? extends IParameterSplitter> splitterClass)
-          throws InstantiationException, IllegalAccessException {
-    IParameterSplitter splitter = splitterClass.newInstance();
-    List<Object> result = Lists.newArrayList();
-    for (String param : splitter.split(value)) {
-      result.add(converter.convert(param));
-    }
-    return result;
-  }
-
-  private IStringConverter<?> instantiateConverter(String optionName,
-      Class<? extends IStringConverter<?>> converterClass)
-      throws IllegalArgumentException, InstantiationException, IllegalAccessException,
-      InvocationTargetException {
-    Constructor<IStringConverter<?>> ctor = null;
-    Constructor<IStringConverter<?>> stringCtor = null;
-    Constructor<IStringConverter<?>>[] ctors
-        = (Constructor<IStringConverter<?>>[]) converterClass.getDeclaredConstructors();
-    for (Constructor<IStringConverter<?>> c : ctors) {
-      Class<?>[] types = c.getParameterTypes();
-      if (types.length == 1 && types[0].equals(String.class)) {
-        stringCtor = c;
-      } else if (types.length == 0) {
-        ctor = c;
-      }
+    if (converterClass != null && converterClass.isEnum()) {
+      return new ValueConverter(optionName, converterClass, null, null, null, false);
     }
-
-    IStringConverter<?> result = stringCtor != null
-        ? stringCtor.newInstance(optionName)
-        : (ctor != null
-            ? ctor.newInstance()
-            : null);
-
-    return result;
+    boolean isList = type.isAssignableFrom(List.class)
+        && parameterized.getGenericType() instanceof ParameterizedType;
+    return new ValueConverter(optionName, null, converterClass,
+        isList && listConverterWasSpecified ? annotation.listConverter() : null,
+        isList && ! listConverterWasSpecified ? annotation.splitter() : null,
+        annotation.cacheConverters());
   }
 
   /**
@@ -1352,7 +1384,7 @@ public class JCommander {
   }
 
   public void addCommand(Object object) {
-    Parameters p = object.getClass().getAnnotation(Parameters.class);
+    Parameters p = ParameterBinder.parametersOf(object.getClass());
     if (p != null && p.commandNames().length > 0) {
       for (String commandName : p.commandNames()) {
         addCommand(commandName, object);
@@ -1373,6 +1405,8 @@ public class JCommander {
     jc.setAcceptUnknownOptions(m_acceptUnknownOptions);
     ProgramName progName = jc.m_programName;
     m_commands.put(progName, jc);
+    m_aliasIndex = null;
+    m_caseInsensitiveAliasIndex = null;
 
     /*
     * Register aliases
@@ -1442,39 +1476,35 @@ public class JCommander {
   }
 
   private ParameterDescription findParameterDescription(String arg) {
-    return FuzzyMap.findInMap(m_descriptions, new StringKey(arg), m_caseSensitiveOptions,
-        m_allowAbbreviatedOptions);
-  }
-
-  private io.bunting.cli4j.parser.JCommander findCommand(ProgramName name) {
-    return FuzzyMap.findInMap(m_commands, name,
-        m_caseSensitiveOptions, m_allowAbbreviatedOptions);
-//    if (! m_caseSensitiveOptions) {
-//      return m_commands.get(name);
-//    } else {
-//      for (ProgramName c : m_commands.keySet()) {
-//        if (c.getName().equalsIgnoreCase(name.getName())) {
-//          return m_commands.get(c);
-//        }
-//      }
-//    }
-//    return null;
+    OptionIndex<ParameterDescription> index = getOptionIndex(m_caseSensitiveOptions);
+    return m_allowAbbreviatedOptions ? index.findAbbreviated(arg) : index.find(arg);
   }
 
   private ProgramName findProgramName(String name) {
-    return FuzzyMap.findInMap(aliasMap, new StringKey(name),
-        m_caseSensitiveOptions, m_allowAbbreviatedOptions);
+    OptionIndex<ProgramName> index = getAliasIndex(m_caseSensitiveOptions);
+    return m_allowAbbreviatedOptions ? index.findAbbreviated(name) : index.find(name);
+  }
+
+  /**
+   * The index of the command names and aliases, compiled on first use after the last command was added.
+   */
+  private OptionIndex<ProgramName> getAliasIndex(boolean caseSensitive) {
+    if (caseSensitive) {
+      if (m_aliasIndex == null) m_aliasIndex = new OptionIndex<>(aliasMap, true);
+      return m_aliasIndex;
+    }
+    if (m_caseInsensitiveAliasIndex == null) {
+      m_caseInsensitiveAliasIndex = new OptionIndex<>(aliasMap, false);
+    }
+    return m_caseInsensitiveAliasIndex;
   }
 
-  /*
-  * Reverse lookup JCommand object by command's name or its alias
-  */
   private io.bunting.cli4j.parser.JCommander findCommandByAlias(String commandOrAlias) {
     ProgramName progName = findProgramName(commandOrAlias);
     if (progName == null) {
       return null;
     }
-    io.bunting.cli4j.parser.JCommander jc = findCommand(progName);
+    io.bunting.cli4j.parser.JCommander jc = m_commands.get(progName);
     if (jc == null) {
       throw new IllegalStateException(
               "There appears to be inconsistency in the internal command database. " +
@@ -1557,6 +1587,21 @@ public class JCommander {
     m_verbose = verbose;
   }
 
+  /**
+   * Sets the encoding of @ files, the platform's default unless set.
+   */
+  public void setAtFileCharset(Charset charset) {
+    m_atFileCharset = charset;
+  }
+
+  /**
+   * Makes @ files of at least {@code bytes} bytes be memory-mapped rather than read
+   * through a stream. They are never mapped unless this is set.
+   */
+  public void setAtFileMemoryMapThreshold(long bytes) {
+    m_atFileMapThreshold = bytes;
+  }
+
   public void setCaseSensitiveOptions(boolean b) {
     m_caseSensitiveOptions = b;
   }
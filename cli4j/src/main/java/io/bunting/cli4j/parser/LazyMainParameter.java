@@ -0,0 +1,145 @@
+package io.bunting.cli4j.parser;
+
+import java.io.BufferedReader;
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+
+/**
+ * The value of a main parameter declared as an {@link Iterable}: the rest of the command line from
+ * the first main value on, read, validated and converted only as it is iterated over, so that a
+ * command can start working on millions of values without holding them. Options must come before
+ * the first main value, since everything after it is a main value. A value of {@code -} stands for
+ * the lines of the standard input.
+ *
+ * Errors in the values are thrown by {@link Iterator#next()}, and the values can only be iterated
+ * over once. The @-files being read are closed once the values have all been read or one of them
+ * fails; a command that stops iterating earlier has to {@link #close()} the value.
+ */
+final class LazyMainParameter implements Iterable<Object>, Closeable {
+  private final ArgCursor m_args;
+  private final String m_first;
+  private final int m_start;
+  private final ParameterDescription m_description;
+  /** Null if values are passed as they are */
+  private final ValueConverter m_converter;
+  private boolean m_iterated;
+  private boolean m_closed;
+
+  /**
+   * @param first the first main value, already read
+   * @param start the index of the token that follows it
+   */
+  LazyMainParameter(ArgCursor args, String first, int start, ParameterDescription description,
+      ValueConverter converter) {
+    m_args = args;
+    m_first = first;
+    m_start = start;
+    m_description = description;
+    m_converter = converter;
+  }
+
+  @Override
+  public Iterator<Object> iterator() {
+    if (m_iterated) {
+      throw new IllegalStateException("The main parameter can only be iterated over once");
+    }
+    m_iterated = true;
+    return new Values();
+  }
+
+  /**
+   * Closes the @-files still being read. The values left can no longer be read.
+   */
+  @Override
+  public void close() {
+    m_closed = true;
+    m_args.close();
+  }
+
+  private final class Values implements Iterator<Object> {
+    private String m_pending = m_first;
+    private int m_index = m_start;
+    private BufferedReader m_stdin;
+    private String m_next;
+    private boolean m_done;
+
+    @Override
+    public boolean hasNext() {
+      if (m_closed && m_next == null && ! m_done) {
+        throw new IllegalStateException("The main parameter was closed");
+      }
+      try {
+        return readNext();
+      } catch (RuntimeException e) {
+        close();
+        throw e;
+      }
+    }
+
+    private boolean readNext() {
+      while (m_next == null && ! m_done) {
+        if (m_stdin != null) {
+          String line = readStdin();
+          if (line == null) {
+            // the standard input is not ours to close
+            m_stdin = null;
+          } else if (! line.isEmpty()) {
+            m_next = line;
+          }
+          continue;
+        }
+
+        String token;
+        if (m_pending != null) {
+          token = m_pending;
+          m_pending = null;
+        } else if (m_args.has(m_index)) {
+          m_args.release(m_index);
+          token = JCommander.trim(m_args.get(m_index++));
+        } else {
+          m_done = true;
+          m_args.close();
+          break;
+        }
+        if ("-".equals(token)) {
+          m_stdin = new BufferedReader(new InputStreamReader(System.in, m_args.getCharset()));
+        } else if (! token.isEmpty()) {
+          m_next = token;
+        }
+      }
+      return m_next != null;
+    }
+
+    private String readStdin() {
+      try {
+        return m_stdin.readLine();
+      } catch (IOException e) {
+        throw new ParameterException("Could not read the standard input: " + e);
+      }
+    }
+
+    @Override
+    public Object next() {
+      if (! hasNext()) {
+        throw new NoSuchElementException();
+      }
+      String value = m_next;
+      m_next = null;
+      try {
+        m_description.validateParameter("Default", value);
+        return m_converter != null ? m_converter.convert(value) : value;
+      } catch (RuntimeException e) {
+        close();
+        throw e;
+      }
+    }
+
+    @Override
+    public void remove() {
+      throw new UnsupportedOperationException();
+    }
+  }
+}
@@ -0,0 +1,181 @@
+package io.bunting.cli4j.parser;
+
+import io.bunting.cli4j.parser.FuzzyMap.IKey;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * A trie of option names, compiled once from the descriptions of a {@link JCommander}, or of its command names and
+ * aliases. It answers the lookups the parser makes for every token in time proportional to the length of the token,
+ * however many names there are, and without allocating: exact and abbreviated matches, optionally ignoring case, and
+ * the longest option a token starts with, which is how values glued to an option, as in {@code -Dkey=value} or
+ * {@code --name=value}, are recognized.
+ *
+ * A case insensitive index refuses to be built from names that differ only in case, since no token could select one
+ * of them.
+ */
+final class OptionIndex<V> {
+  private final boolean caseSensitive;
+  private final Node<V> root = new Node<>();
+
+  /**
+   * @throws ParameterException if {@code caseSensitive} is false and two names differ only in case.
+   */
+  OptionIndex(Map<? extends IKey, V> entries, boolean caseSensitive) {
+    this.caseSensitive = caseSensitive;
+    for (Map.Entry<? extends IKey, V> entry : entries.entrySet()) {
+      add(entry.getKey().getName(), entry.getValue());
+    }
+  }
+
+  /**
+   * An option name and the value it was indexed with.
+   */
+  static final class Entry<V> {
+    private final String name;
+    private final V value;
+
+    Entry(String name, V value) {
+      this.name = name;
+      this.value = value;
+    }
+
+    String getName() {
+      return name;
+    }
+
+    V getValue() {
+      return value;
+    }
+  }
+
+  private static final class Node<V> {
+    private char[] keys = new char[0];
+    @SuppressWarnings("unchecked")
+    private Node<V>[] children = new Node[0];
+    // the option ending at this node, if any
+    private Entry<V> entry;
+    // the number of options in this subtree, and one of them, which is the only one if there is exactly one
+    private int count;
+    private Entry<V> any;
+
+    Node<V> child(char c) {
+      int i = Arrays.binarySearch(keys, c);
+      return i >= 0 ? children[i] : null;
+    }
+
+    Node<V> addChild(char c) {
+      int i = Arrays.binarySearch(keys, c);
+      if (i >= 0) {
+        return children[i];
+      }
+      int at = -i - 1;
+      char[] newKeys = new char[keys.length + 1];
+      @SuppressWarnings("unchecked")
+      Node<V>[] newChildren = new Node[children.length + 1];
+      System.arraycopy(keys, 0, newKeys, 0, at);
+      System.arraycopy(children, 0, newChildren, 0, at);
+      System.arraycopy(keys, at, newKeys, at + 1, keys.length - at);
+      System.arraycopy(children, at, newChildren, at + 1, children.length - at);
+      Node<V> child = new Node<>();
+      newKeys[at] = c;
+      newChildren[at] = child;
+      keys = newKeys;
+      children = newChildren;
+      return child;
+    }
+  }
+
+  private void add(String name, V value) {
+    Entry<V> entry = new Entry<>(name, value);
+    List<Node<V>> path = new ArrayList<>(name.length() + 1);
+    Node<V> node = root;
+    path.add(node);
+    for (int i = 0; i < name.length(); i++) {
+      node = node.addChild(fold(name.charAt(i)));
+      path.add(node);
+    }
+    if (node.entry != null) {
+      // names are unique, so only folding can make them collide
+      throw new ParameterException("Options " + node.entry.name + " and " + name
+          + " cannot be told apart when options are case insensitive");
+    }
+    node.entry = entry;
+    for (Node<V> n : path) {
+      n.count++;
+      n.any = entry;
+    }
+  }
+
+  private char fold(char c) {
+    // the same per character comparison as String.equalsIgnoreCase
+    return caseSensitive ? c : Character.toLowerCase(Character.toUpperCase(c));
+  }
+
+  private Node<V> walk(String token) {
+    Node<V> node = root;
+    for (int i = 0; i < token.length() && node != null; i++) {
+      node = node.child(fold(token.charAt(i)));
+    }
+    return node;
+  }
+
+  /**
+   * @return the value of the option named {@code token}, or null.
+   */
+  V find(String token) {
+    Node<V> node = walk(token);
+    return node != null && node.entry != null ? node.entry.value : null;
+  }
+
+  /**
+   * @return the value of the only option whose name starts with {@code token}, or null if there is none.
+   * @throws ParameterException if several options start with {@code token}.
+   */
+  V findAbbreviated(String token) {
+    Node<V> node = walk(token);
+    if (node == null || node.count == 0) {
+      return null;
+    }
+    if (node.count > 1) {
+      List<String> names = new ArrayList<>();
+      collectNames(node, names);
+      Collections.sort(names);
+      throw new ParameterException("Ambiguous option: " + token + " matches " + names);
+    }
+    return node.any.value;
+  }
+
+  private static <V> void collectNames(Node<V> node, List<String> names) {
+    if (node.entry != null) {
+      names.add(node.entry.name);
+    }
+    for (Node<V> child : node.children) {
+      collectNames(child, names);
+    }
+  }
+
+  /**
+   * @return the longest option that {@code token} starts with and that is at most {@code maxLength} characters long,
+   * or null.
+   */
+  Entry<V> findLongestPrefix(String token, int maxLength) {
+    Entry<V> result = root.entry;
+    Node<V> node = root;
+    int length = Math.min(token.length(), maxLength);
+    for (int i = 0; i < length; i++) {
+      node = node.child(fold(token.charAt(i)));
+      if (node == null) {
+        break;
+      }
+      if (node.entry != null) {
+        result = node.entry;
+      }
+    }
+    return result;
+  }
+}
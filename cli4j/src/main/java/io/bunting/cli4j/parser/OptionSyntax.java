@@ -0,0 +1,87 @@
+package io.bunting.cli4j.parser;
+
+/**
+ * The option prefixes and separators of {@link Parameters}, resolved once when a {@link JCommander} creates its
+ * descriptions, so that classifying and splitting a token needs neither reflection nor a scan of the prefix string.
+ * ASCII characters, which is what prefixes and separators almost always are, are looked up in a bitset.
+ */
+final class OptionSyntax {
+  /**
+   * The syntax of arg objects without {@code @Parameters}.
+   */
+  static final OptionSyntax DEFAULT = new OptionSyntax(Parameters.DEFAULT_OPTION_PREFIXES, " ");
+
+  private final CharSet prefixes;
+  // null if options are separated from their values by a space, i.e. the token is never split
+  private final CharSet separators;
+
+  OptionSyntax(String optionPrefixes, String separators) {
+    this.prefixes = new CharSet(optionPrefixes);
+    this.separators = " ".equals(separators) ? null : new CharSet(separators);
+  }
+
+  /**
+   * @return the syntax declared by {@code p}, or {@link #DEFAULT} if {@code p} is null.
+   */
+  static OptionSyntax of(Parameters p) {
+    return p != null ? new OptionSyntax(p.optionPrefixes(), p.separators()) : DEFAULT;
+  }
+
+  /**
+   * @return whether {@code arg} starts with one of the option prefixes.
+   */
+  boolean isOption(String arg) {
+    return arg.length() > 0 && prefixes.contains(arg.charAt(0));
+  }
+
+  /**
+   * @return the index of the first separator in {@code arg}, or -1 if it has none or options are separated from
+   * their values by a space.
+   */
+  int indexOfSeparator(String arg) {
+    if (separators != null) {
+      for (int i = 0; i < arg.length(); i++) {
+        if (separators.contains(arg.charAt(i))) {
+          return i;
+        }
+      }
+    }
+    return -1;
+  }
+
+  private static final class CharSet {
+    private final long low;
+    private final long high;
+    // the characters beyond ASCII, rarely any
+    private final String others;
+
+    CharSet(String chars) {
+      long low = 0;
+      long high = 0;
+      StringBuilder others = new StringBuilder();
+      for (int i = 0; i < chars.length(); i++) {
+        char c = chars.charAt(i);
+        if (c < 64) {
+          low |= 1L << c;
+        } else if (c < 128) {
+          high |= 1L << (c - 64);
+        } else {
+          others.append(c);
+        }
+      }
+      this.low = low;
+      this.high = high;
+      this.others = others.toString();
+    }
+
+    boolean contains(char c) {
+      if (c < 64) {
+        return (low & (1L << c)) != 0;
+      }
+      if (c < 128) {
+        return (high & (1L << (c - 64))) != 0;
+      }
+      return others.indexOf(c) >= 0;
+    }
+  }
+}
@@ -127,5 +127,11 @@ public @interface Parameter {
    */
   boolean forceNonOverwritable() default false;
 
+  /**
+   * If false, a new converter, list converter and splitter are created for every value of this
+   * parameter, as stateful converters need. By default each of them is created once and reused.
+   */
+  boolean cacheConverters() default true;
+
   
 }
@@ -0,0 +1,117 @@
+package io.bunting.cli4j.parser;
+
+import java.lang.reflect.ParameterizedType;
+import java.lang.reflect.Type;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Describes the parameters of an arg class without reflection. Subclasses are generated by the
+ * cli4j annotation processor as {@code <ArgClass>_Cli4jBinder} next to the class they describe;
+ * when no binder exists the parser falls back to reading the annotations reflectively.
+ */
+public abstract class ParameterBinder {
+
+  static final String SUFFIX = "_Cli4jBinder";
+
+  private static final ClassValue<ParameterBinder> BINDERS = new ClassValue<ParameterBinder>() {
+    @Override
+    protected ParameterBinder computeValue(Class<?> type) {
+      try {
+        Class<?> binderClass = Class.forName(type.getName() + SUFFIX, true, type.getClassLoader());
+        return (ParameterBinder) binderClass.newInstance();
+      } catch (ReflectiveOperationException | ClassCastException | LinkageError e) {
+        // No usable generated binder; describe the class reflectively instead
+        return null;
+      }
+    }
+  };
+
+  /**
+   * @return the generated binder for {@code cls}, or null if there is none.
+   */
+  public static ParameterBinder forClass(Class<?> cls) {
+    if (cls.getClassLoader() == null) {
+      return null;
+    }
+    return BINDERS.get(cls);
+  }
+
+  /**
+   * @return the effective @Parameters of {@code cls}, taken from its binder when it has one.
+   */
+  public static Parameters parametersOf(Class<?> cls) {
+    ParameterBinder binder = forClass(cls);
+    return binder != null ? binder.getParameters() : cls.getAnnotation(Parameters.class);
+  }
+
+  /**
+   * @return a fresh description of every parameter, dynamic parameter and delegate of the class,
+   * subclass members first.
+   */
+  public abstract List<Parameterized> getParameterizeds();
+
+  /**
+   * @return the class's @Parameters, including one inherited from a superclass, or null.
+   */
+  public Parameters getParameters() {
+    return null;
+  }
+
+  protected static Type parameterizedType(Class<?> raw, Type... arguments) {
+    return new SimpleParameterizedType(raw, arguments);
+  }
+
+  private static class SimpleParameterizedType implements ParameterizedType {
+    private final Class<?> m_raw;
+    private final Type[] m_arguments;
+
+    SimpleParameterizedType(Class<?> raw, Type[] arguments) {
+      m_raw = raw;
+      m_arguments = arguments;
+    }
+
+    @Override
+    public Type[] getActualTypeArguments() {
+      return m_arguments.clone();
+    }
+
+    @Override
+    public Type getRawType() {
+      return m_raw;
+    }
+
+    @Override
+    public Type getOwnerType() {
+      return m_raw.getDeclaringClass();
+    }
+
+    @Override
+    public boolean equals(Object o) {
+      if (!(o instanceof ParameterizedType)) {
+        return false;
+      }
+      ParameterizedType other = (ParameterizedType) o;
+      return m_raw.equals(other.getRawType())
+          && Arrays.equals(m_arguments, other.getActualTypeArguments());
+    }
+
+    @Override
+    public int hashCode() {
+      return Arrays.hashCode(m_arguments) ^ m_raw.hashCode();
+    }
+
+    @Override
+    public String toString() {
+      StringBuilder sb = new StringBuilder(m_raw.getName()).append('<');
+      for (int i = 0; i < m_arguments.length; i++) {
+        if (i > 0) {
+          sb.append(", ");
+        }
+        Type t = m_arguments[i];
+        sb.append(t instanceof Class ? ((Class<?>) t).getName() : t.toString());
+      }
+      return sb.append('>').toString();
+    }
+  }
+}
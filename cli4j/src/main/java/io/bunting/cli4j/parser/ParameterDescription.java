@@ -48,6 +48,16 @@ public class ParameterDescription {
   private Object m_default;
   /** Longest of the names(), used to present usage() alphabetically */
   private String m_longestName = "";
+  /** The prefixes and separators of the object, set by the JCommander that created this description */
+  private OptionSyntax m_optionSyntax = OptionSyntax.DEFAULT;
+  /** Converts the values of this parameter, resolved when the first one is added */
+  private ValueConverter m_valueConverter;
+  /** The validators of this parameter, resolved when the first value is validated */
+  private IParameterValidator m_validator;
+  private IValueValidator m_valueValidator;
+  /** The values of a primitive array field, which receives a copy of them once parsing is done */
+  private Object m_primitiveBuffer;
+  private boolean m_primitiveBufferChanged;
 
   public ParameterDescription(Object object, DynamicParameter annotation,
       Parameterized parameterized,
@@ -78,7 +88,7 @@ public class ParameterDescription {
   private ResourceBundle findResourceBundle(Object o) {
     ResourceBundle result = null;
 
-    Parameters p = o.getClass().getAnnotation(Parameters.class);
+    Parameters p = ParameterBinder.parametersOf(o.getClass());
     if (p != null && ! isEmpty(p.resourceBundle())) {
       result = ResourceBundle.getBundle(p.resourceBundle(), Locale.getDefault());
     } else {
@@ -178,6 +188,14 @@ public class ParameterDescription {
     return m_object;
   }
 
+  OptionSyntax getOptionSyntax() {
+    return m_optionSyntax;
+  }
+
+  void setOptionSyntax(OptionSyntax optionSyntax) {
+    m_optionSyntax = optionSyntax;
+  }
+
   public String getNames() {
     StringBuilder sb = new StringBuilder();
     String[] names = m_wrappedParameter.names();
@@ -188,6 +206,13 @@ public class ParameterDescription {
     return sb.toString();
   }
 
+  ValueConverter getValueConverter() {
+    if (m_valueConverter == null) {
+      m_valueConverter = m_jCommander.newValueConverter(m_parameterized, m_parameterized.getType());
+    }
+    return m_valueConverter;
+  }
+
   public WrappedParameter getParameter() {
     return m_wrappedParameter;
   }
@@ -199,6 +224,7 @@ public class ParameterDescription {
   private boolean isMultiOption() {
     Class<?> fieldType = m_parameterized.getType();
     return fieldType.equals(List.class) || fieldType.equals(Set.class)
+        || PrimitiveKind.of(fieldType) != null
         || m_parameterized.isDynamicParameter();
   }
 
@@ -224,8 +250,10 @@ public class ParameterDescription {
    * converter, and if we can't find any, throw an exception.
    */
   public void addValue(String value, boolean isDefault) {
-    p("Adding " + (isDefault ? "default " : "") + "value:" + value
-        + " to parameter:" + m_parameterized.getName());
+    if (JCommander.DEBUG) {
+      p("Adding " + (isDefault ? "default " : "") + "value:" + value
+          + " to parameter:" + m_parameterized.getName());
+    }
     String name = m_wrappedParameter.names()[0];
     if (m_assigned && ! isMultiOption() && !m_jCommander.isParameterOverwritingAllowed() || isNonOverwritableForced()) {
       throw new ParameterException("Can only specify option " + name + " once.");
@@ -233,19 +261,27 @@ public class ParameterDescription {
 
     validateParameter(name, value);
 
+    if (getValueConverter().getPrimitiveKind() != null) {
+      addPrimitiveValues(name, value, isDefault);
+      if (! isDefault) m_assigned = true;
+      return;
+    }
+
     Class<?> type = m_parameterized.getType();
+    boolean isCollection = Collection.class.isAssignableFrom(type);
+
+    if (isCollection && getValueConverter().isStreaming() && ! hasValueValidator()) {
+      // nothing needs the elements as a whole, so they go straight into the field
+      getValueConverter().convertInto(value, getCollection(type, isDefault));
+      if (! isDefault) m_assigned = true;
+      return;
+    }
 
     Object convertedValue = m_jCommander.convertValue(this, value);
     validateValueParameter(name, convertedValue);
-    boolean isCollection = Collection.class.isAssignableFrom(type);
 
     if (isCollection) {
-      @SuppressWarnings("unchecked")
-      Collection<Object> l = (Collection<Object>) m_parameterized.get(m_object);
-      if (l == null || fieldIsSetForTheFirstTime(isDefault)) {
-        l = newCollection(type);
-        m_parameterized.set(m_object, l);
-      }
+      Collection<Object> l = getCollection(type, isDefault);
       if (convertedValue instanceof Collection) {
         l.addAll((Collection) convertedValue);
       } else { // if (isMainParameter || m_parameterAnnotation.arity() > 1) {
@@ -259,50 +295,157 @@ public class ParameterDescription {
     if (! isDefault) m_assigned = true;
   }
 
-  private void validateParameter(String name, String value) {
-    Class<? extends IParameterValidator> validator = m_wrappedParameter.validateWith();
-    if (validator != null) {
-      validateParameter(this, validator, name, value);
+  /**
+   * Adds the elements of {@code value} to a primitive array or list without boxing them, unless
+   * a value validator needs them first.
+   */
+  void addPrimitiveValues(String name, String value, boolean isDefault) {
+    PrimitiveKind kind = getValueConverter().getPrimitiveKind();
+    Object buffer;
+    if (kind.isArray(m_parameterized.getType())) {
+      if (m_primitiveBuffer == null || fieldIsSetForTheFirstTime(isDefault)) {
+        m_primitiveBuffer = kind.newBuffer();
+      }
+      buffer = m_primitiveBuffer;
+      m_primitiveBufferChanged = true;
+    } else {
+      buffer = m_parameterized.get(m_object);
+      if (buffer == null || fieldIsSetForTheFirstTime(isDefault)) {
+        buffer = kind.newBuffer();
+        m_parameterized.set(m_object, buffer);
+      }
+    }
+
+    if (hasValueValidator()) {
+      Object values = getValueConverter().convert(value);
+      validateValueParameter(name, values);
+      kind.addAll(buffer, values);
+    } else {
+      getValueConverter().convertIntoPrimitive(value, buffer);
+    }
+  }
+
+  /**
+   * Sets a primitive array field to the values it received since the last call.
+   */
+  void flushPrimitiveValues() {
+    if (m_primitiveBufferChanged) {
+      m_primitiveBufferChanged = false;
+      PrimitiveKind kind = PrimitiveKind.of(m_parameterized.getType());
+      m_parameterized.set(m_object, kind.toArray(m_primitiveBuffer));
+    }
+  }
+
+  /**
+   * @return the collection held by the field, replaced by a new one if it is null or still
+   * holds the default value.
+   */
+  private Collection<Object> getCollection(Class<?> type, boolean isDefault) {
+    @SuppressWarnings("unchecked")
+    Collection<Object> l = (Collection<Object>) m_parameterized.get(m_object);
+    if (l == null || fieldIsSetForTheFirstTime(isDefault)) {
+      l = newCollection(type);
+      m_parameterized.set(m_object, l);
+    }
+    return l;
+  }
+
+  /**
+   * Validates {@code value} with the validator of this parameter, if it has one.
+   */
+  void validateParameter(String name, String value) {
+    if (m_validator == null) {
+      m_validator = newValidator(this, m_wrappedParameter.validateWith());
+    }
+    if (m_validator != NONE) {
+      validate(m_validator, name, value);
+    }
+  }
+
+  private boolean hasValueValidator() {
+    if (m_valueValidator == null) {
+      m_valueValidator = newValueValidator(m_wrappedParameter.validateValueWith());
     }
+    return m_valueValidator != NO_VALUE_VALIDATOR;
   }
 
   private void validateValueParameter(String name, Object value) {
-    Class<? extends IValueValidator> validator = m_wrappedParameter.validateValueWith();
-    if (validator != null) {
-      validateValueParameter(validator, name, value);
+    if (hasValueValidator()) {
+      validateValue(m_valueValidator, name, value);
     }
   }
 
   public static void validateValueParameter(Class<? extends IValueValidator> validator,
       String name, Object value) {
-    try {
-      if (validator != NoValueValidator.class) {
-        p("Validating value parameter:" + name + " value:" + value + " validator:" + validator);
-      }
-      validator.newInstance().validate(name, value);
-    } catch (InstantiationException e) {
-      throw new ParameterException("Can't instantiate validator:" + e);
-    } catch (IllegalAccessException e) {
-      throw new ParameterException("Can't instantiate validator:" + e);
+    IValueValidator instance = newValueValidator(validator);
+    if (instance != NO_VALUE_VALIDATOR) {
+      validateValue(instance, name, value);
     }
   }
 
   public static void validateParameter(io.bunting.cli4j.parser.ParameterDescription pd,
       Class<? extends IParameterValidator> validator,
       String name, String value) {
-    try {
-      if (validator != NoValidator.class) {
-        p("Validating parameter:" + name + " value:" + value + " validator:" + validator);
+    IParameterValidator instance = newValidator(pd, validator);
+    if (instance != NONE) {
+      validate(instance, name, value);
+    }
+  }
+
+  /** Stands for the absence of a validator once it has been resolved */
+  private static final IParameterValidator NONE = new NoValidator();
+  private static final IValueValidator NO_VALUE_VALIDATOR = new NoValueValidator();
+
+  /**
+   * @return an instance of {@code validator} bound to {@code pd}, so that validating a value is
+   * a single call whether or not it implements {@link IParameterValidator2}.
+   */
+  private static IParameterValidator newValidator(final ParameterDescription pd,
+      Class<? extends IParameterValidator> validator) {
+    if (validator == null || validator == NoValidator.class) {
+      return NONE;
+    }
+    final IParameterValidator instance = newInstance(validator);
+    if (! (instance instanceof IParameterValidator2)) {
+      return instance;
+    }
+    return new IParameterValidator() {
+      @Override
+      public void validate(String name, String value) throws ParameterException {
+        instance.validate(name, value);
+        ((IParameterValidator2) instance).validate(name, value, pd);
       }
-      validator.newInstance().validate(name, value);
-      if (IParameterValidator2.class.isAssignableFrom(validator)) {
-        IParameterValidator2 instance = (IParameterValidator2) validator.newInstance();
-        instance.validate(name, value, pd);
+
+      @Override
+      public String toString() {
+        return instance.toString();
       }
+    };
+  }
+
+  private static IValueValidator newValueValidator(Class<? extends IValueValidator> validator) {
+    if (validator == null || validator == NoValueValidator.class) {
+      return NO_VALUE_VALIDATOR;
+    }
+    return newInstance(validator);
+  }
+
+  private static <T> T newInstance(Class<T> validator) {
+    try {
+      return validator.newInstance();
     } catch (InstantiationException e) {
       throw new ParameterException("Can't instantiate validator:" + e);
     } catch (IllegalAccessException e) {
       throw new ParameterException("Can't instantiate validator:" + e);
+    }
+  }
+
+  private static void validate(IParameterValidator validator, String name, String value) {
+    if (JCommander.DEBUG) {
+      p("Validating parameter:" + name + " value:" + value + " validator:" + validator);
+    }
+    try {
+      validator.validate(name, value);
     } catch(ParameterException ex) {
       throw ex;
     } catch(Exception ex) {
@@ -310,6 +453,14 @@ public class ParameterDescription {
     }
   }
 
+  @SuppressWarnings("unchecked")
+  private static void validateValue(IValueValidator validator, String name, Object value) {
+    if (JCommander.DEBUG) {
+      p("Validating value parameter:" + name + " value:" + value + " validator:" + validator);
+    }
+    validator.validate(name, value);
+  }
+
   /*
    * Creates a new collection for the field's type.
    *
@@ -337,9 +488,7 @@ public class ParameterDescription {
   }
 
   private static void p(String string) {
-    if (System.getProperty(JCommander.DEBUG_PROPERTY) != null) {
-      JCommander.getConsole().println("[ParameterDescription] " + string);
-    }
+    JCommander.getConsole().println("[ParameterDescription] " + string);
   }
 
   @Override
@@ -9,6 +9,7 @@ import io.bunting.cli4j.parser.internal.Lists;
 
 import java.lang.annotation.Annotation;
 import java.lang.reflect.*;
+import java.util.ArrayList;
 import java.util.List;
 
 /**
@@ -19,12 +20,30 @@ public class Parameterized {
   // Either a method or a field
   private Field m_field;
   private Method m_method;
-  private Method m_getter;
+  // looked up on first use, descriptions being shared between threads
+  private volatile Method m_getter;
 
   // Either of these two
   private io.bunting.cli4j.parser.WrappedParameter m_wrappedParameter;
   private ParametersDelegate m_parametersDelegate;
 
+  // Set instead of the field or method when described by a generated ParameterBinder
+  private Accessor m_accessor;
+  private Class<?> m_declaringClass;
+  private String m_name;
+  private boolean m_isField;
+  private Class<?> m_type;
+  private Type m_genericType;
+
+  /**
+   * Reads and writes a member without reflection. Implemented by generated binders.
+   */
+  public interface Accessor {
+    Object get(Object object);
+
+    void set(Object object, Object value);
+  }
+
   public Parameterized(io.bunting.cli4j.parser.WrappedParameter wp, ParametersDelegate pd,
       Field field, Method method) {
     m_wrappedParameter = wp;
@@ -36,10 +55,47 @@ public class Parameterized {
     m_parametersDelegate = pd;
   }
 
+  /**
+   * Describes a member through an {@link Accessor}, as generated by the annotation processor.
+   *
+   * @param isField whether the member is a field rather than a setter method
+   */
+  public Parameterized(WrappedParameter wp, ParametersDelegate pd, Class<?> declaringClass,
+      String name, boolean isField, Class<?> type, Type genericType, Accessor accessor) {
+    m_wrappedParameter = wp;
+    m_parametersDelegate = pd;
+    m_declaringClass = declaringClass;
+    m_name = name;
+    m_isField = isField;
+    m_type = type;
+    m_genericType = genericType;
+    m_accessor = accessor;
+  }
+
+  /**
+   * The members of each arg class, described once and shared by every parser. A description holds
+   * no state of its own, the object it reads and writes is passed to {@link #get} and {@link #set}.
+   */
+  private static final ClassValue<List<io.bunting.cli4j.parser.Parameterized>> PARAMETERIZEDS =
+      new ClassValue<List<io.bunting.cli4j.parser.Parameterized>>() {
+        @Override
+        protected List<io.bunting.cli4j.parser.Parameterized> computeValue(Class<?> type) {
+          ParameterBinder binder = ParameterBinder.forClass(type);
+          return binder != null ? binder.getParameterizeds() : describe(type);
+        }
+      };
+
+  /**
+   * @return the members of the class of {@code arg}, in a list the caller is free to change.
+   */
   public static List<io.bunting.cli4j.parser.Parameterized> parseArg(Object arg) {
+    return new ArrayList<>(PARAMETERIZEDS.get(arg.getClass()));
+  }
+
+  private static List<io.bunting.cli4j.parser.Parameterized> describe(Class<?> type) {
     List<io.bunting.cli4j.parser.Parameterized> result = Lists.newArrayList();
 
-    Class<? extends Object> cls = arg.getClass();
+    Class<?> cls = type;
     while (!Object.class.equals(cls)) {
       for (Field f : cls.getDeclaredFields()) {
         Annotation annotation = f.getAnnotation(Parameter.class);
@@ -60,7 +116,7 @@ public class Parameterized {
     }
 
     // Reassigning
-    cls = arg.getClass();
+    cls = type;
     while (!Object.class.equals(cls)) {
       for (Method m : cls.getDeclaredMethods()) {
         Annotation annotation = m.getAnnotation(Parameter.class);
@@ -88,7 +144,9 @@ public class Parameterized {
   }
 
   public Class<?> getType() {
-    if (m_method != null) {
+    if (m_accessor != null) {
+      return m_type;
+    } else if (m_method != null) {
       return m_method.getParameterTypes()[0];
     } else {
       return m_field.getType();
@@ -96,7 +154,9 @@ public class Parameterized {
   }
 
   public String getName() {
-    if (m_method != null) {
+    if (m_accessor != null) {
+      return m_name;
+    } else if (m_method != null) {
       return m_method.getName();
     } else {
       return m_field.getName();
@@ -104,6 +164,9 @@ public class Parameterized {
   }
 
   public Object get(Object object) {
+    if (m_accessor != null) {
+      return m_accessor.get(object);
+    }
     try {
       if (m_method != null) {
         if (m_getter == null) {
@@ -149,6 +212,11 @@ public class Parameterized {
     int result = 1;
     result = prime * result + ((m_field == null) ? 0 : m_field.hashCode());
     result = prime * result + ((m_method == null) ? 0 : m_method.hashCode());
+    if (m_accessor != null) {
+      result = prime * result + m_declaringClass.hashCode();
+      result = prime * result + m_name.hashCode();
+      result = prime * result + (m_isField ? 1 : 0);
+    }
     return result;
   }
 
@@ -171,11 +239,16 @@ public class Parameterized {
         return false;
     } else if (!m_method.equals(other.m_method))
       return false;
-    return true;
+    if (m_accessor == null || other.m_accessor == null)
+      return m_accessor == other.m_accessor;
+    return m_declaringClass.equals(other.m_declaringClass) && m_name.equals(other.m_name)
+        && m_isField == other.m_isField;
   }
 
   public boolean isDynamicParameter(Field field) {
-    if (m_method != null) {
+    if (m_accessor != null) {
+      return isDynamicParameter();
+    } else if (m_method != null) {
       return m_method.getAnnotation(DynamicParameter.class) != null;
     } else {
       return m_field.getAnnotation(DynamicParameter.class) != null;
@@ -187,6 +260,10 @@ public class Parameterized {
   }
 
   public void set(Object object, Object value) {
+    if (m_accessor != null) {
+      m_accessor.set(object, value);
+      return;
+    }
     try {
       if (m_method != null) {
         m_method.invoke(object, value);
@@ -210,7 +287,9 @@ public class Parameterized {
   }
 
   public Type getGenericType() {
-    if (m_method != null) {
+    if (m_accessor != null) {
+      return m_genericType;
+    } else if (m_method != null) {
       return m_method.getGenericParameterTypes()[0];
     } else {
       return m_field.getGenericType();
@@ -225,11 +304,12 @@ public class Parameterized {
    * @return the generic type of the collection for this field, or null if not applicable.
    */
   public Type findFieldGenericType() {
-    if (m_method != null) {
+    if (m_method != null || (m_accessor != null && !m_isField)) {
       return null;
     } else {
-      if (m_field.getGenericType() instanceof ParameterizedType) {
-        ParameterizedType p = (ParameterizedType) m_field.getGenericType();
+      Type genericType = m_accessor != null ? m_genericType : m_field.getGenericType();
+      if (genericType instanceof ParameterizedType) {
+        ParameterizedType p = (ParameterizedType) genericType;
         Type cls = p.getActualTypeArguments()[0];
         if (cls instanceof Class) {
           return cls;
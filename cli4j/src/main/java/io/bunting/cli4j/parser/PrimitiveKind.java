@@ -0,0 +1,148 @@
+package io.bunting.cli4j.parser;
+
+import io.bunting.cli4j.parser.primitives.DoubleList;
+import io.bunting.cli4j.parser.primitives.IntList;
+import io.bunting.cli4j.parser.primitives.LongList;
+
+/**
+ * The primitive element types a field can hold without boxing, either as an array or as one of
+ * the lists of {@link io.bunting.cli4j.parser.primitives}. Values are collected in such a list,
+ * which an array field receives a copy of once parsing is done.
+ */
+enum PrimitiveKind {
+  INT(int[].class, IntList.class, "an int") {
+    @Override
+    Object newBuffer() {
+      return new IntList();
+    }
+
+    @Override
+    void add(Object buffer, String element) {
+      ((IntList) buffer).add(Integer.parseInt(element));
+    }
+
+    @Override
+    void addConverted(Object buffer, Object value) {
+      ((IntList) buffer).add(((Number) value).intValue());
+    }
+
+    @Override
+    void addAll(Object buffer, Object values) {
+      ((IntList) buffer).addAll((IntList) values);
+    }
+
+    @Override
+    Object toArray(Object buffer) {
+      return ((IntList) buffer).toArray();
+    }
+  },
+
+  LONG(long[].class, LongList.class, "a long") {
+    @Override
+    Object newBuffer() {
+      return new LongList();
+    }
+
+    @Override
+    void add(Object buffer, String element) {
+      ((LongList) buffer).add(Long.parseLong(element));
+    }
+
+    @Override
+    void addConverted(Object buffer, Object value) {
+      ((LongList) buffer).add(((Number) value).longValue());
+    }
+
+    @Override
+    void addAll(Object buffer, Object values) {
+      ((LongList) buffer).addAll((LongList) values);
+    }
+
+    @Override
+    Object toArray(Object buffer) {
+      return ((LongList) buffer).toArray();
+    }
+  },
+
+  DOUBLE(double[].class, DoubleList.class, "a double") {
+    @Override
+    Object newBuffer() {
+      return new DoubleList();
+    }
+
+    @Override
+    void add(Object buffer, String element) {
+      ((DoubleList) buffer).add(Double.parseDouble(element));
+    }
+
+    @Override
+    void addConverted(Object buffer, Object value) {
+      ((DoubleList) buffer).add(((Number) value).doubleValue());
+    }
+
+    @Override
+    void addAll(Object buffer, Object values) {
+      ((DoubleList) buffer).addAll((DoubleList) values);
+    }
+
+    @Override
+    Object toArray(Object buffer) {
+      return ((DoubleList) buffer).toArray();
+    }
+  };
+
+  private final Class<?> m_arrayType;
+  private final Class<?> m_listType;
+  private final String m_description;
+
+  PrimitiveKind(Class<?> arrayType, Class<?> listType, String description) {
+    m_arrayType = arrayType;
+    m_listType = listType;
+    m_description = description;
+  }
+
+  /**
+   * @return the kind of the elements of {@code type}, or null if it is neither a primitive array
+   * nor a primitive list.
+   */
+  static PrimitiveKind of(Class<?> type) {
+    for (PrimitiveKind kind : values()) {
+      if (type == kind.m_arrayType || type == kind.m_listType) {
+        return kind;
+      }
+    }
+    return null;
+  }
+
+  boolean isArray(Class<?> type) {
+    return type == m_arrayType;
+  }
+
+  /**
+   * Parses {@code element} and adds it to {@code buffer}.
+   */
+  void parse(Object buffer, String optionName, String element) {
+    try {
+      add(buffer, element);
+    } catch (NumberFormatException ex) {
+      throw new ParameterException("\"" + optionName + "\": couldn't convert \"" + element + "\" to "
+          + m_description);
+    }
+  }
+
+  /**
+   * @return a new, empty list of this kind.
+   */
+  abstract Object newBuffer();
+
+  abstract void add(Object buffer, String element);
+
+  /**
+   * Adds a value returned by a converter, which is a boxed number.
+   */
+  abstract void addConverted(Object buffer, Object value);
+
+  abstract void addAll(Object buffer, Object values);
+
+  abstract Object toArray(Object buffer);
+}
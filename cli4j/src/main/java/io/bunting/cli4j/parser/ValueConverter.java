@@ -0,0 +1,268 @@
+package io.bunting.cli4j.parser;
+
+import io.bunting.cli4j.parser.converters.IParameterSplitter;
+import io.bunting.cli4j.parser.converters.IParameterSplitter2;
+import io.bunting.cli4j.parser.internal.Lists;
+
+import java.lang.reflect.Constructor;
+import java.lang.reflect.InvocationTargetException;
+import java.util.Collection;
+import java.util.EnumSet;
+import java.util.List;
+
+/**
+ * Converts the values of one parameter. The converter, list converter and splitter are resolved from the annotation
+ * and the converter factories once, by {@link JCommander#convertValue}, and unless the parameter sets
+ * {@link Parameter#cacheConverters()} to false their instances are created once too and convert every value the
+ * parameter receives.
+ */
+final class ValueConverter {
+  /** Returns values as they are, for parameters without a {@link Parameter} annotation. */
+  static final ValueConverter IDENTITY = new ValueConverter(null, null, null, null, null, false);
+
+  private final String m_optionName;
+  /** The enum values are looked up in, or null */
+  private final Class<?> m_enumClass;
+  private final Class<? extends IStringConverter<?>> m_converterClass;
+  /** Only set for lists */
+  private final Class<? extends IStringConverter<?>> m_listConverterClass;
+  /** Only set for lists without a list converter */
+  private final Class<? extends IParameterSplitter> m_splitterClass;
+  private final boolean m_cache;
+  /** The element type of primitive arrays and lists, whose values are parsed without boxing */
+  private final PrimitiveKind m_primitiveKind;
+
+  private IStringConverter<?> m_converter;
+  private IStringConverter<?> m_listConverter;
+  private IParameterSplitter m_splitter;
+
+  ValueConverter(String optionName, Class<?> enumClass, Class<? extends IStringConverter<?>> converterClass,
+      Class<? extends IStringConverter<?>> listConverterClass, Class<? extends IParameterSplitter> splitterClass,
+      boolean cache) {
+    m_optionName = optionName;
+    m_enumClass = enumClass;
+    m_converterClass = converterClass;
+    m_listConverterClass = listConverterClass;
+    m_splitterClass = splitterClass;
+    m_cache = cache;
+    m_primitiveKind = null;
+  }
+
+  /**
+   * A converter for the elements of a primitive array or list, which parses them itself unless
+   * {@code converterClass} is given.
+   */
+  ValueConverter(String optionName, PrimitiveKind primitiveKind, Class<? extends IStringConverter<?>> converterClass,
+      Class<? extends IParameterSplitter> splitterClass, boolean cache) {
+    m_optionName = optionName;
+    m_enumClass = null;
+    m_converterClass = converterClass;
+    m_listConverterClass = null;
+    m_splitterClass = splitterClass;
+    m_cache = cache;
+    m_primitiveKind = primitiveKind;
+  }
+
+  Object convert(String value) {
+    if (m_enumClass != null) {
+      return convertEnum(value);
+    }
+    if (this == IDENTITY) {
+      return value;
+    }
+    if (m_primitiveKind != null) {
+      Object result = m_primitiveKind.newBuffer();
+      convertIntoPrimitive(value, result);
+      return result;
+    }
+    try {
+      if (m_listConverterClass != null) {
+        // If a list converter was specified, pass the value to it for direct conversion
+        return listConverter().convert(value);
+      } else if (m_splitterClass != null) {
+        // No list converter: use the single value converter and pass each
+        // parsed value to it individually
+        List<Object> result = Lists.newArrayList();
+        splitInto(value, result);
+        return result;
+      } else {
+        return converter().convert(value);
+      }
+    } catch (InstantiationException e) {
+      throw new ParameterException(e);
+    } catch (IllegalAccessException e) {
+      throw new ParameterException(e);
+    } catch (InvocationTargetException e) {
+      throw new ParameterException(e);
+    }
+  }
+
+  /**
+   * @return whether {@link #convertInto} can add the elements of a value to a collection as its
+   * splitter finds them.
+   */
+  boolean isStreaming() {
+    return m_splitterClass != null && IParameterSplitter2.class.isAssignableFrom(m_splitterClass);
+  }
+
+  /**
+   * Splits {@code value} and adds each converted element to {@code target}, without an
+   * intermediate list if the splitter is an {@link IParameterSplitter2}.
+   */
+  void convertInto(String value, Collection<Object> target) {
+    try {
+      splitInto(value, target);
+    } catch (InstantiationException e) {
+      throw new ParameterException(e);
+    } catch (IllegalAccessException e) {
+      throw new ParameterException(e);
+    } catch (InvocationTargetException e) {
+      throw new ParameterException(e);
+    }
+  }
+
+  PrimitiveKind getPrimitiveKind() {
+    return m_primitiveKind;
+  }
+
+  /**
+   * Splits {@code value} and adds each element to {@code buffer}, a list of the primitive kind
+   * of this converter.
+   */
+  void convertIntoPrimitive(String value, final Object buffer) {
+    if (m_primitiveKind == null) {
+      throw new IllegalStateException(m_optionName + " does not hold primitive values");
+    }
+    try {
+      if (m_splitterClass == null) {
+        addPrimitive(buffer, value);
+        return;
+      }
+      IParameterSplitter splitter = splitter();
+      if (splitter instanceof IParameterSplitter2) {
+        ((IParameterSplitter2) splitter).split(value, new IParameterSplitter2.Receiver() {
+          @Override
+          public void receive(String element) {
+            addPrimitive(buffer, element);
+          }
+        });
+      } else {
+        for (String element : splitter.split(value)) {
+          addPrimitive(buffer, element);
+        }
+      }
+    } catch (InstantiationException e) {
+      throw new ParameterException(e);
+    } catch (IllegalAccessException e) {
+      throw new ParameterException(e);
+    }
+  }
+
+  private void addPrimitive(Object buffer, String element) {
+    if (m_converterClass == null) {
+      m_primitiveKind.parse(buffer, m_optionName, element);
+      return;
+    }
+    try {
+      m_primitiveKind.addConverted(buffer, converter().convert(element));
+    } catch (InstantiationException e) {
+      throw new ParameterException(e);
+    } catch (IllegalAccessException e) {
+      throw new ParameterException(e);
+    } catch (InvocationTargetException e) {
+      throw new ParameterException(e);
+    }
+  }
+
+  private void splitInto(String value, final Collection<Object> target)
+      throws InstantiationException, IllegalAccessException, InvocationTargetException {
+    final IStringConverter<?> converter = converter();
+    IParameterSplitter splitter = splitter();
+    if (splitter instanceof IParameterSplitter2) {
+      ((IParameterSplitter2) splitter).split(value, new IParameterSplitter2.Receiver() {
+        @Override
+        public void receive(String element) {
+          target.add(converter.convert(element));
+        }
+      });
+    } else {
+      for (String param : splitter.split(value)) {
+        target.add(converter.convert(param));
+      }
+    }
+  }
+
+  @SuppressWarnings({ "unchecked", "rawtypes" })
+  private Object convertEnum(String value) {
+    Class<? extends Enum> enumClass = (Class<? extends Enum>) m_enumClass;
+    try {
+      return Enum.valueOf(enumClass, value);
+    } catch (IllegalArgumentException e) {
+      try {
+        return Enum.valueOf(enumClass, value.toUpperCase());
+      } catch (IllegalArgumentException ex) {
+        throw new ParameterException("Invalid value for " + m_optionName + " parameter. Allowed values:" +
+            EnumSet.allOf(enumClass));
+      }
+    } catch (Exception e) {
+      throw new ParameterException("Invalid value for " + m_optionName + " parameter. Allowed values:" +
+          EnumSet.allOf(enumClass));
+    }
+  }
+
+  private IStringConverter<?> converter()
+      throws InstantiationException, IllegalAccessException, InvocationTargetException {
+    IStringConverter<?> result = m_converter;
+    if (result == null) {
+      result = instantiateConverter(m_optionName, m_converterClass);
+      if (m_cache) m_converter = result;
+    }
+    return result;
+  }
+
+  private IStringConverter<?> listConverter()
+      throws InstantiationException, IllegalAccessException, InvocationTargetException {
+    IStringConverter<?> result = m_listConverter;
+    if (result == null) {
+      result = instantiateConverter(m_optionName, m_listConverterClass);
+      if (m_cache) m_listConverter = result;
+    }
+    return result;
+  }
+
+  private IParameterSplitter splitter() throws InstantiationException, IllegalAccessException {
+    IParameterSplitter result = m_splitter;
+    if (result == null) {
+      result = m_splitterClass.newInstance();
+      if (m_cache) m_splitter = result;
+    }
+    return result;
+  }
+
+  @SuppressWarnings("unchecked")
+  private static IStringConverter<?> instantiateConverter(String optionName,
+      Class<? extends IStringConverter<?>> converterClass)
+      throws IllegalArgumentException, InstantiationException, IllegalAccessException,
+      InvocationTargetException {
+    Constructor<IStringConverter<?>> ctor = null;
+    Constructor<IStringConverter<?>> stringCtor = null;
+    Constructor<IStringConverter<?>>[] ctors
+        = (Constructor<IStringConverter<?>>[]) converterClass.getDeclaredConstructors();
+    for (Constructor<IStringConverter<?>> c : ctors) {
+      Class<?>[] types = c.getParameterTypes();
+      if (types.length == 1 && types[0].equals(String.class)) {
+        stringCtor = c;
+      } else if (types.length == 0) {
+        ctor = c;
+      }
+    }
+
+    IStringConverter<?> result = stringCtor != null
+        ? stringCtor.newInstance(optionName)
+        : (ctor != null
+            ? ctor.newInstance()
+            : null);
+
+    return result;
+  }
+}
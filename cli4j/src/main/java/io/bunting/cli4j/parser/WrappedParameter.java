@@ -6,8 +6,7 @@ import io.bunting.cli4j.parser.IValueValidator;
 import io.bunting.cli4j.parser.Parameter;
 import io.bunting.cli4j.parser.ParameterException;
 
-import java.lang.reflect.InvocationTargetException;
-import java.lang.reflect.Method;
+import java.util.Map;
 
 /**
  * Encapsulates the operations common to @Parameter and @DynamicParameter
@@ -87,24 +86,9 @@ public class WrappedParameter {
     }
   }
 
+  @SuppressWarnings("unchecked")
   private void callPut(Object object, Parameterized parameterized, String key, String value) {
-    try {
-      Method m;
-      m = findPut(parameterized.getType());
-      m.invoke(parameterized.get(object), key, value);
-    } catch (SecurityException e) {
-      e.printStackTrace();
-    } catch(IllegalAccessException e) {
-      e.printStackTrace();
-    } catch(InvocationTargetException e) {
-      e.printStackTrace();
-    } catch (NoSuchMethodException e) {
-      e.printStackTrace();
-    }
-  }
-
-  private Method findPut(Class<?> cls) throws SecurityException, NoSuchMethodException {
-    return cls.getMethod("put", Object.class, Object.class);
+    ((Map<Object, Object>) parameterized.get(object)).put(key, value);
   }
 
   public String getAssignment() {
@@ -0,0 +1,62 @@
+package io.bunting.cli4j.parser.converters;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Splits values at every occurrence of a single character, e.g. "a,b,c" at ',', without regular
+ * expressions. Empty elements are kept except at the end of the value, as with
+ * {@link String#split(String)}. Subclasses choose the character, e.g.
+ *
+ * <pre>
+ * public class ColonSplitter extends CharParameterSplitter {
+ *   public ColonSplitter() {
+ *     super(':');
+ *   }
+ * }
+ * </pre>
+ */
+public class CharParameterSplitter implements IParameterSplitter2 {
+  private final char m_separator;
+
+  protected CharParameterSplitter(char separator) {
+    m_separator = separator;
+  }
+
+  public List<String> split(String value) {
+    final List<String> result = new ArrayList<>();
+    split(value, new Receiver() {
+      @Override
+      public void receive(String element) {
+        result.add(element);
+      }
+    });
+    return result;
+  }
+
+  public void split(String value, Receiver receiver) {
+    if (value.isEmpty()) {
+      receiver.receive(value);
+      return;
+    }
+    // empty elements are held back until a non-empty one shows they are not trailing
+    int empty = 0;
+    int start = 0;
+    while (true) {
+      int end = value.indexOf(m_separator, start);
+      int stop = end >= 0 ? end : value.length();
+      if (stop == start) {
+        empty++;
+      } else {
+        for (; empty > 0; empty--) {
+          receiver.receive("");
+        }
+        receiver.receive(value.substring(start, stop));
+      }
+      if (end < 0) {
+        return;
+      }
+      start = end + 1;
+    }
+  }
+}
@@ -0,0 +1,9 @@
+package io.bunting.cli4j.parser.converters;
+
+public class CommaParameterSplitter extends CharParameterSplitter {
+
+  public CommaParameterSplitter() {
+    super(',');
+  }
+
+}
@@ -0,0 +1,16 @@
+package io.bunting.cli4j.parser.converters;
+
+/**
+ * A splitter that hands each element to a {@link Receiver} as soon as it is found, so that a long
+ * list can be converted into its field without building intermediate lists.
+ */
+public interface IParameterSplitter2 extends IParameterSplitter {
+  /**
+   * Receives the elements of a split value, in order.
+   */
+  interface Receiver {
+    void receive(String element);
+  }
+
+  void split(String value, Receiver receiver);
+}
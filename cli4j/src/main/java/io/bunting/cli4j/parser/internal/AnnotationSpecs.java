@@ -0,0 +1,157 @@
+package io.bunting.cli4j.parser.internal;
+
+import io.bunting.cli4j.parser.DynamicParameter;
+import io.bunting.cli4j.parser.IParameterValidator;
+import io.bunting.cli4j.parser.IStringConverter;
+import io.bunting.cli4j.parser.IValueValidator;
+import io.bunting.cli4j.parser.Parameter;
+import io.bunting.cli4j.parser.Parameters;
+import io.bunting.cli4j.parser.ParametersDelegate;
+import io.bunting.cli4j.parser.converters.CommaParameterSplitter;
+import io.bunting.cli4j.parser.converters.IParameterSplitter;
+import io.bunting.cli4j.parser.converters.NoConverter;
+import io.bunting.cli4j.parser.validators.NoValidator;
+import io.bunting.cli4j.parser.validators.NoValueValidator;
+
+import java.lang.annotation.Annotation;
+
+/**
+ * Plain implementations of the parser annotations, so that generated binders can describe
+ * parameters without reading annotations reflectively. Every attribute starts at the
+ * annotation's default and the setters return the spec for chaining.
+ */
+public class AnnotationSpecs {
+
+  public static class ParameterSpec implements Parameter {
+    private String[] m_names = {};
+    private String m_description = "";
+    private boolean m_required = false;
+    private String m_descriptionKey = "";
+    private int m_arity = -1;
+    private boolean m_password = false;
+    private Class<? extends IStringConverter<?>> m_converter = NoConverter.class;
+    private Class<? extends IStringConverter<?>> m_listConverter = NoConverter.class;
+    private boolean m_hidden = false;
+    private Class<? extends IParameterValidator> m_validateWith = NoValidator.class;
+    private Class<? extends IValueValidator> m_validateValueWith = NoValueValidator.class;
+    private boolean m_variableArity = false;
+    private Class<? extends IParameterSplitter> m_splitter = CommaParameterSplitter.class;
+    private boolean m_echoInput = false;
+    private boolean m_help = false;
+    private boolean m_forceNonOverwritable = false;
+    private boolean m_cacheConverters = true;
+
+    public ParameterSpec names(String... names) { m_names = names; return this; }
+    public ParameterSpec description(String description) { m_description = description; return this; }
+    public ParameterSpec required(boolean required) { m_required = required; return this; }
+    public ParameterSpec descriptionKey(String key) { m_descriptionKey = key; return this; }
+    public ParameterSpec arity(int arity) { m_arity = arity; return this; }
+    public ParameterSpec password(boolean password) { m_password = password; return this; }
+    public ParameterSpec converter(Class<? extends IStringConverter<?>> c) { m_converter = c; return this; }
+    public ParameterSpec listConverter(Class<? extends IStringConverter<?>> c) { m_listConverter = c; return this; }
+    public ParameterSpec hidden(boolean hidden) { m_hidden = hidden; return this; }
+    public ParameterSpec validateWith(Class<? extends IParameterValidator> v) { m_validateWith = v; return this; }
+    public ParameterSpec validateValueWith(Class<? extends IValueValidator> v) { m_validateValueWith = v; return this; }
+    public ParameterSpec variableArity(boolean variableArity) { m_variableArity = variableArity; return this; }
+    public ParameterSpec splitter(Class<? extends IParameterSplitter> splitter) { m_splitter = splitter; return this; }
+    public ParameterSpec echoInput(boolean echoInput) { m_echoInput = echoInput; return this; }
+    public ParameterSpec help(boolean help) { m_help = help; return this; }
+    public ParameterSpec forceNonOverwritable(boolean b) { m_forceNonOverwritable = b; return this; }
+    public ParameterSpec cacheConverters(boolean b) { m_cacheConverters = b; return this; }
+
+    @Override public String[] names() { return m_names; }
+    @Override public String description() { return m_description; }
+    @Override public boolean required() { return m_required; }
+    @Override public String descriptionKey() { return m_descriptionKey; }
+    @Override public int arity() { return m_arity; }
+    @Override public boolean password() { return m_password; }
+    @Override public Class<? extends IStringConverter<?>> converter() { return m_converter; }
+    @Override public Class<? extends IStringConverter<?>> listConverter() { return m_listConverter; }
+    @Override public boolean hidden() { return m_hidden; }
+    @Override public Class<? extends IParameterValidator> validateWith() { return m_validateWith; }
+    @Override public Class<? extends IValueValidator> validateValueWith() { return m_validateValueWith; }
+    @Override public boolean variableArity() { return m_variableArity; }
+    @Override public Class<? extends IParameterSplitter> splitter() { return m_splitter; }
+    @Override public boolean echoInput() { return m_echoInput; }
+    @Override public boolean help() { return m_help; }
+    @Override public boolean forceNonOverwritable() { return m_forceNonOverwritable; }
+    @Override public boolean cacheConverters() { return m_cacheConverters; }
+
+    @Override
+    public Class<? extends Annotation> annotationType() {
+      return Parameter.class;
+    }
+  }
+
+  public static class DynamicParameterSpec implements DynamicParameter {
+    private String[] m_names = {};
+    private boolean m_required = false;
+    private String m_description = "";
+    private String m_descriptionKey = "";
+    private boolean m_hidden = false;
+    private Class<? extends IParameterValidator> m_validateWith = NoValidator.class;
+    private String m_assignment = "=";
+    private Class<? extends IValueValidator> m_validateValueWith = NoValueValidator.class;
+
+    public DynamicParameterSpec names(String... names) { m_names = names; return this; }
+    public DynamicParameterSpec required(boolean required) { m_required = required; return this; }
+    public DynamicParameterSpec description(String description) { m_description = description; return this; }
+    public DynamicParameterSpec descriptionKey(String key) { m_descriptionKey = key; return this; }
+    public DynamicParameterSpec hidden(boolean hidden) { m_hidden = hidden; return this; }
+    public DynamicParameterSpec validateWith(Class<? extends IParameterValidator> v) { m_validateWith = v; return this; }
+    public DynamicParameterSpec assignment(String assignment) { m_assignment = assignment; return this; }
+    public DynamicParameterSpec validateValueWith(Class<? extends IValueValidator> v) { m_validateValueWith = v; return this; }
+
+    @Override public String[] names() { return m_names; }
+    @Override public boolean required() { return m_required; }
+    @Override public String description() { return m_description; }
+    @Override public String descriptionKey() { return m_descriptionKey; }
+    @Override public boolean hidden() { return m_hidden; }
+    @Override public Class<? extends IParameterValidator> validateWith() { return m_validateWith; }
+    @Override public String assignment() { return m_assignment; }
+    @Override public Class<? extends IValueValidator> validateValueWith() { return m_validateValueWith; }
+
+    @Override
+    public Class<? extends Annotation> annotationType() {
+      return DynamicParameter.class;
+    }
+  }
+
+  public static class ParametersSpec implements Parameters {
+    private String m_resourceBundle = "";
+    private String m_separators = " ";
+    private String m_optionPrefixes = Parameters.DEFAULT_OPTION_PREFIXES;
+    private String m_commandDescription = "";
+    private String m_commandDescriptionKey = "";
+    private String[] m_commandNames = {};
+    private boolean m_hidden = false;
+
+    public ParametersSpec resourceBundle(String bundle) { m_resourceBundle = bundle; return this; }
+    public ParametersSpec separators(String separators) { m_separators = separators; return this; }
+    public ParametersSpec optionPrefixes(String prefixes) { m_optionPrefixes = prefixes; return this; }
+    public ParametersSpec commandDescription(String description) { m_commandDescription = description; return this; }
+    public ParametersSpec commandDescriptionKey(String key) { m_commandDescriptionKey = key; return this; }
+    public ParametersSpec commandNames(String... names) { m_commandNames = names; return this; }
+    public ParametersSpec hidden(boolean hidden) { m_hidden = hidden; return this; }
+
+    @Override public String resourceBundle() { return m_resourceBundle; }
+    @Override public String separators() { return m_separators; }
+    @Override public String optionPrefixes() { return m_optionPrefixes; }
+    @Override public String commandDescription() { return m_commandDescription; }
+    @Override public String commandDescriptionKey() { return m_commandDescriptionKey; }
+    @Override public String[] commandNames() { return m_commandNames; }
+    @Override public boolean hidden() { return m_hidden; }
+
+    @Override
+    public Class<? extends Annotation> annotationType() {
+      return Parameters.class;
+    }
+  }
+
+  public static class ParametersDelegateSpec implements ParametersDelegate {
+    @Override
+    public Class<? extends Annotation> annotationType() {
+      return ParametersDelegate.class;
+    }
+  }
+}
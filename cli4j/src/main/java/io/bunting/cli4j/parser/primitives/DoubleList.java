@@ -0,0 +1,73 @@
+package io.bunting.cli4j.parser.primitives;
+
+import java.util.Arrays;
+
+/**
+ * A growable list of {@code double} values, stored without boxing. Fields of this type receive
+ * every value of their option, split like the values of a {@code List}.
+ */
+public final class DoubleList {
+  private double[] m_values;
+  private int m_size;
+
+  public DoubleList() {
+    this(10);
+  }
+
+  public DoubleList(int capacity) {
+    m_values = new double[capacity];
+  }
+
+  public void add(double value) {
+    if (m_size == m_values.length) {
+      m_values = Arrays.copyOf(m_values, Math.max(10, m_size + (m_size >> 1)));
+    }
+    m_values[m_size++] = value;
+  }
+
+  public void addAll(DoubleList values) {
+    if (m_size + values.m_size > m_values.length) {
+      m_values = Arrays.copyOf(m_values, Math.max(m_size + values.m_size, m_size + (m_size >> 1)));
+    }
+    System.arraycopy(values.m_values, 0, m_values, m_size, values.m_size);
+    m_size += values.m_size;
+  }
+
+  public double get(int index) {
+    if (index < 0 || index >= m_size) {
+      throw new IndexOutOfBoundsException("Index: " + index + ", Size: " + m_size);
+    }
+    return m_values[index];
+  }
+
+  public int size() {
+    return m_size;
+  }
+
+  public boolean isEmpty() {
+    return m_size == 0;
+  }
+
+  public void clear() {
+    m_size = 0;
+  }
+
+  public double[] toArray() {
+    return Arrays.copyOf(m_values, m_size);
+  }
+
+  @Override
+  public boolean equals(Object o) {
+    return o instanceof DoubleList && Arrays.equals(toArray(), ((DoubleList) o).toArray());
+  }
+
+  @Override
+  public int hashCode() {
+    return Arrays.hashCode(toArray());
+  }
+
+  @Override
+  public String toString() {
+    return Arrays.toString(toArray());
+  }
+}
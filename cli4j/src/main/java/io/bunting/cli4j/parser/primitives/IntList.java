@@ -0,0 +1,73 @@
+package io.bunting.cli4j.parser.primitives;
+
+import java.util.Arrays;
+
+/**
+ * A growable list of {@code int} values, stored without boxing. Fields of this type receive
+ * every value of their option, split like the values of a {@code List}.
+ */
+public final class IntList {
+  private int[] m_values;
+  private int m_size;
+
+  public IntList() {
+    this(10);
+  }
+
+  public IntList(int capacity) {
+    m_values = new int[capacity];
+  }
+
+  public void add(int value) {
+    if (m_size == m_values.length) {
+      m_values = Arrays.copyOf(m_values, Math.max(10, m_size + (m_size >> 1)));
+    }
+    m_values[m_size++] = value;
+  }
+
+  public void addAll(IntList values) {
+    if (m_size + values.m_size > m_values.length) {
+      m_values = Arrays.copyOf(m_values, Math.max(m_size + values.m_size, m_size + (m_size >> 1)));
+    }
+    System.arraycopy(values.m_values, 0, m_values, m_size, values.m_size);
+    m_size += values.m_size;
+  }
+
+  public int get(int index) {
+    if (index < 0 || index >= m_size) {
+      throw new IndexOutOfBoundsException("Index: " + index + ", Size: " + m_size);
+    }
+    return m_values[index];
+  }
+
+  public int size() {
+    return m_size;
+  }
+
+  public boolean isEmpty() {
+    return m_size == 0;
+  }
+
+  public void clear() {
+    m_size = 0;
+  }
+
+  public int[] toArray() {
+    return Arrays.copyOf(m_values, m_size);
+  }
+
+  @Override
+  public boolean equals(Object o) {
+    return o instanceof IntList && Arrays.equals(toArray(), ((IntList) o).toArray());
+  }
+
+  @Override
+  public int hashCode() {
+    return Arrays.hashCode(toArray());
+  }
+
+  @Override
+  public String toString() {
+    return Arrays.toString(toArray());
+  }
+}
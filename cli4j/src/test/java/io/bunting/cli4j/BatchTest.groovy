@@ -0,0 +1,76 @@
+package io.bunting.cli4j
+
+import io.bunting.cli4j.example.CounterCommand
+import io.bunting.cli4j.example.HelloCommand
+import spock.lang.Specification
+
+/**
+ * Checks streaming batch execution.
+ */
+class BatchTest extends Specification {
+  CliAdapter cliAdapter = Mock(CliAdapter)
+  Cli4J cli4J = new Cli4J(cliAdapter)
+
+  def setup() {
+    cli4J.addResource(HelloCommand.class)
+    cli4J.addResource(CounterCommand.class)
+    CounterCommand.reset()
+  }
+
+  def "execute newline separated command lines in one session"() {
+    when: "i execute a batch"
+      int failed = cli4J.executeBatch(new StringReader(
+          "# greetings\nhello --name Fred\r\n\nhello --name 'Barney Rubble'\ncount\ncount\n"))
+    then: "every command ran"
+      failed == 0
+      1 * cliAdapter.printf("Hello %s!%n", "Fred")
+      1 * cliAdapter.printf("Hello %s!%n", "Barney Rubble")
+    and: "session scoped resources were shared"
+      CounterCommand.CREATED.get() == 1
+      CounterCommand.CLOSED.get() == 1
+  }
+
+  def "execute NUL separated command lines"() {
+    when: "i execute a NUL separated batch"
+      int failed = cli4J.executeBatch(new StringReader("hello --name 'Fred\nFlintstone'\u0000hello --name Barney"),
+          Cli4J.NUL_DELIMITER, false)
+    then: "newlines are part of a command line"
+      failed == 0
+      1 * cliAdapter.printf("Hello %s!%n", "Fred\nFlintstone")
+      1 * cliAdapter.printf("Hello %s!%n", "Barney")
+  }
+
+  def "stop at the first failure"() {
+    when: "a batch contains a bad command"
+      cli4J.executeBatch(new StringReader("hello --name Fred\nbogus\nhello --name Barney\n"))
+    then: "the failure is thrown and later commands do not run"
+      thrown(RuntimeException)
+      1 * cliAdapter.printf("Hello %s!%n", "Fred")
+      0 * cliAdapter.printf("Hello %s!%n", "Barney")
+  }
+
+  def "keep going after a failure"() {
+    when: "a batch contains a bad command"
+      int failed = cli4J.executeBatch(new StringReader("hello --name Fred\nbogus\nhello --name Barney\n"),
+          Cli4J.LINE_DELIMITER, true)
+    then: "the failure is reported and later commands run"
+      failed == 1
+      1 * cliAdapter.printf("Error: %s: %s%n", "bogus", "Expected a command, got bogus")
+      1 * cliAdapter.printf("Hello %s!%n", "Fred")
+      1 * cliAdapter.printf("Hello %s!%n", "Barney")
+  }
+
+  def "execute a batch file with the batch switch"() {
+    given: "a batch file"
+      File file = File.createTempFile("cli4j", ".batch")
+      file.deleteOnExit()
+      file.setText("hello --name Fred\nbogus\nhello --name Barney\n", "UTF-8")
+    when: "i execute it and keep going"
+      cli4J.execute("--batch", file.path, "--keep-going")
+    then: "every good command ran and the failure was reported at the end"
+      CommandException e = thrown()
+      e.message == "1 batch command failed"
+      1 * cliAdapter.printf("Hello %s!%n", "Fred")
+      1 * cliAdapter.printf("Hello %s!%n", "Barney")
+  }
+}
@@ -0,0 +1,39 @@
+package io.bunting.cli4j
+
+import spock.lang.Specification
+import spock.lang.Unroll
+
+/**
+ * Checks shell-style splitting of command lines.
+ */
+class CommandLineTokenizerTest extends Specification {
+  @Unroll
+  def "tokenize #line"() {
+    expect:
+      CommandLineTokenizer.tokenize(line) as List == tokens
+    where:
+      line                               | tokens
+      ""                                 | []
+      "   "                              | []
+      "hello --name Fred"                | ["hello", "--name", "Fred"]
+      "  hello   --name\tFred  "         | ["hello", "--name", "Fred"]
+      "hello --name 'Fred Flintstone'"   | ["hello", "--name", "Fred Flintstone"]
+      'hello --name "Fred Flintstone"'   | ["hello", "--name", "Fred Flintstone"]
+      'hello --name Fred\\ Flintstone'   | ["hello", "--name", "Fred Flintstone"]
+      'say "a \\"quoted\\" \\\\ word"'   | ["say", 'a "quoted" \\ word']
+      "say 'no \\escape'"                | ["say", "no \\escape"]
+      "say --x=''"                       | ["say", "--x="]
+      "say ''"                           | ["say", ""]
+      "say pre'mid'post"                 | ["say", "premidpost"]
+  }
+
+  @Unroll
+  def "reject unterminated quote in #line"() {
+    when:
+      CommandLineTokenizer.tokenize(line)
+    then:
+      thrown(IllegalArgumentException)
+    where:
+      line << ["say 'open", 'say "open']
+  }
+}
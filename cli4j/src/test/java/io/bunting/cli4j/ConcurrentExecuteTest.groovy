@@ -0,0 +1,96 @@
+package io.bunting.cli4j
+
+import io.bunting.cli4j.example.CounterCommand
+import io.bunting.cli4j.example.HelloCommand
+import spock.lang.Specification
+
+import java.util.concurrent.Callable
+import java.util.concurrent.CountDownLatch
+import java.util.concurrent.ExecutorService
+import java.util.concurrent.Executors
+import java.util.concurrent.Future
+import java.util.concurrent.atomic.AtomicInteger
+
+/**
+ * Stress test for {@link Cli4J#execute(String...)} called from many threads at once. How well it scales is
+ * measured by {@code ExecuteBenchmark#executeConcurrently} in cli4j-benchmarks.
+ */
+class ConcurrentExecuteTest extends Specification {
+  static final int INVOCATIONS = 20000
+
+  /**
+   * Counts greetings per name. Commands on different threads share this adapter.
+   */
+  static class CountingCliAdapter implements CliAdapter {
+    final Map<String, AtomicInteger> greetings = [:].asSynchronized()
+
+    PrintWriter writer() { null }
+    String readLine(String fmt, Object... args) { null }
+    char[] readPassword() { null }
+    char[] readPassword(String fmt, Object... args) { null }
+    void flush() {}
+    Reader reader() { null }
+    String readLine() { null }
+
+    CliAdapter printf(String format, Object... args) {
+      String key = args.length > 0 ? String.valueOf(args[0]) : format
+      AtomicInteger count
+      synchronized (greetings) {
+        count = greetings[key]
+        if (count == null) {
+          count = new AtomicInteger()
+          greetings[key] = count
+        }
+      }
+      count.incrementAndGet()
+      return this
+    }
+  }
+
+  CountingCliAdapter cliAdapter = new CountingCliAdapter()
+  Cli4J cli4J = new Cli4J(cliAdapter)
+
+  def setup() {
+    cli4J.addResource(HelloCommand.class)
+    cli4J.addResource(CounterCommand.class)
+    CounterCommand.reset()
+  }
+
+  def "concurrent executions do not interfere"() {
+    given: "more threads than cores"
+      int threads = Runtime.runtime.availableProcessors() * 2
+    when: "every thread greets its own name and uses a shared singleton"
+      run(threads, INVOCATIONS) { int thread, int i ->
+        cli4J.execute("hello", "--name", "t" + thread)
+        cli4J.execute("count-shared", "--label", "shared")
+      }
+    then: "each thread's arguments reached its own commands"
+      (0..<threads).every { cliAdapter.greetings["t" + it].get() == INVOCATIONS.intdiv(threads) }
+    and: "the singleton was created once"
+      CounterCommand.CREATED.get() == 1
+      cliAdapter.greetings["shared"].get() == threads * INVOCATIONS.intdiv(threads)
+  }
+
+  /**
+   * Runs {@code total} invocations of the body, split evenly over the given number of threads.
+   */
+  private static void run(int threads, int total, Closure body) {
+    ExecutorService executor = Executors.newFixedThreadPool(threads)
+    try {
+      CountDownLatch start = new CountDownLatch(1)
+      List<Future<?>> futures = (0..<threads).collect { int thread ->
+        executor.submit({
+          start.await()
+          for (int i = 0; i < total.intdiv(threads); i++) {
+            body.call(thread, i)
+          }
+          return null
+        } as Callable)
+      }
+      start.countDown()
+      futures*.get()
+    } finally {
+      executor.shutdownNow()
+    }
+  }
+}
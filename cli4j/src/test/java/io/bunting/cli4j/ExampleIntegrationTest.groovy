@@ -0,0 +1,90 @@
+package io.bunting.cli4j
+
+import com.beust.jcommander.MissingCommandException
+import io.bunting.cli4j.example.FailCommand
+import io.bunting.cli4j.example.GoodbyeCommand
+import io.bunting.cli4j.example.HelloCommand
+import spock.lang.Specification
+
+/**
+ * TODO: Document this class
+ */
+class ExampleIntegrationTest extends Specification {
+  def "test hello command"() {
+    given: "a console"
+      CliAdapter cliAdapter = Mock(CliAdapter)
+    and: "a cli4j"
+      Cli4J cli4J = new Cli4J(cliAdapter)
+      cli4J.addResource(HelloCommand.class)
+    when: "i invoke a command"
+      cli4J.execute("hello --name Fred".split("\\s+"))
+    then: "i got output"
+      1 * cliAdapter.printf("Hello %s!%n", "Fred")
+    when: "i invoke a command with count 5"
+      cli4J.execute("hello --name Fred --count 5".split("\\s+"))
+    then: "i got the output 5 times"
+      5 * cliAdapter.printf("Hello %s!%n", "Fred")
+  }
+
+  def "test dispatch with several resources"() {
+    given: "a console"
+      CliAdapter cliAdapter = Mock(CliAdapter)
+    and: "a cli4j with two resources"
+      Cli4J cli4J = new Cli4J(cliAdapter)
+      cli4J.addResource(HelloCommand.class)
+      cli4J.addResource(GoodbyeCommand.class)
+    when: "i invoke each command"
+      cli4J.execute("hello --name Fred".split("\\s+"))
+      cli4J.execute("goodbye --name Fred".split("\\s+"))
+    then: "each command ran once"
+      1 * cliAdapter.printf("Hello %s!%n", "Fred")
+      1 * cliAdapter.printf("Goodbye %s!%n", "Fred")
+    when: "i invoke a command through its alias"
+      cli4J.execute("bye --name Fred".split("\\s+"))
+    then: "the aliased command ran"
+      1 * cliAdapter.printf("Goodbye %s!%n", "Fred")
+    when: "i invoke an unknown command"
+      cli4J.execute("wave --name Fred".split("\\s+"))
+    then: "the command is reported as missing"
+      thrown(MissingCommandException)
+  }
+
+  static class ClashingCommand {
+    @Command(name = "farewell", aliases = "bye", description = "Takes the alias of goodbye.")
+    public void farewell(final CliAdapter cliAdapter, final GoodbyeCommand.GoodbyeArgs args) {
+    }
+  }
+
+  def "test command names must be unique"() {
+    given: "a cli4j with a resource"
+      CliAdapter cliAdapter = Mock(CliAdapter)
+      Cli4J cli4J = new Cli4J(cliAdapter)
+      cli4J.addResource(GoodbyeCommand.class)
+    when: "i add a resource whose alias is taken"
+      cli4J.addResource(ClashingCommand.class)
+    then: "the clash is reported"
+      IllegalStateException e = thrown()
+      e.message == '"bye" is an alias of command farewell and an alias of command goodbye'
+    when: "i invoke the alias"
+      cli4J.execute("bye --name Fred".split("\\s+"))
+    then: "the command registered first still runs it"
+      1 * cliAdapter.printf("Goodbye %s!%n", "Fred")
+  }
+
+  def "test command failures"() {
+    given: "a cli4j with a failing resource"
+      Cli4J cli4J = new Cli4J(Mock(CliAdapter))
+      cli4J.addResource(FailCommand.class)
+    when: "a command throws an unchecked exception"
+      cli4J.execute("fail --message boom".split("\\s+"))
+    then: "the exception is propagated unchanged"
+      IllegalStateException e = thrown()
+      e.message == "boom"
+    when: "a command throws a checked exception"
+      cli4J.execute("fail-checked --message boom".split("\\s+"))
+    then: "the exception is wrapped in a command exception"
+      CommandException ce = thrown()
+      ce.cause instanceof IOException
+      ce.cause.message == "boom"
+  }
+}
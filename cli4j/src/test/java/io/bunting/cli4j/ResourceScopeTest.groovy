@@ -0,0 +1,95 @@
+package io.bunting.cli4j
+
+import io.bunting.cli4j.example.CounterCommand
+import spock.lang.Specification
+
+/**
+ * Checks the lifecycle of resources in each {@link Scope}.
+ */
+class ResourceScopeTest extends Specification {
+  Cli4J cli4J = new Cli4J(Mock(CliAdapter))
+
+  def setup() {
+    CounterCommand.reset()
+    cli4J.addResource(CounterCommand.class)
+  }
+
+  def "invocation scoped resources are created and closed for every command"() {
+    when: "i invoke the command twice"
+      cli4J.execute("count-fresh")
+      cli4J.execute("count-fresh")
+    then: "two instances were created and closed"
+      CounterCommand.CREATED.get() == 2
+      CounterCommand.CLOSED.get() == 2
+  }
+
+  def "session scoped resources live until the session is closed"() {
+    when: "i invoke the command twice in one session"
+      Session session = cli4J.openSession()
+      session.execute("count")
+      session.execute("count")
+    then: "one instance was created and none closed"
+      CounterCommand.CREATED.get() == 1
+      CounterCommand.CLOSED.get() == 0
+    when: "the session is closed"
+      session.close()
+    then: "the instance was closed"
+      CounterCommand.CLOSED.get() == 1
+    when: "i invoke the command outside of a session"
+      cli4J.execute("count")
+    then: "it gets a session of its own"
+      CounterCommand.CREATED.get() == 2
+      CounterCommand.CLOSED.get() == 2
+  }
+
+  def "singleton scoped resources live until cli4j is closed"() {
+    when: "i invoke the command twice"
+      cli4J.execute("count-shared")
+      cli4J.execute("count-shared")
+    then: "one instance was created and none closed"
+      CounterCommand.CREATED.get() == 1
+      CounterCommand.CLOSED.get() == 0
+    when: "cli4j is closed"
+      cli4J.close()
+    then: "the instance was closed"
+      CounterCommand.CLOSED.get() == 1
+  }
+
+  def "a resource factory supplies and releases instances"() {
+    given: "a resource factory"
+      ResourceFactory factory = Mock(ResourceFactory)
+      CounterCommand pooled = new CounterCommand()
+      cli4J.setResourceFactory(factory)
+    when: "i invoke the command"
+      cli4J.execute("count-fresh")
+    then: "the instance came from the factory and was given back to it"
+      1 * factory.create(CounterCommand.class) >> pooled
+      1 * factory.release(pooled)
+      CounterCommand.CREATED.get() == 1
+      CounterCommand.CLOSED.get() == 0
+  }
+
+  def "closing a session releases every resource even if some fail"() {
+    given: "a session holding three resources, two of which fail to be released"
+      ResourceFactory factory = Mock(ResourceFactory)
+      cli4J.setResourceFactory(factory)
+      Session session = cli4J.openSession()
+      session.putResource(String, "first")
+      session.putResource(Integer, 2)
+      session.putResource(Long, 3L)
+      RuntimeException firstFailure = new IllegalStateException("first")
+      RuntimeException lastFailure = new IllegalStateException("last")
+    when: "the session is closed"
+      session.close()
+    then: "all of them were released"
+      1 * factory.release("first") >> { throw firstFailure }
+      1 * factory.release(2)
+      1 * factory.release(3L) >> { throw lastFailure }
+    and: "the first failure is thrown with the others suppressed"
+      RuntimeException e = thrown()
+      e.is(firstFailure)
+      e.suppressed as List == [lastFailure]
+    and: "the session no longer holds them"
+      session.getResource(String) == null
+  }
+}
@@ -0,0 +1,35 @@
+package io.bunting.cli4j
+
+import io.bunting.cli4j.example.CounterCommand
+import io.bunting.cli4j.example.HelloCommand
+import spock.lang.Specification
+
+/**
+ * Runs the interactive shell against scripted input.
+ */
+class ShellTest extends Specification {
+  def "run commands until exit"() {
+    given: "a cli4j"
+      Cli4J cli4J = new Cli4J(Mock(CliAdapter))
+      cli4J.addResource(HelloCommand.class)
+      cli4J.addResource(CounterCommand.class)
+      CounterCommand.reset()
+    and: "a scripted session"
+      def input = new ByteArrayInputStream(
+          "hello --name 'Fred Flintstone'\n\nbogus\ncount\ncount\nexit\nhello --name Barney\n".getBytes("UTF-8"))
+      def output = new ByteArrayOutputStream()
+    when: "i run the shell"
+      cli4J.runShell(input, output)
+      def text = output.toString("UTF-8")
+    then: "commands wrote to the shell output"
+      text.contains("Hello Fred Flintstone!")
+    and: "a bad command did not end the shell"
+      text.contains("Error: Expected a command, got bogus")
+    and: "session scoped resources were shared and released at the end"
+      text.contains("count 1")
+      !text.contains("count 2")
+      CounterCommand.CLOSED.get() == 1
+    and: "nothing after exit was run"
+      !text.contains("Barney")
+  }
+}
@@ -0,0 +1,144 @@
+package io.bunting.cli4j.daemon
+
+import io.bunting.cli4j.Cli4J
+import io.bunting.cli4j.CliAdapter
+import io.bunting.cli4j.example.EchoCommand
+import io.bunting.cli4j.example.FailCommand
+import io.bunting.cli4j.example.HelloCommand
+import spock.lang.Specification
+
+import java.nio.file.Files
+import java.nio.file.Path
+import java.nio.file.attribute.PosixFilePermissions
+
+/**
+ * Runs commands through a {@link DaemonServer} on a local port.
+ */
+class DaemonTest extends Specification {
+  Path directory = Files.createTempDirectory("cli4j-daemon")
+  File tokenFile = new File(directory.toFile(), "daemon.token")
+  DaemonServer server
+  ByteArrayOutputStream out = new ByteArrayOutputStream()
+  ByteArrayOutputStream err = new ByteArrayOutputStream()
+
+  def setup() {
+    Cli4J cli4J = new Cli4J(Mock(CliAdapter))
+    cli4J.addResource(HelloCommand.class)
+    cli4J.addResource(EchoCommand.class)
+    cli4J.addResource(FailCommand.class)
+    server = new DaemonServer(cli4J, 0, tokenFile)
+    server.start()
+  }
+
+  def cleanup() {
+    server.close()
+    directory.toFile().deleteDir()
+  }
+
+  int run(String stdin, String... args) {
+    DaemonClient.run(server.port, tokenFile, args, new ByteArrayInputStream(stdin.getBytes("UTF-8")), out, err)
+  }
+
+  def "run a command on the daemon"() {
+    when: "i run a command"
+      int exit = run("", "hello", "--name", "Fred", "--count", "2")
+    then: "its output came back and it succeeded"
+      exit == 0
+      out.toString("UTF-8") == String.format("Hello Fred!%nHello Fred!%n")
+      err.size() == 0
+  }
+
+  def "forward stdin to the command"() {
+    when: "i run a command that reads stdin"
+      int exit = run("one\ntwo\n", "echo", "--prefix", "out:")
+    then: "it saw every line"
+      exit == 0
+      out.toString("UTF-8") == String.format("out:one%nout:two%n")
+  }
+
+  def "stop forwarding stdin the command did not read"() {
+    when: "i send more stdin than the pipe holds to a command that ignores it"
+      int exit = run("x" * (4 * Protocol.MAX_CHUNK), "hello", "--name", "Fred")
+    then: "the command succeeded"
+      exit == 0
+    and: "the pump forwarding stdin ended"
+      long deadline = System.currentTimeMillis() + 10000
+      while (stdinPumpRunning() && System.currentTimeMillis() < deadline) {
+        Thread.sleep(50)
+      }
+      !stdinPumpRunning()
+  }
+
+  static boolean stdinPumpRunning() {
+    Thread.allStackTraces.values().any { StackTraceElement[] stack ->
+      stack.any { it.className == DaemonServer.name + '$StdinPump' }
+    }
+  }
+
+  def "send arguments longer than a chunk"() {
+    given: "a name longer than a chunk"
+      String name = "n" * (Protocol.MAX_CHUNK + 4464)
+    when: "i run a command with it"
+      int exit = run("", "hello", "--name", name)
+    then: "the command got all of it"
+      exit == 0
+      out.toString("UTF-8") == String.format("Hello %s!%n", name)
+  }
+
+  def "reject arguments longer than the daemon accepts"() {
+    when: "i run a command with an argument over the limit"
+      run("", "hello", "--name", "n" * (Protocol.MAX_TEXT + 1))
+    then: "the client refuses to send it"
+      IOException e = thrown()
+      e.message.contains("longer than the " + Protocol.MAX_TEXT + " bytes the daemon accepts")
+  }
+
+  def "report failures through the exit code"() {
+    expect: "a bad command line is a usage error"
+      run("", "bogus") == DaemonServer.USAGE_ERROR
+      err.toString("UTF-8").contains("Expected a command, got bogus")
+    and: "a failing command is a command error"
+      run("", "fail", "--message", "boom") == DaemonServer.COMMAND_ERROR
+      err.toString("UTF-8").contains("boom")
+  }
+
+  def "serve several clients at once"() {
+    when: "several clients run at the same time"
+      List<Integer> exits = Collections.synchronizedList([])
+      List<String> outputs = Collections.synchronizedList([])
+      List<Thread> threads = (0..<8).collect { int i ->
+        Thread.start {
+          ByteArrayOutputStream clientOut = new ByteArrayOutputStream()
+          exits << DaemonClient.run(server.port, tokenFile, ["hello", "--name", "c" + i] as String[],
+              new ByteArrayInputStream(new byte[0]), clientOut, new ByteArrayOutputStream())
+          outputs << clientOut.toString("UTF-8")
+        }
+      }
+      threads*.join()
+    then: "each got its own output"
+      exits == [0] * 8
+      outputs.sort() == (0..<8).collect { String.format("Hello c%d!%n", it) }.sort()
+  }
+
+  def "only clients with the token may run commands"() {
+    expect: "the token file is only readable by its owner"
+      !Files.getFileAttributeView(tokenFile.toPath(), java.nio.file.attribute.PosixFileAttributeView) ||
+          PosixFilePermissions.toString(Files.getPosixFilePermissions(tokenFile.toPath())) == "rw-------"
+    when: "a client sends another token"
+      File forged = new File(directory.toFile(), "forged.token")
+      forged.text = "not the token"
+      int exit = DaemonClient.run(server.port, forged, ["hello", "--name", "Eve"] as String[],
+          new ByteArrayInputStream(new byte[0]), out, err)
+    then: "the command did not run"
+      exit == DaemonServer.AUTHENTICATION_ERROR
+      out.size() == 0
+      err.toString("UTF-8").contains("Invalid daemon token")
+  }
+
+  def "delete the token file when the server is closed"() {
+    when: "the server is closed"
+      server.close()
+    then: "its token is gone"
+      !tokenFile.exists()
+  }
+}
@@ -0,0 +1,54 @@
+package io.bunting.cli4j.example;
+
+import com.beust.jcommander.Parameter;
+import io.bunting.cli4j.CliAdapter;
+import io.bunting.cli4j.Command;
+import io.bunting.cli4j.ResourceScope;
+import io.bunting.cli4j.Scope;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * An example resource that counts its instances, used to check resource scopes.
+ */
+@ResourceScope(Scope.SESSION)
+public class CounterCommand implements AutoCloseable {
+  public static final AtomicInteger CREATED = new AtomicInteger();
+  public static final AtomicInteger CLOSED = new AtomicInteger();
+
+  public static class CounterArgs {
+    @Parameter(names = "--label", description = "A label to print.")
+    private String label = "count";
+  }
+
+  public CounterCommand() {
+    CREATED.incrementAndGet();
+  }
+
+  @Command(name = "count", description = "Prints the number of instances created so far.")
+  public void count(final CliAdapter cliAdapter, final CounterArgs args) {
+    cliAdapter.printf("%s %d%n", args.label, CREATED.get());
+  }
+
+  @ResourceScope(Scope.INVOCATION)
+  @Command(name = "count-fresh", description = "Like count, but on a new instance every time.")
+  public void countFresh(final CliAdapter cliAdapter, final CounterArgs args) {
+    count(cliAdapter, args);
+  }
+
+  @ResourceScope(Scope.SINGLETON)
+  @Command(name = "count-shared", description = "Like count, but on a single shared instance.")
+  public void countShared(final CliAdapter cliAdapter, final CounterArgs args) {
+    count(cliAdapter, args);
+  }
+
+  @Override
+  public void close() {
+    CLOSED.incrementAndGet();
+  }
+
+  public static void reset() {
+    CREATED.set(0);
+    CLOSED.set(0);
+  }
+}
@@ -0,0 +1,23 @@
+package io.bunting.cli4j.example;
+
+import com.beust.jcommander.Parameter;
+import io.bunting.cli4j.CliAdapter;
+import io.bunting.cli4j.Command;
+
+/**
+ * An example resource that echoes the lines it reads, used to check input handling.
+ */
+public class EchoCommand {
+  public static class EchoArgs {
+    @Parameter(names = "--prefix", description = "A prefix for every echoed line.")
+    private String prefix = "";
+  }
+
+  @Command(name = "echo", description = "Echoes every input line until end of input.")
+  public void echo(final CliAdapter cliAdapter, final EchoArgs args) {
+    String line;
+    while ((line = cliAdapter.readLine()) != null) {
+      cliAdapter.printf("%s%s%n", args.prefix, line);
+    }
+  }
+}
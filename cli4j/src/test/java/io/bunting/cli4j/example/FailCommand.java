@@ -0,0 +1,27 @@
+package io.bunting.cli4j.example;
+
+import com.beust.jcommander.Parameter;
+import io.bunting.cli4j.CliAdapter;
+import io.bunting.cli4j.Command;
+
+import java.io.IOException;
+
+/**
+ * An example resource whose commands always fail, used to check how failures are reported.
+ */
+public class FailCommand {
+  public static class FailArgs {
+    @Parameter(names = "--message", description = "The failure message.")
+    private String message = "failed";
+  }
+
+  @Command(name = "fail", description = "Fails with an unchecked exception.")
+  public void fail(final CliAdapter cliAdapter, final FailArgs args) {
+    throw new IllegalStateException(args.message);
+  }
+
+  @Command(name = "fail-checked", description = "Fails with a checked exception.")
+  public void failChecked(final CliAdapter cliAdapter, final FailArgs args) throws IOException {
+    throw new IOException(args.message);
+  }
+}
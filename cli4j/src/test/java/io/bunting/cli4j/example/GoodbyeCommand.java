@@ -0,0 +1,20 @@
+package io.bunting.cli4j.example;
+
+import com.beust.jcommander.Parameter;
+import io.bunting.cli4j.CliAdapter;
+import io.bunting.cli4j.Command;
+
+/**
+ * A second example resource, used to check dispatch when several commands are registered.
+ */
+public class GoodbyeCommand {
+  public static class GoodbyeArgs {
+    @Parameter(names = "--name", required = true, description = "The person to say goodbye to.")
+    private String name;
+  }
+
+  @Command(name = "goodbye", aliases = "bye", description = "Says goodbye to NAME.")
+  public void goodbye(final CliAdapter cliAdapter, final GoodbyeArgs args) {
+    cliAdapter.printf("Goodbye %s!%n", args.name);
+  }
+}
@@ -0,0 +1,134 @@
+package io.bunting.cli4j.parser;
+
+import io.bunting.cli4j.parser.primitives.LongList;
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.Arrays;
+import java.util.List;
+import java.util.zip.GZIPOutputStream;
+
+public class AtFileTest {
+  public static class Args {
+    @Parameter(names = "-name")
+    public String name;
+
+    @Parameter(names = "-v")
+    public boolean verbose;
+
+    @Parameter(description = "files")
+    public List<String> files;
+  }
+
+  public static class Ids {
+    @Parameter(description = "ids")
+    public LongList ids;
+  }
+
+  private static File write(File file, Charset charset, boolean gzip, String... lines) throws IOException {
+    file.deleteOnExit();
+    OutputStream out = new FileOutputStream(file);
+    if (gzip) {
+      out = new GZIPOutputStream(out);
+    }
+    try (Writer writer = new OutputStreamWriter(out, charset)) {
+      for (String line : lines) {
+        writer.write(line + "\n");
+      }
+    }
+    return file;
+  }
+
+  private static File tempDir() throws IOException {
+    File dir = Files.createTempDirectory("atfile").toFile();
+    dir.deleteOnExit();
+    return dir;
+  }
+
+  @Test
+  public void nestedFilesAreResolvedAgainstTheirDirectory() throws IOException {
+    File dir = tempDir();
+    new File(dir, "nested").mkdir();
+    new File(dir, "nested").deleteOnExit();
+    write(new File(dir, "nested/inner.args"), StandardCharsets.UTF_8, false, "b.txt", "# comment", "", "-v");
+    File outer = write(new File(dir, "outer.args"), StandardCharsets.UTF_8, false, "-name", "x", "@nested/inner.args",
+        "c.txt");
+
+    Args args = new Args();
+    new JCommander(args).parse("a.txt", "@" + outer.getAbsolutePath(), "d.txt");
+
+    Assert.assertEquals("x", args.name);
+    Assert.assertTrue(args.verbose);
+    Assert.assertEquals(Arrays.asList("a.txt", "b.txt", "c.txt", "d.txt"), args.files);
+  }
+
+  @Test
+  public void cyclesAreReported() throws IOException {
+    File dir = tempDir();
+    write(new File(dir, "a.args"), StandardCharsets.UTF_8, false, "one", "@b.args");
+    write(new File(dir, "b.args"), StandardCharsets.UTF_8, false, "two", "@a.args");
+
+    try {
+      new JCommander(new Args()).parse("@" + new File(dir, "a.args").getAbsolutePath());
+      Assert.fail();
+    } catch (ParameterException e) {
+      Assert.assertTrue(e.getMessage(), e.getMessage().startsWith("Cyclic @-file reference: "));
+      Assert.assertTrue(e.getMessage(), e.getMessage().endsWith("a.args -> " + new File(dir, "b.args").getCanonicalPath()
+          + " -> " + new File(dir, "a.args").getCanonicalPath()));
+    }
+  }
+
+  @Test
+  public void gzipFilesAreDecompressed() throws IOException {
+    File file = write(new File(tempDir(), "args.gz"), StandardCharsets.UTF_8, true, "-name", "zipped", "z.txt");
+
+    Args args = new Args();
+    new JCommander(args).parse("@" + file.getAbsolutePath());
+
+    Assert.assertEquals("zipped", args.name);
+    Assert.assertEquals(Arrays.asList("z.txt"), args.files);
+  }
+
+  @Test
+  public void filesAreDecodedWithTheGivenCharset() throws IOException {
+    File file = write(new File(tempDir(), "args"), StandardCharsets.UTF_16LE, false, "-name", "été");
+
+    Args args = new Args();
+    JCommander jc = new JCommander(args);
+    jc.setAtFileCharset(StandardCharsets.UTF_16LE);
+    jc.parse("@" + file.getAbsolutePath());
+
+    Assert.assertEquals("été", args.name);
+  }
+
+  @Test
+  public void largeMappedFilesAreStreamed() throws IOException {
+    String[] lines = new String[200000];
+    for (int i = 0; i < lines.length; i++) {
+      lines[i] = String.valueOf(i);
+    }
+    File file = write(new File(tempDir(), "ids"), StandardCharsets.UTF_8, false, lines);
+
+    Ids ids = new Ids();
+    JCommander jc = new JCommander(ids);
+    jc.setAtFileMemoryMapThreshold(0);
+    jc.parse("@" + file.getAbsolutePath());
+
+    Assert.assertEquals(200000, ids.ids.size());
+    Assert.assertEquals(199999L, ids.ids.get(199999));
+  }
+
+  @Test(expected = ParameterException.class)
+  public void missingFilesAreReported() {
+    new JCommander(new Args()).parse("@/does/not/exist.args");
+  }
+}
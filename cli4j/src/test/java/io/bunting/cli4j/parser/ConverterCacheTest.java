@@ -0,0 +1,76 @@
+package io.bunting.cli4j.parser;
+
+import io.bunting.cli4j.parser.converters.CommaParameterSplitter;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Test that converters and splitters are created once per parameter unless caching is turned off.
+ */
+public class ConverterCacheTest {
+  static int s_converters;
+  static int s_splitters;
+
+  public static class CountingConverter implements IStringConverter<Integer> {
+    private int m_calls;
+
+    public CountingConverter() {
+      s_converters++;
+    }
+
+    @Override
+    public Integer convert(String value) {
+      // stateful: numbers the values this instance converted
+      return Integer.parseInt(value) * 100 + m_calls++;
+    }
+  }
+
+  public static class CountingSplitter extends CommaParameterSplitter {
+    public CountingSplitter() {
+      s_splitters++;
+    }
+  }
+
+  public static class Args {
+    @Parameter(names = "-n", converter = CountingConverter.class, splitter = CountingSplitter.class)
+    public List<Integer> numbers;
+
+    @Parameter(names = "-s", converter = CountingConverter.class, splitter = CountingSplitter.class,
+        cacheConverters = false)
+    public List<Integer> stateless;
+
+    @Parameter(converter = CountingConverter.class)
+    public List<Integer> main;
+  }
+
+  @Before
+  public void resetCounts() {
+    s_converters = 0;
+    s_splitters = 0;
+  }
+
+  @Test
+  public void convertersAreCreatedOncePerParameter() {
+    Args args = new Args();
+    new JCommander(args).parse("-n", "1,2", "-n", "3", "4", "5");
+
+    Assert.assertEquals(Arrays.asList(100, 201, 302), args.numbers);
+    Assert.assertEquals(Arrays.asList(400, 501), args.main);
+    Assert.assertEquals(2, s_converters);
+    Assert.assertEquals(1, s_splitters);
+  }
+
+  @Test
+  public void convertersCanBeCreatedForEveryValue() {
+    Args args = new Args();
+    new JCommander(args).parse("-s", "1,2", "-s", "3");
+
+    Assert.assertEquals(Arrays.asList(100, 201, 300), args.stateless);
+    Assert.assertEquals(2, s_converters);
+    Assert.assertEquals(2, s_splitters);
+  }
+}
@@ -807,6 +807,29 @@ public class JCommanderTest extends Specification {
       expected == c.param
   }
 
+  @Parameters(separators = ":=")
+  class manySeparatorsArg {
+    @Parameter(names = "--define")
+    public List<String> defines = Lists.newArrayList();
+
+    @Parameter(description = "files")
+    public List<String> files = Lists.newArrayList();
+  }
+  def "largeArgvWithSeparators"() {
+    when: "many main parameters are mixed with options that use separators"
+      def arg = new manySeparatorsArg();
+      List<String> argv = Lists.newArrayList();
+      for (int i = 0; i < 50000; i++) {
+        argv.add("src/file" + i + ".java");
+        if (i % 10000 == 0) argv.add("--define=k" + i + ":v");
+      }
+      new JCommander(arg).parse(argv as String[]);
+    then: "options split at their first separator and everything else is a main parameter"
+      50000 == arg.files.size()
+      "src/file49999.java" == arg.files[49999]
+      ["k0:v", "k10000:v", "k20000:v", "k30000:v", "k40000:v"] == arg.defines
+  }
+
   def "simpleArgsSetter"() throws ParseException {
     when: "args parsed"
       Args1Setter args = new Args1Setter();
@@ -0,0 +1,188 @@
+package io.bunting.cli4j.parser;
+
+import org.junit.Assert;
+import org.junit.Assume;
+import org.junit.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.Closeable;
+import java.io.File;
+import java.io.FileWriter;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+public class LazyMainParameterTest {
+  public static class Args {
+    @Parameter(names = "-v")
+    public boolean verbose;
+
+    @Parameter(description = "sizes", required = true)
+    public Iterable<Integer> sizes;
+  }
+
+  public static class Paths {
+    @Parameter(description = "paths")
+    public Iterable<String> paths;
+  }
+
+  @Parameters(separators = "=")
+  public static class Levels {
+    @Parameter(names = "--level")
+    public int level;
+
+    @DynamicParameter(names = "-D")
+    public Map<String, String> properties = new HashMap<>();
+
+    @Parameter(description = "values")
+    public Iterable<String> values;
+  }
+
+  private static <T> List<T> toList(Iterable<T> values) {
+    List<T> result = new ArrayList<>();
+    for (T value : values) {
+      result.add(value);
+    }
+    return result;
+  }
+
+  @Test
+  public void valuesAreConvertedAsTheyAreConsumed() {
+    Args args = new Args();
+    new JCommander(args).parse("-v", "1", "2", "x", "-v");
+
+    Assert.assertTrue(args.verbose);
+    Iterator<Integer> it = args.sizes.iterator();
+    Assert.assertEquals(Integer.valueOf(1), it.next());
+    Assert.assertEquals(Integer.valueOf(2), it.next());
+    try {
+      it.next();
+      Assert.fail();
+    } catch (ParameterException e) {
+      // "x" is only converted now
+    }
+  }
+
+  @Test(expected = IllegalStateException.class)
+  public void valuesCanOnlyBeIteratedOverOnce() {
+    Paths paths = new Paths();
+    new JCommander(paths).parse("a");
+    toList(paths.paths);
+    toList(paths.paths);
+  }
+
+  @Test(expected = ParameterException.class)
+  public void requiredLazyMainParameter() {
+    new JCommander(new Args()).parse("-v");
+  }
+
+  @Test
+  public void valuesAreReadFromFilesAndStandardInput() throws IOException {
+    File file = File.createTempFile("paths", ".args");
+    file.deleteOnExit();
+    try (Writer writer = new FileWriter(file)) {
+      for (int i = 0; i < 5000; i++) {
+        writer.write("/data/" + i + "\n");
+      }
+    }
+
+    InputStream in = System.in;
+    System.setIn(new ByteArrayInputStream("/in/0\n\n/in/1\n".getBytes(StandardCharsets.UTF_8)));
+    try {
+      Paths paths = new Paths();
+      new JCommander(paths).parse("/first", "@" + file.getAbsolutePath(), "-", "/last");
+      List<String> values = toList(paths.paths);
+
+      Assert.assertEquals(5004, values.size());
+      Assert.assertEquals("/first", values.get(0));
+      Assert.assertEquals("/data/4999", values.get(5000));
+      Assert.assertEquals(Arrays.asList("/in/0", "/in/1", "/last"), values.subList(5001, 5004));
+    } finally {
+      System.setIn(in);
+    }
+  }
+
+  /**
+   * @return how many descriptors of this process are open on {@code file}.
+   */
+  private static int openDescriptors(File file) throws IOException {
+    int count = 0;
+    for (File fd : new File("/proc/self/fd").listFiles()) {
+      try {
+        if (Files.readSymbolicLink(fd.toPath()).equals(file.getCanonicalFile().toPath())) {
+          count++;
+        }
+      } catch (IOException e) {
+        // closed while listing
+      }
+    }
+    return count;
+  }
+
+  @Test
+  public void closingReleasesTheFileBeingRead() throws IOException {
+    Assume.assumeTrue(new File("/proc/self/fd").isDirectory());
+    File file = File.createTempFile("paths", ".args");
+    file.deleteOnExit();
+    try (Writer writer = new FileWriter(file)) {
+      for (int i = 0; i < 5000; i++) {
+        writer.write("/data/" + i + "\n");
+      }
+    }
+
+    Paths paths = new Paths();
+    new JCommander(paths).parse("/first", "@" + file.getAbsolutePath());
+    Iterator<String> it = paths.paths.iterator();
+    it.next();
+    Assert.assertEquals("/data/0", it.next());
+    Assert.assertEquals(1, openDescriptors(file));
+
+    ((Closeable) paths.paths).close();
+    Assert.assertEquals(0, openDescriptors(file));
+    try {
+      it.hasNext();
+      Assert.fail();
+    } catch (IllegalStateException e) {
+      // the values left are gone
+    }
+  }
+
+  @Test
+  public void failingValueReleasesTheFileBeingRead() throws IOException {
+    Assume.assumeTrue(new File("/proc/self/fd").isDirectory());
+    File file = File.createTempFile("sizes", ".args");
+    file.deleteOnExit();
+    try (Writer writer = new FileWriter(file)) {
+      writer.write("1\nx\n3\n");
+    }
+
+    Args args = new Args();
+    new JCommander(args).parse("@" + file.getAbsolutePath());
+    Iterator<Integer> it = args.sizes.iterator();
+    Assert.assertEquals(Integer.valueOf(1), it.next());
+    try {
+      it.next();
+      Assert.fail();
+    } catch (ParameterException e) {
+      Assert.assertEquals(0, openDescriptors(file));
+    }
+  }
+
+  @Test
+  public void valuesAreNotSplitAtSeparators() {
+    Levels levels = new Levels();
+    new JCommander(levels).parse("--level=2", "one", "--level=3", "-Dkey=value", "two");
+
+    Assert.assertEquals(2, levels.level);
+    Assert.assertEquals(Arrays.asList("one", "--level=3", "-Dkey=value", "two"), toList(levels.values));
+    Assert.assertTrue(levels.properties.isEmpty());
+  }
+}
@@ -0,0 +1,68 @@
+package io.bunting.cli4j.parser;
+
+import io.bunting.cli4j.parser.FuzzyMap.IKey;
+import io.bunting.cli4j.parser.internal.Maps;
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.util.Map;
+
+public class OptionIndexTest {
+  private static Map<IKey, String> options(String... names) {
+    Map<IKey, String> result = Maps.newLinkedHashMap();
+    for (String name : names) {
+      result.put(new StringKey(name), "value of " + name);
+    }
+    return result;
+  }
+
+  @Test
+  public void exact() {
+    OptionIndex<String> index = new OptionIndex<>(options("-p", "--param", "--parb"), true);
+    Assert.assertEquals("value of --param", index.find("--param"));
+    Assert.assertNull(index.find("--PARAM"));
+    Assert.assertNull(index.find("--par"));
+    Assert.assertNull(index.find("--params"));
+  }
+
+  @Test
+  public void caseInsensitive() {
+    OptionIndex<String> index = new OptionIndex<>(options("-p", "--param"), false);
+    Assert.assertEquals("value of --param", index.find("--PaRaM"));
+    Assert.assertEquals("value of -p", index.find("-P"));
+  }
+
+  @Test
+  public void abbreviated() {
+    OptionIndex<String> index = new OptionIndex<>(options("-p", "--param", "--verbose"), true);
+    Assert.assertEquals("value of --param", index.findAbbreviated("--pa"));
+    Assert.assertEquals("value of --verbose", index.findAbbreviated("--verbose"));
+    Assert.assertNull(index.findAbbreviated("--x"));
+  }
+
+  @Test
+  public void ambiguousAbbreviation() {
+    OptionIndex<String> index = new OptionIndex<>(options("--param", "--parb"), false);
+    try {
+      index.findAbbreviated("--PAR");
+      Assert.fail();
+    } catch (ParameterException e) {
+      Assert.assertEquals("Ambiguous option: --PAR matches [--param, --parb]", e.getMessage());
+    }
+  }
+
+  @Test(expected = ParameterException.class)
+  public void namesDifferingOnlyInCaseAreRejectedWhenCaseInsensitive() {
+    new OptionIndex<>(options("-v", "-V"), false);
+  }
+
+  @Test
+  public void longestPrefix() {
+    OptionIndex<String> index = new OptionIndex<>(options("-D", "-Dfoo", "--name"), true);
+    Assert.assertEquals("-Dfoo", index.findLongestPrefix("-Dfoo=bar", 9).getName());
+    Assert.assertEquals("-D", index.findLongestPrefix("-Dfo=bar", 8).getName());
+    Assert.assertEquals("-D", index.findLongestPrefix("-Dfoo", 4).getName());
+    Assert.assertEquals("value of --name", index.findLongestPrefix("--name=x", 8).getValue());
+    Assert.assertNull(index.findLongestPrefix("-x", 2));
+  }
+}
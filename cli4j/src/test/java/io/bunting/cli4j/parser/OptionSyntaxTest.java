@@ -0,0 +1,25 @@
+package io.bunting.cli4j.parser;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+public class OptionSyntaxTest {
+  @Test
+  public void defaultSyntax() {
+    Assert.assertTrue(OptionSyntax.DEFAULT.isOption("-v"));
+    Assert.assertFalse(OptionSyntax.DEFAULT.isOption("/v"));
+    Assert.assertFalse(OptionSyntax.DEFAULT.isOption(""));
+    Assert.assertEquals(-1, OptionSyntax.DEFAULT.indexOfSeparator("--name=value"));
+  }
+
+  @Test
+  public void declaredPrefixesAndSeparators() {
+    OptionSyntax syntax = new OptionSyntax("/+§", ":=");
+    Assert.assertTrue(syntax.isOption("/v"));
+    Assert.assertTrue(syntax.isOption("+v"));
+    Assert.assertTrue(syntax.isOption("§v"));
+    Assert.assertFalse(syntax.isOption("-v"));
+    Assert.assertEquals(5, syntax.indexOfSeparator("/name:a=b"));
+    Assert.assertEquals(-1, syntax.indexOfSeparator("/name"));
+  }
+}
@@ -0,0 +1,38 @@
+package io.bunting.cli4j.parser;
+
+import io.bunting.cli4j.parser.args.Args1;
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.util.List;
+
+public class ParameterizedTest {
+  @Test
+  public void classesAreDescribedOnce() {
+    List<Parameterized> first = Parameterized.parseArg(new Args1());
+    List<Parameterized> second = Parameterized.parseArg(new Args1());
+
+    Assert.assertFalse(first.isEmpty());
+    Assert.assertNotSame(first, second);
+    for (int i = 0; i < first.size(); i++) {
+      Assert.assertSame(first.get(i), second.get(i));
+    }
+  }
+
+  @Test
+  public void callersCanChangeTheirList() {
+    int size = Parameterized.parseArg(new Args1()).size();
+    Parameterized.parseArg(new Args1()).clear();
+    Assert.assertEquals(size, Parameterized.parseArg(new Args1()).size());
+  }
+
+  @Test
+  public void sharedDescriptionsBindToEachObject() {
+    Args1 a = new Args1();
+    Args1 b = new Args1();
+    new JCommander(a).parse("-log", "1");
+    new JCommander(b).parse("-log", "2");
+    Assert.assertEquals(Integer.valueOf(1), a.verbose);
+    Assert.assertEquals(Integer.valueOf(2), b.verbose);
+  }
+}
@@ -0,0 +1,135 @@
+package io.bunting.cli4j.parser;
+
+import io.bunting.cli4j.parser.primitives.DoubleList;
+import io.bunting.cli4j.parser.primitives.IntList;
+import io.bunting.cli4j.parser.primitives.LongList;
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.io.File;
+import java.io.FileWriter;
+import java.io.IOException;
+import java.io.Writer;
+
+public class PrimitiveParameterTest {
+  public static class Args {
+    @Parameter(names = "-ports")
+    public int[] ports;
+
+    @Parameter(names = "-weights")
+    public DoubleList weights;
+
+    @Parameter(names = "-sizes")
+    public IntList sizes = new IntList();
+
+    @Parameter(description = "ids")
+    public long[] ids;
+  }
+
+  public static class ListMain {
+    @Parameter(names = "-scale")
+    public double[] scale;
+
+    @Parameter(description = "ids")
+    public LongList ids;
+  }
+
+  public static class UpTo100 implements IValueValidator<IntList> {
+    @Override
+    public void validate(String name, IntList value) {
+      for (int i = 0; i < value.size(); i++) {
+        if (value.get(i) > 100) {
+          throw new ParameterException(name + " should be at most 100");
+        }
+      }
+    }
+  }
+
+  public static class Validated {
+    @Parameter(names = "-p", validateValueWith = UpTo100.class)
+    public int[] percents;
+  }
+
+  @Test
+  public void arraysAndListsAreFilled() {
+    Args args = new Args();
+    new JCommander(args).parse("-ports", "80,443", "-weights", "0.5", "-ports", "8080",
+        "-weights", "1.5,2", "-sizes", "3", "1", "2", "3");
+
+    Assert.assertArrayEquals(new int[] { 80, 443, 8080 }, args.ports);
+    Assert.assertArrayEquals(new double[] { 0.5, 1.5, 2 }, args.weights.toArray(), 0);
+    Assert.assertArrayEquals(new int[] { 3 }, args.sizes.toArray());
+    Assert.assertArrayEquals(new long[] { 1, 2, 3 }, args.ids);
+  }
+
+  @Test
+  public void mainParameterValuesAreNotSplit() {
+    ListMain args = new ListMain();
+    new JCommander(args).parse("-scale", "2", "7", "9");
+
+    Assert.assertArrayEquals(new double[] { 2 }, args.scale, 0);
+    Assert.assertEquals(2, args.ids.size());
+    Assert.assertEquals(9L, args.ids.get(1));
+  }
+
+  @Test
+  public void idsAreReadFromFiles() throws IOException {
+    File file = File.createTempFile("ids", ".txt");
+    file.deleteOnExit();
+    try (Writer writer = new FileWriter(file)) {
+      for (int i = 0; i < 10000; i++) {
+        writer.write(i + "\n");
+      }
+    }
+    Args args = new Args();
+    new JCommander(args).parse("@" + file.getAbsolutePath());
+
+    Assert.assertEquals(10000, args.ids.length);
+    Assert.assertEquals(9999L, args.ids[9999]);
+  }
+
+  @Test
+  public void invalidElementsAreReported() {
+    try {
+      new JCommander(new Args()).parse("-ports", "80,http");
+      Assert.fail();
+    } catch (ParameterException e) {
+      Assert.assertEquals("\"-ports\": couldn't convert \"http\" to an int", e.getMessage());
+    }
+  }
+
+  @Test
+  public void valueValidatorsSeeTheElementsOfEachValue() {
+    Validated args = new Validated();
+    new JCommander(args).parse("-p", "10,20", "-p", "100");
+    Assert.assertArrayEquals(new int[] { 10, 20, 100 }, args.percents);
+
+    try {
+      new JCommander(new Validated()).parse("-p", "10,200");
+      Assert.fail();
+    } catch (ParameterException e) {
+      Assert.assertEquals("-p should be at most 100", e.getMessage());
+    }
+  }
+
+  public static class Defaults {
+    @Parameter(names = "-ports", description = "ports")
+    public int[] ports = { 80, 443 };
+
+    @Parameter(names = "-ids", description = "ids")
+    public long[] ids = { 7 };
+
+    @Parameter(names = "-scale", description = "scale")
+    public double[] scale = { 0.5 };
+  }
+
+  @Test
+  public void usageListsArrayDefaults() {
+    StringBuilder sb = new StringBuilder();
+    new JCommander(new Defaults()).usage(sb);
+
+    Assert.assertTrue(sb.toString(), sb.toString().contains("Default: [80, 443]"));
+    Assert.assertTrue(sb.toString(), sb.toString().contains("Default: [7]"));
+    Assert.assertTrue(sb.toString(), sb.toString().contains("Default: [0.5]"));
+  }
+}
@@ -0,0 +1,85 @@
+package io.bunting.cli4j.parser;
+
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Test that validators are created once per parameter and called once per value.
+ */
+public class ValidatorCacheTest {
+  static int s_validators;
+  static int s_validations;
+  static int s_describedValidations;
+  static int s_valueValidators;
+  static int s_valueValidations;
+
+  public static class CountingValidator implements IParameterValidator2 {
+    public CountingValidator() {
+      s_validators++;
+    }
+
+    @Override
+    public void validate(String name, String value) {
+      s_validations++;
+    }
+
+    @Override
+    public void validate(String name, String value, ParameterDescription pd) {
+      Assert.assertEquals("-n", pd.getNames());
+      s_describedValidations++;
+    }
+  }
+
+  public static class CountingValueValidator implements IValueValidator<List<Integer>> {
+    public CountingValueValidator() {
+      s_valueValidators++;
+    }
+
+    @Override
+    public void validate(String name, List<Integer> value) {
+      s_valueValidations++;
+      for (Integer i : value) {
+        if (i > 100) {
+          throw new ParameterException(name + " should be at most 100, got " + i);
+        }
+      }
+    }
+  }
+
+  public static class Args {
+    @Parameter(names = "-n", validateWith = CountingValidator.class,
+        validateValueWith = CountingValueValidator.class)
+    public List<Integer> numbers;
+  }
+
+  @Before
+  public void resetCounts() {
+    s_validators = 0;
+    s_validations = 0;
+    s_describedValidations = 0;
+    s_valueValidators = 0;
+    s_valueValidations = 0;
+  }
+
+  @Test
+  public void validatorsAreCreatedOncePerParameter() {
+    Args args = new Args();
+    new JCommander(args).parse("-n", "1", "-n", "2", "-n", "3");
+
+    Assert.assertEquals(Arrays.asList(1, 2, 3), args.numbers);
+    Assert.assertEquals(1, s_validators);
+    Assert.assertEquals(3, s_validations);
+    Assert.assertEquals(3, s_describedValidations);
+    Assert.assertEquals(1, s_valueValidators);
+    Assert.assertEquals(3, s_valueValidations);
+  }
+
+  @Test(expected = ParameterException.class)
+  public void cachedValueValidatorStillRejects() {
+    new JCommander(new Args()).parse("-n", "1", "-n", "101");
+  }
+}
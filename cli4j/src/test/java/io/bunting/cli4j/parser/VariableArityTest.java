@@ -6,6 +6,7 @@ import org.junit.Assert;
 import org.junit.Test;
 
 
+import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.LinkedList;
 import java.util.List;
@@ -63,6 +64,75 @@ public class VariableArityTest {
     Assert.assertEquals(config.outputFile, "foo");
   }
 
+  public static class PairArity implements IVariableArity2 {
+    @Parameter(names = "--pairs", variableArity = true)
+    public List<String> pairs = new ArrayList<String>();
+
+    @Parameter
+    public List<String> main = new ArrayList<String>();
+
+    public int processVariableArity(String optionName, List<String> args, int start) {
+      Assert.assertEquals("--pairs", optionName);
+      Assert.assertEquals("--pairs", args.get(start - 1));
+      return Math.min(2, args.size() - start);
+    }
+  }
+
+  @Test
+  public void variableArityWithOffset() {
+    PairArity arity = new PairArity();
+    new JCommander(arity).parse("--pairs", "a", "b", "c", "--pairs", "d", "e");
+    Assert.assertEquals(Arrays.asList("a", "b", "d", "e"), arity.pairs);
+    Assert.assertEquals(Arrays.asList("c"), arity.main);
+  }
+
+  public static class FirstTokenArity implements IVariableArity2 {
+    @Parameter(names = "--last", variableArity = true)
+    public List<String> last = new ArrayList<String>();
+
+    @Parameter
+    public List<String> main = new ArrayList<String>();
+
+    public int processVariableArity(String optionName, List<String> args, int start) {
+      Assert.assertEquals("token0", args.get(0));
+      return args.size() - start;
+    }
+  }
+
+  @Test
+  public void variableArityReadsTheWholeLongLine() {
+    List<String> argv = new ArrayList<String>();
+    for (int i = 0; i < 5000; i++) {
+      argv.add("token" + i);
+    }
+    argv.add("--last");
+    argv.add("value");
+    FirstTokenArity arity = new FirstTokenArity();
+    new JCommander(arity).parse(argv.toArray(new String[argv.size()]));
+    Assert.assertEquals(5000, arity.main.size());
+    Assert.assertEquals(Arrays.asList("value"), arity.last);
+  }
+
+  public static class Inputs {
+    @Parameter(names = "--inputs", variableArity = true)
+    public List<String> inputs = new ArrayList<String>();
+  }
+
+  @Test
+  public void repeatedVariableArityGroups() {
+    List<String> argv = new ArrayList<String>();
+    for (int group = 0; group < 100; group++) {
+      argv.add("--inputs");
+      for (int i = 0; i < 500; i++) {
+        argv.add("file" + group + "-" + i);
+      }
+    }
+    Inputs inputs = new Inputs();
+    new JCommander(inputs).parse(argv.toArray(new String[argv.size()]));
+    Assert.assertEquals(50000, inputs.inputs.size());
+    Assert.assertEquals("file99-499", inputs.inputs.get(49999));
+  }
+
   public static void main(String[] args) {
     new VariableArityTest().verifyVariableArity();
   }
@@ -106,6 +106,36 @@ public class CommandAliasTest {
     }
   }
 
+  @Test
+  public void aliasesCanBeAbbreviatedAndCaseInsensitive() {
+    CommandMain cm = new CommandMain();
+    JCommander jc = new JCommander(cm);
+    CommandCommit commit = new CommandCommit();
+    jc.addCommand("commit", commit, "ci", "cmt");
+    jc.addCommand("add", new CommandAdd(), "a");
+    jc.setCaseSensitiveOptions(false);
+    jc.setAllowAbbreviatedOptions(true);
+    jc.parse("COM", "--amend", "file1.txt");
+
+    Assert.assertEquals("commit", jc.getParsedCommand());
+    Assert.assertEquals("COM", jc.getParsedAlias());
+    Assert.assertEquals(true, commit.amend.booleanValue());
+  }
+
+  @Test
+  public void ambiguousAbbreviatedAlias() {
+    CommandMain cm = new CommandMain();
+    JCommander jc = new JCommander(cm);
+    jc.addCommand("commit", new CommandCommit(), "ci", "cmt");
+    jc.setAllowAbbreviatedOptions(true);
+    try {
+      jc.parse("c", "file1.txt");
+      Assert.fail("Should have thrown an ambiguity exception");
+    } catch (ParameterException e) {
+      Assert.assertEquals("Ambiguous option: c matches [ci, cmt, commit]", e.getMessage());
+    }
+  }
+
   @Test
   public void mainCommandReturnsNullsForGetCommandAndGetParsedAlias() {
     CommandMain cm = new CommandMain();
@@ -18,13 +18,24 @@
 
 package io.bunting.cli4j.parser.command;
 
+import io.bunting.cli4j.parser.DynamicParameter;
 import io.bunting.cli4j.parser.JCommander;
+import io.bunting.cli4j.parser.Parameter;
 import io.bunting.cli4j.parser.ParameterException;
+import io.bunting.cli4j.parser.Parameters;
 import org.junit.Assert;
 import org.junit.Test;
 
 
+import java.io.File;
+import java.io.FileWriter;
+import java.io.IOException;
+import java.io.Writer;
 import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
 
 public class CommandTest {
   @Test
@@ -87,6 +98,81 @@ public class CommandTest {
     Assert.assertEquals(commit.files, Arrays.asList("A.java", "B.java"));
   }
 
+  @Test
+  public void nestedCommandTest() {
+    CommandMain cm = new CommandMain();
+    JCommander jc = new JCommander(cm);
+    CommandCommit commit = new CommandCommit();
+    jc.addCommand("commit", commit);
+    CommandAdd add = new CommandAdd();
+    jc.getCommands().get("commit").addCommand("add", add);
+    jc.parse("-v", "commit", "--author=cbeust", "add", "-i", "A.java", "B.java");
+
+    Assert.assertTrue(cm.verbose);
+    Assert.assertEquals(jc.getParsedCommand(), "commit");
+    Assert.assertEquals(commit.author, "cbeust");
+    Assert.assertEquals(jc.getCommands().get("commit").getParsedCommand(), "add");
+    Assert.assertTrue(add.interactive);
+    Assert.assertEquals(add.patterns, Arrays.asList("A.java", "B.java"));
+  }
+
+  @Parameters(separators = ":")
+  public static class ColonMain {
+    @Parameter(names = "--author")
+    public String author;
+  }
+
+  @Parameters(separators = "=", commandDescription = "Tag a commit")
+  public static class CommandTag {
+    @Parameter(names = "--author")
+    public String author;
+
+    @DynamicParameter(names = "-D")
+    public Map<String, String> properties = new HashMap<String, String>();
+
+    @Parameter(description = "Tag names")
+    public List<String> names;
+  }
+
+  @Test
+  public void commandArgumentsAreExpandedWithTheCommandSyntax() {
+    ColonMain main = new ColonMain();
+    JCommander jc = new JCommander(main);
+    CommandTag tag = new CommandTag();
+    jc.addCommand("tag", tag);
+    jc.parse("--author:parent", "tag", "--author=child:x", "-Dkey=a:b", "v1");
+
+    Assert.assertEquals("parent", main.author);
+    Assert.assertEquals("child:x", tag.author);
+    Assert.assertEquals(Collections.singletonMap("key", "a:b"), tag.properties);
+    Assert.assertEquals(Arrays.asList("v1"), tag.names);
+  }
+
+  @Test
+  public void nestedCommandArgumentsFromAtFile() throws IOException {
+    File file = File.createTempFile("tag", ".args");
+    file.deleteOnExit();
+    try (Writer writer = new FileWriter(file)) {
+      writer.write("--author=child:x\n-Dkey=a:b\nadd\n-i\nA.java\nB.java\n");
+    }
+
+    ColonMain main = new ColonMain();
+    JCommander jc = new JCommander(main);
+    CommandTag tag = new CommandTag();
+    jc.addCommand("tag", tag);
+    CommandAdd add = new CommandAdd();
+    jc.getCommands().get("tag").addCommand("add", add);
+    jc.parse("--author:parent", "tag", "@" + file.getAbsolutePath(), "C.java");
+
+    // the lines of the file are read once, and expanded by the command that reaches them
+    Assert.assertEquals("parent", main.author);
+    Assert.assertEquals("child:x", tag.author);
+    Assert.assertEquals(Collections.singletonMap("key", "a:b"), tag.properties);
+    Assert.assertEquals("add", jc.getCommands().get("tag").getParsedCommand());
+    Assert.assertTrue(add.interactive);
+    Assert.assertEquals(Arrays.asList("A.java", "B.java", "C.java"), add.patterns);
+  }
+
     @Test
     public void hiddenCommandTest() {
         CommandMain cm = new CommandMain();
@@ -0,0 +1,61 @@
+package io.bunting.cli4j.parser.converters;
+
+import io.bunting.cli4j.parser.JCommander;
+import io.bunting.cli4j.parser.Parameter;
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+public class CharParameterSplitterTest {
+  public static class ColonSplitter extends CharParameterSplitter {
+    public ColonSplitter() {
+      super(':');
+    }
+  }
+
+  public static class Args {
+    @Parameter(names = "-ids")
+    public List<Long> ids;
+
+    @Parameter(names = "-path", splitter = ColonSplitter.class)
+    public List<String> path;
+  }
+
+  @Test
+  public void splitsLikeStringSplit() {
+    CommaParameterSplitter splitter = new CommaParameterSplitter();
+    for (String value : new String[] { "", "a", "a,b,c", ",a", "a,,b", "a,b,", "a,,", ",", ",,", ",a,,b,," }) {
+      Assert.assertEquals(value, Arrays.asList(value.split(",")), splitter.split(value));
+    }
+  }
+
+  @Test
+  public void streamsElementsToTheReceiver() {
+    final List<String> received = new ArrayList<>();
+    new CommaParameterSplitter().split("x,,y,", new IParameterSplitter2.Receiver() {
+      @Override
+      public void receive(String element) {
+        received.add(element);
+      }
+    });
+    Assert.assertEquals(Arrays.asList("x", "", "y"), received);
+  }
+
+  @Test
+  public void convertsLongListsIntoTheField() {
+    StringBuilder sb = new StringBuilder();
+    for (int i = 0; i < 50000; i++) {
+      sb.append(i > 0 ? "," : "").append(i);
+    }
+    Args args = new Args();
+    new JCommander(args).parse("-ids", sb.toString(), "-ids", "7", "-path", "/bin:/usr/bin");
+
+    Assert.assertEquals(50001, args.ids.size());
+    Assert.assertEquals(Long.valueOf(49999), args.ids.get(49999));
+    Assert.assertEquals(Long.valueOf(7), args.ids.get(50000));
+    Assert.assertEquals(Arrays.asList("/bin", "/usr/bin"), args.path);
+  }
+}